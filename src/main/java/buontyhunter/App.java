@@ -4,12 +4,22 @@
 package buontyhunter;
 
 import buontyhunter.core.GameEngine;
+import buontyhunter.core.GameLoopType;
+import buontyhunter.graphics.SceneType;
 
 public class App {
 
+    /**
+     * start the game, the scene is chosen by the first argument or by the
+     * system property buontyhunter.scene (SWING, PIPELINED_SWING or
+     * BUFFER_STRATEGY), SWING if none of them is set
+     * 
+     * @param args the optional name of the scene
+     */
     public static void main(String[] args) throws InterruptedException {
+        var sceneType = SceneType.parse(args.length > 0 ? args[0] : System.getProperty(SceneType.PROPERTY));
         while (true) {
-            GameEngine engine = new GameEngine();
+            GameEngine engine = new GameEngine(GameLoopType.FIXED_STEP, sceneType);
             engine.initGame();
         }
     }
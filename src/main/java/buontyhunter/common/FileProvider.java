@@ -3,6 +3,10 @@ package buontyhunter.common;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -26,4 +30,50 @@ public class FileProvider {
             return Optional.empty();
         }
     }
+
+    /**
+     * Load the raw content of a file from the assets folder
+     * 
+     * @param path the path to the file
+     * @return the file content if it was loaded successfully, Optional.empty()
+     *         otherwise
+     */
+    public Optional<byte[]> getBytes(String path) {
+        try (InputStream is = getClass().getResourceAsStream(path)) {
+            return Optional.of(is.readAllBytes());
+        } catch (Exception e) {
+
+            System.out.println("Failed to load file: " + path + " error Message => " + e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Load a file from the assets folder as a buffer; when the assets are
+     * unpacked on disk the file is memory mapped instead of copied
+     * 
+     * @param path the path to the file
+     * @return the file content, Optional.empty() if the file doesn't exist or
+     *         can't be read
+     */
+    public Optional<ByteBuffer> getBuffer(String path) {
+        var url = getClass().getResource(path);
+        if (url == null) {
+            return Optional.empty();
+        }
+        try {
+            if ("file".equals(url.getProtocol())) {
+                try (var channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                    return Optional.of(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                }
+            }
+            try (InputStream is = url.openStream()) {
+                return Optional.of(ByteBuffer.wrap(is.readAllBytes()));
+            }
+        } catch (Exception e) {
+
+            System.out.println("Failed to load file: " + path + " error Message => " + e);
+            return Optional.empty();
+        }
+    }
 }
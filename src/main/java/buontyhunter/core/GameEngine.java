@@ -18,14 +18,53 @@ public class GameEngine implements WorldEventListener {
     public static final Point2d HUB_PLAYER_START = new Point2d(8, 8);
     public static final Point2d OPEN_WORLD_PLAYER_START = new Point2d(5, 106);
 
+    /**
+     * duration of a simulation tick in the fixed step loop, it matches the frame
+     * period of the variable step loop so the game speed doesn't change
+     */
+    public static final long TICK_NANOS = 30_000_000L;
+    /**
+     * maximum number of ticks executed before rendering a frame, when the
+     * simulation falls behind the remaining time is dropped
+     */
+    public static final int MAX_TICKS_PER_FRAME = 5;
+    /**
+     * minimum duration of a rendered frame in the fixed step loop (~60 FPS)
+     */
+    public static final long FRAME_NANOS = 16_666_666L;
+
     private long FPS = 30;
     private Scene view;
     private LinkedList<WorldEvent> eventQueue;
     private GameState gameState;
     private KeyboardInputController controller;
+    private final GameLoopType loopType;
+    private final SceneType sceneType;
 
     public GameEngine() {
+        this(GameLoopType.FIXED_STEP);
+    }
+
+    /**
+     * Create a new GameEngine that will run the passed loop type
+     * 
+     * @param loopType the strategy used to advance the simulation
+     */
+    public GameEngine(GameLoopType loopType) {
+        this(loopType, SceneType.SWING);
+    }
+
+    /**
+     * Create a new GameEngine that will run the passed loop type and draw with
+     * the passed scene type
+     * 
+     * @param loopType  the strategy used to advance the simulation
+     * @param sceneType the implementation of the scene
+     */
+    public GameEngine(GameLoopType loopType, SceneType sceneType) {
         eventQueue = new LinkedList<WorldEvent>();
+        this.loopType = loopType;
+        this.sceneType = sceneType;
     }
 
     /**
@@ -36,10 +75,36 @@ public class GameEngine implements WorldEventListener {
     public void initGame() throws InterruptedException {
         gameState = new GameState(this);
         controller = new KeyboardInputController();
-        view = new SwingScene(gameState, controller, false);
+        view = createScene();
         this.mainLoop();
     }
 
+    /**
+     * create the scene of the type chosen for the GameEngine
+     * 
+     * @return the scene that will draw the game
+     */
+    private Scene createScene() {
+        switch (sceneType) {
+            case PIPELINED_SWING:
+                return new PipelinedSwingScene(gameState, controller, false);
+            case BUFFER_STRATEGY:
+                return new BufferStrategyScene(gameState, controller, false);
+            case SWING:
+            default:
+                return new SwingScene(gameState, controller, false);
+        }
+    }
+
+    /**
+     * get the scene type used by the GameEngine
+     * 
+     * @return the scene type used by the GameEngine
+     */
+    public SceneType getSceneType() {
+        return sceneType;
+    }
+
     /**
      * get the game state of the GameEngine
      * 
@@ -49,12 +114,34 @@ public class GameEngine implements WorldEventListener {
         return gameState;
     }
 
+    /**
+     * get the loop type used by the GameEngine
+     * 
+     * @return the loop type used by the GameEngine
+     */
+    public GameLoopType getLoopType() {
+        return loopType;
+    }
+
     /**
      * start the game loop and keep it running until the game is over
      * 
      * @throws InterruptedException
      */
     private void mainLoop() throws InterruptedException {
+        if (loopType == GameLoopType.FIXED_STEP) {
+            fixedStepLoop();
+        } else {
+            variableStepLoop();
+        }
+        gameState.getWorld().shutdown();
+        renderGameOver();
+    }
+
+    /**
+     * run one update per frame passing the measured elapsed time
+     */
+    private void variableStepLoop() {
         long previousCycleStartTime = System.currentTimeMillis();
         var drawCount = 0;
         long lastFPSPrint = 0;
@@ -73,7 +160,50 @@ public class GameEngine implements WorldEventListener {
                 drawCount = 0;
             }
         }
-        renderGameOver();
+    }
+
+    /**
+     * run the simulation with fixed ticks of {@link #TICK_NANOS}: the time
+     * elapsed since the last frame is accumulated and consumed one tick at a
+     * time, then the frame is rendered with the fraction of tick left in the
+     * accumulator as interpolation factor
+     */
+    private void fixedStepLoop() {
+        long previousTime = System.nanoTime();
+        long accumulator = 0;
+        long lastFPSPrint = previousTime;
+        var drawCount = 0;
+        var tickCount = 0;
+        while (!gameState.isGameOver()) {
+            long frameStart = System.nanoTime();
+            accumulator += frameStart - previousTime;
+            previousTime = frameStart;
+
+            var ticks = 0;
+            while (accumulator >= TICK_NANOS && ticks < MAX_TICKS_PER_FRAME && !gameState.isGameOver()) {
+                gameState.getWorld().savePreviousPositions();
+                processInput();
+                updateGame(TICK_NANOS / 1_000_000L);
+                accumulator -= TICK_NANOS;
+                ticks++;
+            }
+            if (ticks == MAX_TICKS_PER_FRAME && accumulator >= TICK_NANOS) {
+                // too far behind, drop the backlog instead of spiralling
+                accumulator %= TICK_NANOS;
+            }
+            tickCount += ticks;
+
+            render((double) accumulator / TICK_NANOS);
+            drawCount++;
+            waitForNextFrameNanos(frameStart);
+
+            if (System.nanoTime() - lastFPSPrint > 1_000_000_000L) {
+                lastFPSPrint = System.nanoTime();
+                AppLogger.getLogger().log("FPS: " + drawCount + " TPS: " + tickCount, LogType.CORE);
+                drawCount = 0;
+                tickCount = 0;
+            }
+        }
     }
 
     /**
@@ -91,6 +221,21 @@ public class GameEngine implements WorldEventListener {
         }
     }
 
+    /**
+     * Wait until the next frame of the fixed step loop should be drawn
+     * 
+     * @param frameStart nano time when the current frame started
+     */
+    protected void waitForNextFrameNanos(long frameStart) {
+        long left = FRAME_NANOS - (System.nanoTime() - frameStart);
+        if (left > 0) {
+            try {
+                Thread.sleep(left / 1_000_000L, (int) (left % 1_000_000L));
+            } catch (Exception ex) {
+            }
+        }
+    }
+
     /**
      * Process the input foreach game object that needs it
      */
@@ -117,9 +262,12 @@ public class GameEngine implements WorldEventListener {
 
             }
 
-            gameState.getWorld().getFighterEntities().stream()
-                    .filter(fighter -> fighter.getWeapon() instanceof RangedWeapon)
-                    .forEach(fighter -> ((RangedWeapon) fighter.getWeapon()).getShot());
+            var fighters = gameState.getWorld().getFighterEntities();
+            for (int i = 0; i < fighters.size(); i++) {
+                if (fighters.get(i).getWeapon() instanceof RangedWeapon) {
+                    ((RangedWeapon) fighters.get(i).getWeapon()).getShot();
+                }
+            }
             gameState.getWorld().getInventory().updateInput(controller, gameState.getWorld());
             gameState.getWorld().getQuestJournal().updateInput(controller, gameState.getWorld());
             gameState.getWorld().getInterractableAreas().forEach(area -> area.updateInput(controller));
@@ -146,8 +294,13 @@ public class GameEngine implements WorldEventListener {
                 if (!gameState.isGameStarted()) {
                     gameState.startGame();
                 }
+                var oldWorld = gameState.getWorld();
+                if (oldWorld != null && oldWorld != ((ChangeWorldEvent) ev).getNewWorld()) {
+                    oldWorld.shutdown();
+                }
                 gameState.setWorld(((ChangeWorldEvent) ev).getNewWorld());
                 gameState.getWorld().setEventListener(this);
+                gameState.getWorld().savePreviousPositions();
                 controller.reset();
                 if (((ChangeWorldEvent) ev).getNewWorld().getTeleporter().getMapIdOfDestination() == 0) { // hub
                     this.view.setIsHub(true);
@@ -178,6 +331,16 @@ public class GameEngine implements WorldEventListener {
         view.render();
     }
 
+    /**
+     * call the render method of the view passing the interpolation factor
+     * between the last two simulation ticks
+     * 
+     * @param alpha fraction of tick elapsed since the last update, in [0, 1)
+     */
+    protected void render(double alpha) {
+        view.render(alpha);
+    }
+
     /**
      * call the renderGameOver method of the view which will draw the game over
      * screen
@@ -79,7 +79,7 @@ public class GameFactory {
                                 new Vector2d(0, 0),
                                 new RectBoundingBox(new Point2d(0, 0), GameEngine.RESIZATOR.getWORLD_HEIGHT(),
                                                 GameEngine.RESIZATOR.getWORLD_WIDTH()),
-                                new NullInputComponent(), new MapGraphicsComponent(), new NullPhysicsComponent());
+                                new NullInputComponent(), new MapGraphicsComponent(), new TileManagerPhysicsComponent());
         }
 
         /**
@@ -0,0 +1,17 @@
+package buontyhunter.core;
+
+/**
+ * The strategy used by the GameEngine to advance the simulation
+ */
+public enum GameLoopType {
+    /**
+     * one update per frame with the measured elapsed time, paced by sleeping
+     * until the end of the frame period
+     */
+    VARIABLE_STEP,
+    /**
+     * fixed simulation ticks driven by an accumulator, the renderer receives the
+     * interpolation factor between the last two ticks
+     */
+    FIXED_STEP
+}
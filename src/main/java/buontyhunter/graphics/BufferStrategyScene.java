@@ -0,0 +1,154 @@
+package buontyhunter.graphics;
+
+import java.awt.Canvas;
+import java.awt.Graphics2D;
+import java.awt.Toolkit;
+import java.awt.event.ComponentEvent;
+import java.awt.image.BufferStrategy;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.SwingUtilities;
+
+import buontyhunter.common.Logger.AppLogger;
+import buontyhunter.common.Logger.LogType;
+import buontyhunter.input.KeyboardInputController;
+import buontyhunter.model.GameState;
+
+/**
+ * SwingScene that draws with active rendering: the game loop draws each frame
+ * synchronously on the back buffer of a canvas and flips it, instead of asking
+ * the event dispatch thread for a repaint. While a panel made of buttons is
+ * shown the canvas is hidden and the scene falls back to the repaint of the
+ * SwingScene. The game loop only draws on the strategy: showing and hiding
+ * the canvas, moving the focus and creating the strategy are done by the event
+ * dispatch thread.
+ */
+public class BufferStrategyScene extends SwingScene {
+
+	/**
+	 * number of buffers of the strategy (triple buffering)
+	 */
+	public static final int BUFFERS = 3;
+	private static final double PRESENT_SMOOTHING = 0.1;
+
+	private final Canvas canvas;
+	private BufferStrategy strategy;
+	/**
+	 * whether the game loop asked to show the canvas, only used by the game loop
+	 */
+	private boolean canvasShown = true;
+	private volatile long lastPresentNanos = 0;
+	private volatile double averagePresentNanos = 0;
+	private long lastLog = System.nanoTime();
+
+	public BufferStrategyScene(GameState gameState, KeyboardInputController controller, boolean IsHub) {
+		super(gameState, controller, IsHub);
+		canvas = new Canvas();
+		canvas.setIgnoreRepaint(true);
+		canvas.setBounds(0, 0, panel.getWidth(), panel.getHeight());
+		canvas.addKeyListener(panel);
+		canvas.setFocusTraversalKeysEnabled(false);
+		onEventDispatchThread(() -> {
+			panel.add(canvas);
+			canvas.requestFocusInWindow();
+		});
+	}
+
+	@Override
+	protected void present(RenderSnapshot snapshot) {
+		if (snapshot.isPanelShown()) {
+			if (canvasShown) {
+				canvasShown = false;
+				SwingUtilities.invokeLater(() -> {
+					canvas.setVisible(false);
+					panel.requestFocusInWindow();
+				});
+			}
+			super.present(snapshot);
+			return;
+		}
+		currentSnapshot = snapshot;
+		if (!canvasShown) {
+			canvasShown = true;
+			SwingUtilities.invokeLater(() -> {
+				canvas.setVisible(true);
+				canvas.requestFocusInWindow();
+			});
+		}
+		// the event dispatch thread may not have shown the canvas yet
+		if (!canvas.isShowing()) {
+			return;
+		}
+		if (strategy == null) {
+			onEventDispatchThread(() -> canvas.createBufferStrategy(BUFFERS));
+			strategy = canvas.getBufferStrategy();
+			if (strategy == null) {
+				return;
+			}
+		}
+
+		long start = System.nanoTime();
+		do {
+			do {
+				Graphics2D g2 = (Graphics2D) strategy.getDrawGraphics();
+				try {
+					panel.paintScene(g2, false);
+				} finally {
+					g2.dispose();
+				}
+			} while (strategy.contentsRestored());
+			strategy.show();
+		} while (strategy.contentsLost());
+		Toolkit.getDefaultToolkit().sync();
+		updatePresentTime(System.nanoTime() - start);
+	}
+
+	private static void onEventDispatchThread(Runnable task) {
+		if (SwingUtilities.isEventDispatchThread()) {
+			task.run();
+			return;
+		}
+		try {
+			SwingUtilities.invokeAndWait(task);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (InvocationTargetException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void updatePresentTime(long elapsed) {
+		lastPresentNanos = elapsed;
+		averagePresentNanos = averagePresentNanos == 0 ? elapsed
+				: averagePresentNanos + (elapsed - averagePresentNanos) * PRESENT_SMOOTHING;
+		if (System.nanoTime() - lastLog > 1_000_000_000L) {
+			lastLog = System.nanoTime();
+			AppLogger.getLogger().log(String.format("present: last %.2f ms, avg %.2f ms",
+					lastPresentNanos / 1_000_000.0, averagePresentNanos / 1_000_000.0), LogType.GRAPHICS);
+		}
+	}
+
+	/**
+	 * get the time spent to draw and show the last frame
+	 * 
+	 * @return the nanoseconds spent to present the last frame
+	 */
+	public long getLastPresentNanos() {
+		return lastPresentNanos;
+	}
+
+	/**
+	 * get the exponential moving average of the time spent to present a frame
+	 * 
+	 * @return the average nanoseconds spent to present a frame
+	 */
+	public double getAveragePresentNanos() {
+		return averagePresentNanos;
+	}
+
+	@Override
+	public void componentResized(ComponentEvent e) {
+		super.componentResized(e);
+		canvas.setBounds(0, 0, panel.getWidth(), panel.getHeight());
+	}
+}
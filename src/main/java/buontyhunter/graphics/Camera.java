@@ -20,9 +20,20 @@ public class Camera implements SceneCamera {
     private int lastTileY;
     private double tileOffsetX;
     private double tileOffsetY;
+    private final double interpolation;
 
     public Camera(World world) {
+        this(world, 1);
+    }
+
+    /**
+     * @param world         the world to show
+     * @param interpolation the fraction of simulation tick elapsed since the last
+     *                      update, used to interpolate the moving entities
+     */
+    public Camera(World world, double interpolation) {
         this.world = world;
+        this.interpolation = interpolation;
     }
 
     /**
@@ -78,7 +89,7 @@ public class Camera implements SceneCamera {
         double halfWidth = getHalfWidth();
         double halfHeight = getHalfHeight();
 
-        var pos = player.getPos();
+        var pos = getRenderPos(player);
         var bbox = (RectBoundingBox) tm.getBBox();
 
         boolean playerXInCenter = pos.x >= halfWidth && pos.x < (bbox.getWidth() + bbox.getULCorner().x) - halfWidth;
@@ -107,8 +118,8 @@ public class Camera implements SceneCamera {
             lastTileY = tileOffsetY > 0 ? firstTileY + (int) Math.round(GameEngine.RESIZATOR.getWORLD_HEIGHT()) + 1
                     : firstTileY + (int) Math.round(GameEngine.RESIZATOR.getWORLD_HEIGHT());
         } else {
-            lastTileX = world.getTileManager().getTiles().size();
-            lastTileY = world.getTileManager().getTiles().size();
+            lastTileX = world.getTileManager().getGrid().getWidth();
+            lastTileY = world.getTileManager().getGrid().getHeight();
 
         }
     }
@@ -161,6 +172,24 @@ public class Camera implements SceneCamera {
         return tileOffsetX;
     }
 
+    /**
+     * @return the fraction of simulation tick used to interpolate the entities
+     */
+    @Override
+    public double getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * @param obj the game object to draw
+     * @return the position where the object is drawn, interpolated between
+     *         the last two simulation ticks
+     */
+    @Override
+    public Point2d getRenderPos(GameObject obj) {
+        return obj.getInterpolatedPos(interpolation);
+    }
+
     /**
      * @return the tile offset y
      */
@@ -0,0 +1,14 @@
+package buontyhunter.graphics;
+
+/**
+ * one draw of a RenderSnapshot: it only holds the values copied from the
+ * world when the snapshot was captured and draws them on the frame
+ */
+@FunctionalInterface
+interface DrawCommand {
+
+    /**
+     * @param gr the graphics of the frame
+     */
+    void draw(SwingGraphics gr);
+}
@@ -0,0 +1,61 @@
+package buontyhunter.graphics;
+
+import buontyhunter.common.Direction;
+import buontyhunter.common.Point2d;
+import buontyhunter.model.FighterEntity.MovementState;
+import buontyhunter.model.GameObjectType;
+
+/**
+ * immutable copy of the state needed to draw a game object in a frame
+ */
+public final class EntitySnapshot {
+
+    private final GameObjectType type;
+    private final Point2d pos;
+    private final Direction direction;
+    private final MovementState movementState;
+
+    /**
+     * @param type          the type of the game object
+     * @param pos           the position where the game object is drawn
+     * @param direction     the direction of the fighter, null for the other
+     *                      objects
+     * @param movementState the animation frame of the fighter, null for the
+     *                      other objects
+     */
+    public EntitySnapshot(GameObjectType type, Point2d pos, Direction direction, MovementState movementState) {
+        this.type = type;
+        this.pos = pos == null ? null : pos.duplicate();
+        this.direction = direction;
+        this.movementState = movementState;
+    }
+
+    /**
+     * @return the type of the game object
+     */
+    public GameObjectType getType() {
+        return type;
+    }
+
+    /**
+     * @return a copy of the position where the game object is drawn
+     */
+    public Point2d getPos() {
+        return pos == null ? null : pos.duplicate();
+    }
+
+    /**
+     * @return the direction of the fighter, null if the object is not a fighter
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * @return the animation frame of the fighter, null if the object is not a
+     *         fighter
+     */
+    public MovementState getMovementState() {
+        return movementState;
+    }
+}
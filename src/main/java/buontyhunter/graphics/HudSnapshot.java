@@ -0,0 +1,168 @@
+package buontyhunter.graphics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import buontyhunter.model.BlacksmithPanel;
+import buontyhunter.model.PlayerEntity;
+import buontyhunter.model.QuestPannel;
+import buontyhunter.model.World;
+import buontyhunter.weaponClasses.MeleeWeapon;
+import buontyhunter.weaponClasses.WeaponType;
+
+/**
+ * immutable copy of the values of the player drawn over the scene: the
+ * equipped weapon, the doblons, the ammo and the panels made of buttons
+ * (inventory, quests, blacksmith) with what they show
+ */
+public final class HudSnapshot {
+
+    private final WeaponType weaponType;
+    private final int durability;
+    private final int maxDurability;
+    private final int doblons;
+    private final int ammo;
+    private final boolean inventoryShown;
+    private final List<WeaponType> weapons;
+    private final boolean questPanelShown;
+    private final List<QuestSnapshot> quests;
+    private final boolean blacksmithShown;
+
+    /**
+     * capture the values of the player of a world, it must be called by the
+     * thread that updates the world
+     *
+     * @param world the world
+     * @param hub   true if the world is the hub, the only one with the quests
+     *              and the blacksmith
+     */
+    public HudSnapshot(World world, boolean hub) {
+        var player = (PlayerEntity) world.getPlayer();
+        var weapon = player.getWeapon();
+        this.weaponType = weapon.getWeaponType();
+        if (weapon instanceof MeleeWeapon) {
+            this.durability = ((MeleeWeapon) weapon).getDurability();
+            this.maxDurability = ((MeleeWeapon) weapon).getMaxDurability();
+        } else {
+            this.durability = 0;
+            this.maxDurability = 0;
+        }
+        this.doblons = player.getDoblons();
+        this.ammo = player.getAmmo();
+        this.inventoryShown = world.getInventory() != null && world.getInventory().isShow();
+        List<WeaponType> weapons = new ArrayList<>();
+        player.getWeapons().forEach(w -> weapons.add(w.getWeaponType()));
+        this.weapons = Collections.unmodifiableList(weapons);
+
+        QuestPannel questPannel = null;
+        BlacksmithPanel blacksmithPanel = null;
+        if (hub) {
+            for (var area : world.getInterractableAreas()) {
+                if (area.getPanel() instanceof QuestPannel) {
+                    questPannel = (QuestPannel) area.getPanel();
+                } else if (area.getPanel() instanceof BlacksmithPanel) {
+                    blacksmithPanel = (BlacksmithPanel) area.getPanel();
+                }
+            }
+        }
+        this.questPanelShown = questPannel != null && questPannel.isShow();
+        List<QuestSnapshot> quests = new ArrayList<>();
+        if (questPanelShown) {
+            var available = questPannel.getQuests();
+            for (int i = 0; i < available.size(); i++) {
+                if (!player.getQuests().contains(available.get(i))) {
+                    quests.add(new QuestSnapshot(i, available.get(i)));
+                }
+            }
+        }
+        this.quests = Collections.unmodifiableList(quests);
+        this.blacksmithShown = blacksmithPanel != null && blacksmithPanel.isShow();
+    }
+
+    /**
+     * @return the type of the equipped weapon
+     */
+    public WeaponType getWeaponType() {
+        return weaponType;
+    }
+
+    /**
+     * @return true if the equipped weapon has a durability
+     */
+    public boolean hasDurability() {
+        return maxDurability > 0;
+    }
+
+    /**
+     * @return the durability of the equipped weapon
+     */
+    public int getDurability() {
+        return durability;
+    }
+
+    /**
+     * @return the maximum durability of the equipped weapon
+     */
+    public int getMaxDurability() {
+        return maxDurability;
+    }
+
+    /**
+     * @return the doblons of the player
+     */
+    public int getDoblons() {
+        return doblons;
+    }
+
+    /**
+     * @return the ammo of the player
+     */
+    public int getAmmo() {
+        return ammo;
+    }
+
+    /**
+     * @return true if the inventory is shown
+     */
+    public boolean isInventoryShown() {
+        return inventoryShown;
+    }
+
+    /**
+     * @return the types of the weapons of the player, in the order of the
+     *         inventory
+     */
+    public List<WeaponType> getWeapons() {
+        return weapons;
+    }
+
+    /**
+     * @return true if the panel of the quests is shown
+     */
+    public boolean isQuestPanelShown() {
+        return questPanelShown;
+    }
+
+    /**
+     * @return the quests of the panel not yet started by the player, empty if
+     *         the panel isn't shown
+     */
+    public List<QuestSnapshot> getQuests() {
+        return quests;
+    }
+
+    /**
+     * @return true if the panel of the blacksmith is shown
+     */
+    public boolean isBlacksmithShown() {
+        return blacksmithShown;
+    }
+
+    /**
+     * @return true if a panel made of swing buttons is shown
+     */
+    public boolean isPanelShown() {
+        return inventoryShown || questPanelShown || blacksmithShown;
+    }
+}
@@ -0,0 +1,100 @@
+package buontyhunter.graphics;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+
+import buontyhunter.model.TileGrid;
+import buontyhunter.model.TileManager;
+import buontyhunter.model.TileType;
+
+/**
+ * cache of the terrain layer of the minimap: the map is drawn once, one pixel
+ * for each tile written directly in the raster of the image, and it's drawn
+ * again only when another map is loaded or, for the streamed maps, when the
+ * chunks in memory change. The maps bigger than MAX_TERRAIN_SIZE are sampled
+ * so the image stays small.
+ */
+public class MiniMapCache {
+
+    private static final Color EARTH = new Color(160, 82, 45); // brown
+    private static final Color TREE = new Color(1, 50, 32);
+
+    /**
+     * the maximum width and height of the terrain image
+     */
+    public static final int MAX_TERRAIN_SIZE = 1024;
+
+    private TileGrid grid;
+    private int gridVersion;
+    private BufferedImage terrain;
+
+    /**
+     * get the color of a tile in the minimap
+     * 
+     * @param type the type of the tile
+     * @return the color of the tile
+     */
+    public static Color getTileColor(TileType type) {
+        switch (type) {
+            case earth:
+                return EARTH;
+            case grass:
+                return Color.GREEN;
+            case sand:
+                return Color.YELLOW;
+            case tree:
+                return TREE;
+            case wall:
+                return Color.DARK_GRAY;
+            case water:
+                return Color.cyan;
+            default:
+                return Color.RED;
+        }
+    }
+
+    /**
+     * get the terrain of the map, one pixel for each tile, drawing it if the map
+     * changed since the last call
+     * 
+     * @param tileManager the map to draw
+     * @return the image of the terrain
+     */
+    public synchronized BufferedImage getTerrain(TileManager tileManager) {
+        if (terrain == null || this.grid != tileManager.getGrid()
+                || this.gridVersion != tileManager.getGrid().getVersion()) {
+            if (terrain != null) {
+                terrain.flush();
+            }
+            this.grid = tileManager.getGrid();
+            this.gridVersion = grid.getVersion();
+            this.terrain = renderTerrain(tileManager);
+        }
+        return terrain;
+    }
+
+    /**
+     * drop the terrain, it will be drawn again at the next call of getTerrain
+     */
+    public synchronized void invalidate() {
+        this.grid = null;
+    }
+
+    private BufferedImage renderTerrain(TileManager tileManager) {
+        var grid = tileManager.getGrid();
+        // one pixel every step tiles
+        int step = (Math.max(grid.getWidth(), grid.getHeight()) + MAX_TERRAIN_SIZE - 1) / MAX_TERRAIN_SIZE;
+        step = Math.max(step, 1);
+        int height = (grid.getHeight() + step - 1) / step;
+        int width = (grid.getWidth() + step - 1) / step;
+        var image = new BufferedImage(Math.max(width, 1), Math.max(height, 1), BufferedImage.TYPE_INT_ARGB);
+        int[] raster = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                raster[y * width + x] = getTileColor(grid.getType(x * step, y * step)).getRGB();
+            }
+        }
+        return image;
+    }
+}
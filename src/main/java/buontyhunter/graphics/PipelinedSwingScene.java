@@ -0,0 +1,60 @@
+package buontyhunter.graphics;
+
+import java.lang.reflect.InvocationTargetException;
+
+import javax.swing.SwingUtilities;
+
+import buontyhunter.input.KeyboardInputController;
+import buontyhunter.model.GameState;
+
+/**
+ * SwingScene where a dedicated render thread paints the latest snapshot
+ * captured by the simulation thread: the simulation never waits for the paint
+ */
+public class PipelinedSwingScene extends SwingScene {
+
+	private final RenderThread renderThread;
+
+	public PipelinedSwingScene(GameState gameState, KeyboardInputController controller, boolean IsHub) {
+		super(gameState, controller, IsHub);
+		this.renderThread = new RenderThread(this::paintSnapshot);
+		this.renderThread.start();
+	}
+
+	@Override
+	protected void present(RenderSnapshot snapshot) {
+		renderThread.publish(snapshot);
+	}
+
+	/**
+	 * get the number of snapshots replaced before being painted
+	 * 
+	 * @return the number of frames dropped by the render thread
+	 */
+	public long getDroppedFrames() {
+		return renderThread.getDroppedFrames();
+	}
+
+	/**
+	 * paint the snapshot synchronously, it's executed by the render thread which
+	 * waits for the event dispatch thread to complete the paint
+	 * 
+	 * @param snapshot the snapshot to paint
+	 */
+	private void paintSnapshot(RenderSnapshot snapshot) {
+		currentSnapshot = snapshot;
+		try {
+			SwingUtilities.invokeAndWait(() -> panel.paintImmediately(0, 0, panel.getWidth(), panel.getHeight()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (InvocationTargetException e) {
+			e.printStackTrace();
+		}
+	}
+
+	@Override
+	public void dispose() {
+		renderThread.shutdown();
+		super.dispose();
+	}
+}
@@ -0,0 +1,62 @@
+package buontyhunter.graphics;
+
+import buontyhunter.model.Quest;
+
+/**
+ * immutable copy of the state needed to draw a quest in a frame
+ */
+public final class QuestSnapshot {
+
+    private final int index;
+    private final String name;
+    private final String description;
+    private final int doblonsReward;
+    private final int targetKilled;
+
+    /**
+     * @param index the position of the quest in its list
+     * @param quest the quest to copy
+     */
+    public QuestSnapshot(int index, Quest quest) {
+        this.index = index;
+        this.name = quest.getName();
+        this.description = quest.getDescription();
+        this.doblonsReward = quest.getDoblonsReward();
+        this.targetKilled = quest.getnTargetActuallyKilled();
+    }
+
+    /**
+     * @return the position of the quest in its list
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the name of the quest
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the description of the quest
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * @return the doblons given when the quest is completed
+     */
+    public int getDoblonsReward() {
+        return doblonsReward;
+    }
+
+    /**
+     * @return the targets killed when the quest was captured
+     */
+    public int getTargetKilled() {
+        return targetKilled;
+    }
+}
@@ -0,0 +1,236 @@
+package buontyhunter.graphics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import buontyhunter.core.GameEngine;
+import buontyhunter.model.EnemyEntity;
+import buontyhunter.model.FighterEntity;
+import buontyhunter.model.MusicPlayer.Track;
+import buontyhunter.model.Teleporter;
+import buontyhunter.model.WizardBossEntity;
+import buontyhunter.model.World;
+
+/**
+ * immutable frame captured by the simulation thread at the end of a tick:
+ * the camera, the list of the draws of the scene in their order with the
+ * values copied from the entities (positions, sprites, health, damaging areas,
+ * minimap, panels) and the values of the HUD. The painter only draws the
+ * snapshot, so it never reads the world while the simulation updates it.
+ */
+public final class RenderSnapshot {
+
+    /**
+     * the margin around the tiles shown by the camera, in tiles, within which
+     * the enemies are captured: the longest range of a weapon (the bow, 10
+     * tiles) plus 2 tiles for the sprites, so the bullets shot from out of the
+     * camera are still drawn
+     */
+    public static final double VIEW_MARGIN_TILES = 12;
+
+    /**
+     * what a frame shows
+     */
+    public enum State {
+        /**
+         * the title screen with the loading bar
+         */
+        TITLE_SCREEN,
+        /**
+         * the world
+         */
+        PLAYING,
+        /**
+         * the game over screen
+         */
+        GAME_OVER
+    }
+
+    private final State state;
+    private final long frame;
+    private final SceneCamera camera;
+    private final double ratioX;
+    private final double ratioY;
+    private final List<DrawCommand> commands;
+    private final Track track;
+    private final HudSnapshot hud;
+
+    private RenderSnapshot(State state, long frame, SnapshotGraphics recorder, Track track, HudSnapshot hud) {
+        this.state = state;
+        this.frame = frame;
+        this.camera = recorder != null ? recorder.getCamera() : null;
+        this.ratioX = recorder != null ? recorder.getRatioX() : 0;
+        this.ratioY = recorder != null ? recorder.getRatioY() : 0;
+        this.commands = recorder != null ? recorder.getCommands() : List.of();
+        this.track = track;
+        this.hud = hud;
+    }
+
+    /**
+     * capture the scene entities of a world, it must be called by the thread
+     * that updates the world. The enemies are taken from the grid of the
+     * fighters around the camera instead of from all the enemies of the world
+     *
+     * @param world    the world to capture
+     * @param hub      true if the world is the hub
+     * @param frame    the progressive number of the frame
+     * @param recorder the graphics where the entities are drawn, with the
+     *                 camera already updated
+     * @return the snapshot of the world
+     */
+    static RenderSnapshot capture(World world, boolean hub, long frame, SnapshotGraphics recorder) {
+        var camera = recorder.getCamera();
+        Track track = null;
+        var entities = world.getSceneEntities();
+        boolean enemiesCaptured = false;
+        for (int i = 0; i < entities.size(); i++) {
+            var e = entities.get(i);
+            if (e instanceof EnemyEntity) {
+                // the enemies near the camera are captured where the first enemy is
+                if (!enemiesCaptured) {
+                    for (var enemy : getEnemiesNearCamera(world, camera)) {
+                        enemy.updateGraphics(recorder, world);
+                        enemy.getDamagingArea().updateGraphics(recorder, world);
+                    }
+                    enemiesCaptured = true;
+                }
+                continue;
+            }
+            if (!(e instanceof Teleporter) && !(e instanceof WizardBossEntity)) {
+                e.updateGraphics(recorder, world);
+            }
+            if (e instanceof FighterEntity) {
+                ((FighterEntity) e).getDamagingArea().updateGraphics(recorder, world);
+            }
+            if (camera.inScene(e.getPos()) && (e instanceof Teleporter || e instanceof WizardBossEntity)) {
+                e.updateGraphics(recorder, world);
+                if (e instanceof WizardBossEntity && ((WizardBossEntity) e).isAttackingPlayer()) {
+                    track = Track.BOSS_TRACK;
+                }
+            } else if (e instanceof WizardBossEntity && !((WizardBossEntity) e).isAttackingPlayer()) {
+                track = Track.ADVENTURE_TRACK;
+            }
+        }
+        return new RenderSnapshot(State.PLAYING, frame, recorder, track, new HudSnapshot(world, hub));
+    }
+
+    private static List<EnemyEntity> getEnemiesNearCamera(World world, SceneCamera camera) {
+        // the last tiles of the camera are the end of the map outside the hub
+        int lastX = Math.min(camera.getTileLastX(),
+                camera.getTileFirstX() + GameEngine.RESIZATOR.getWORLD_WIDTH() + 1);
+        int lastY = Math.min(camera.getTileLastY(),
+                camera.getTileFirstY() + GameEngine.RESIZATOR.getWORLD_HEIGHT() + 1);
+        double minX = camera.getTileFirstX() - VIEW_MARGIN_TILES;
+        double minY = camera.getTileFirstY() - VIEW_MARGIN_TILES;
+        double maxX = lastX + VIEW_MARGIN_TILES;
+        double maxY = lastY + VIEW_MARGIN_TILES;
+        List<FighterEntity> fighters = new ArrayList<>();
+        world.getFighterGrid().query(minX, minY, maxX, maxY, fighters);
+        List<EnemyEntity> enemies = new ArrayList<>(fighters.size());
+        for (var fighter : fighters) {
+            if (fighter instanceof EnemyEntity) {
+                enemies.add((EnemyEntity) fighter);
+            }
+        }
+        // the same order in every frame, whatever the cells of the grid
+        enemies.sort(Comparator.comparingInt(EnemyEntity::getEnemyIdentifier));
+        return enemies;
+    }
+
+    /**
+     * capture the title screen, it must be called by the thread that updates
+     * the world
+     *
+     * @param world    the world with the loading bar
+     * @param frame    the progressive number of the frame
+     * @param recorder the graphics where the loading bar is drawn
+     * @return the snapshot of the title screen
+     */
+    static RenderSnapshot titleScreen(World world, long frame, SnapshotGraphics recorder) {
+        world.getLoadingBar().updateGraphics(recorder, world);
+        return new RenderSnapshot(State.TITLE_SCREEN, frame, recorder, null, null);
+    }
+
+    /**
+     * @param frame the progressive number of the frame
+     * @return the snapshot of the game over screen
+     */
+    static RenderSnapshot gameOver(long frame) {
+        return new RenderSnapshot(State.GAME_OVER, frame, null, null, null);
+    }
+
+    /**
+     * draw the scene captured by the snapshot
+     *
+     * @param gr the graphics of the frame
+     */
+    void draw(SwingGraphics gr) {
+        for (var command : commands) {
+            command.draw(gr);
+        }
+    }
+
+    /**
+     * @return what the frame shows
+     */
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * @return the progressive number of the frame
+     */
+    public long getFrame() {
+        return frame;
+    }
+
+    /**
+     * @return the camera of the frame, null if it doesn't show the world
+     */
+    public SceneCamera getCamera() {
+        return camera;
+    }
+
+    /**
+     * @return the width of a tile in pixel when the snapshot was captured
+     */
+    public double getRatioX() {
+        return ratioX;
+    }
+
+    /**
+     * @return the height of a tile in pixel when the snapshot was captured
+     */
+    public double getRatioY() {
+        return ratioY;
+    }
+
+    /**
+     * @return the music the scene asks for, null to keep the current one
+     */
+    public Track getTrack() {
+        return track;
+    }
+
+    /**
+     * @return the values of the HUD, null if the frame doesn't show the world
+     */
+    public HudSnapshot getHud() {
+        return hud;
+    }
+
+    /**
+     * @return true if a panel made of swing buttons is shown
+     */
+    public boolean isPanelShown() {
+        return hud != null && hud.isPanelShown();
+    }
+
+    /**
+     * @return the number of draws of the scene
+     */
+    public int size() {
+        return commands.size();
+    }
+}
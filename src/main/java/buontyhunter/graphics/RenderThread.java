@@ -0,0 +1,85 @@
+package buontyhunter.graphics;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import buontyhunter.common.Logger.AppLogger;
+import buontyhunter.common.Logger.LogType;
+
+/**
+ * thread that draws the last snapshot published by the simulation thread; if
+ * the simulation publishes faster than the renderer can draw, the older
+ * snapshots are dropped so a slow paint never stalls the simulation
+ */
+public class RenderThread extends Thread {
+
+    private final AtomicReference<RenderSnapshot> latest = new AtomicReference<>();
+    private final Consumer<RenderSnapshot> renderer;
+    private final Object lock = new Object();
+    private volatile boolean running = true;
+    private volatile long droppedFrames = 0;
+
+    /**
+     * @param renderer the action that draws a snapshot, executed on this thread
+     */
+    public RenderThread(Consumer<RenderSnapshot> renderer) {
+        super("render-thread");
+        this.renderer = renderer;
+        setDaemon(true);
+    }
+
+    /**
+     * publish a new snapshot, replacing the one not yet drawn
+     * 
+     * @param snapshot the snapshot to draw
+     */
+    public void publish(RenderSnapshot snapshot) {
+        if (latest.getAndSet(snapshot) != null) {
+            droppedFrames++;
+        }
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    /**
+     * @return the number of snapshots replaced before being drawn
+     */
+    public long getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    /**
+     * stop the thread after the snapshot currently drawn
+     */
+    public void shutdown() {
+        running = false;
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            var snapshot = latest.getAndSet(null);
+            if (snapshot == null) {
+                synchronized (lock) {
+                    while (running && latest.get() == null) {
+                        try {
+                            lock.wait();
+                        } catch (InterruptedException e) {
+                            return;
+                        }
+                    }
+                }
+                continue;
+            }
+            try {
+                renderer.accept(snapshot);
+            } catch (Exception ex) {
+                AppLogger.getLogger().log("render failed: " + ex.getMessage(), LogType.GRAPHICS);
+            }
+        }
+    }
+}
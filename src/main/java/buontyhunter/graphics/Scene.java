@@ -7,6 +7,13 @@ public interface Scene {
 	 */
 	void render();
 
+	/**
+	 * this method is used to render the scene interpolating the moving entities
+	 * between the last two simulation ticks
+	 * @param alpha the fraction of tick elapsed since the last update, in [0, 1)
+	 */
+	void render(double alpha);
+
 	/**
 	 * this method is used to render the game over
 	 */
@@ -29,4 +29,8 @@ public interface SceneCamera {
     public double getTileOffsetY();
 
     public Point2d getPlayerPoint();
+
+    public double getInterpolation();
+
+    public Point2d getRenderPos(GameObject obj);
 }
@@ -0,0 +1,47 @@
+package buontyhunter.graphics;
+
+import java.util.Locale;
+
+/**
+ * The implementation of Scene used by the GameEngine
+ */
+public enum SceneType {
+    /**
+     * the event dispatch thread repaints the frame from the last snapshot
+     */
+    SWING,
+    /**
+     * the simulation publishes a snapshot of the world that a dedicated render
+     * thread paints
+     */
+    PIPELINED_SWING,
+    /**
+     * the game loop draws each frame on the back buffer of a canvas and shows it
+     * (active rendering)
+     */
+    BUFFER_STRATEGY;
+
+    /**
+     * the system property read by the launcher to choose the scene, e.g.
+     * -Dbuontyhunter.scene=buffer_strategy
+     */
+    public static final String PROPERTY = "buontyhunter.scene";
+
+    /**
+     * get the scene type with the passed name, case insensitive
+     * 
+     * @param name the name of the scene type, can be null
+     * @return the scene type with that name, SWING if the name is null or
+     *         unknown
+     */
+    public static SceneType parse(String name) {
+        if (name == null || name.isBlank()) {
+            return SWING;
+        }
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return SWING;
+        }
+    }
+}
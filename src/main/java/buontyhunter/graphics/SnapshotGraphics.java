@@ -0,0 +1,272 @@
+package buontyhunter.graphics;
+
+import java.awt.GraphicsConfiguration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.core.GameEngine;
+import buontyhunter.model.*;
+import buontyhunter.weaponClasses.MeleeWeapon;
+import buontyhunter.weaponClasses.RangedWeapon;
+import buontyhunter.weaponClasses.Weapon;
+
+/**
+ * Graphics used by the simulation thread to capture a RenderSnapshot: the
+ * graphics components draw on it as usual, each draw copies the values it
+ * needs from the world and records a DrawCommand that draws them later on a
+ * SwingGraphics. The chunks of the map and the terrain of the minimap are
+ * taken from their caches here, so the painter only copies images.
+ */
+final class SnapshotGraphics implements Graphics {
+
+    private final SceneCamera camera;
+    private final double ratioX;
+    private final double ratioY;
+    private final SwingAssetProvider assetManager;
+    private final TileChunkCache tileChunkCache;
+    private final MiniMapCache miniMapCache;
+    private final GraphicsConfiguration config;
+    private final List<DrawCommand> commands = new ArrayList<>();
+
+    /**
+     * @param camera         the camera of the frame, already updated; null if
+     *                       the frame doesn't show the world
+     * @param ratioX         the width of a tile in pixel
+     * @param ratioY         the height of a tile in pixel
+     * @param assetManager   the provider of the images of the tiles
+     * @param tileChunkCache the cache of the chunks of the map
+     * @param miniMapCache   the cache of the terrain of the minimap
+     * @param config         the configuration of the screen, null to draw the
+     *                       chunks on plain images
+     */
+    SnapshotGraphics(SceneCamera camera, double ratioX, double ratioY, SwingAssetProvider assetManager,
+            TileChunkCache tileChunkCache, MiniMapCache miniMapCache, GraphicsConfiguration config) {
+        this.camera = camera;
+        this.ratioX = ratioX;
+        this.ratioY = ratioY;
+        this.assetManager = assetManager;
+        this.tileChunkCache = tileChunkCache;
+        this.miniMapCache = miniMapCache;
+        this.config = config;
+    }
+
+    /**
+     * @return the camera of the frame
+     */
+    SceneCamera getCamera() {
+        return camera;
+    }
+
+    /**
+     * @return the width of a tile in pixel
+     */
+    double getRatioX() {
+        return ratioX;
+    }
+
+    /**
+     * @return the height of a tile in pixel
+     */
+    double getRatioY() {
+        return ratioY;
+    }
+
+    /**
+     * @return the commands recorded so far, in the order they are drawn
+     */
+    List<DrawCommand> getCommands() {
+        return Collections.unmodifiableList(new ArrayList<>(commands));
+    }
+
+    private static EntitySnapshot snapshotOf(FighterEntity fighter, Point2d pos) {
+        return new EntitySnapshot(fighter.getType(), pos, fighter.getDirection(), fighter.getMovementState());
+    }
+
+    @Override
+    public void drawPlayer(GameObject obj, World w) {
+        if (obj instanceof PlayerEntity) {
+            var player = snapshotOf((FighterEntity) obj, camera.getRenderPos(obj));
+            commands.add(gr -> gr.drawPlayer(player));
+        }
+    }
+
+    @Override
+    public void drawMap(TileManager tileManager, World w) {
+        tileChunkCache.validate(tileManager, (int) Math.round(ratioX), (int) Math.round(ratioY));
+
+        var firstX = camera.getTileFirstX();
+        var firstY = camera.getTileFirstY();
+        var lastX = Math.min(camera.getTileLastX(), firstX + GameEngine.RESIZATOR.getWORLD_WIDTH() + 1);
+        var lastY = Math.min(camera.getTileLastY(), firstY + GameEngine.RESIZATOR.getWORLD_HEIGHT() + 1);
+        if (lastX <= firstX || lastY <= firstY) {
+            return;
+        }
+
+        var size = TileChunkCache.CHUNK_SIZE;
+        for (int chunkY = firstY / size; chunkY <= (lastY - 1) / size; chunkY++) {
+            for (int chunkX = firstX / size; chunkX <= (lastX - 1) / size; chunkX++) {
+                var chunk = tileChunkCache.getChunk(chunkX, chunkY, config, assetManager);
+                int x = chunkX;
+                int y = chunkY;
+                commands.add(gr -> gr.drawMapChunk(chunk, x, y));
+            }
+        }
+    }
+
+    @Override
+    public void drawMiniMap(HidableObject miniMap, World w) {
+        if (!miniMap.isShow()) {
+            return;
+        }
+        var tileManager = w.getTileManager();
+        var grid = tileManager.getGrid();
+        var terrain = miniMapCache.getTerrain(tileManager);
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        var player = w.getPlayer().getPos().duplicate();
+        var enemies = w.getEnemies();
+        List<Point2d> enemiesPos = new ArrayList<>(enemies.size());
+        for (int i = 0; i < enemies.size(); i++) {
+            enemiesPos.add(enemies.get(i).getPos().duplicate());
+        }
+        var boss = w.getWizardBoss();
+        var bossPos = boss != null && boss.isGpsActive() ? boss.getPos().duplicate() : null;
+        commands.add(gr -> gr.drawMiniMap(terrain, width, height, player, enemiesPos, bossPos));
+    }
+
+    @Override
+    public void drawNavigatorLine(NavigatorLine navigatorLine, World w) {
+        // the navigator line isn't drawn
+    }
+
+    @Override
+    public void drawHealthBar(HealthBar healthBar, World w) {
+        var pos = healthBar.getPos().duplicate();
+        var player = (FighterEntity) w.getPlayer();
+        int health = player.getHealth();
+        int maxHealth = player.getMaxHealth();
+        commands.add(gr -> gr.drawHealthBar(pos, health, maxHealth));
+    }
+
+    @Override
+    public void drawTeleporter(Teleporter tp, World w) {
+        var pos = tp.getPos().duplicate();
+        commands.add(gr -> gr.drawTeleporter(pos));
+    }
+
+    @Override
+    public void drawQuestPannel(QuestPannel questPannel, World w) {
+        if (questPannel.isShow()) {
+            commands.add(SwingGraphics::drawQuestPannel);
+        }
+    }
+
+    @Override
+    public void drawStringUnderPlayer(String s) {
+        commands.add(gr -> gr.drawStringUnderPlayer(s));
+    }
+
+    @Override
+    public void drawQuestJournal(World w) {
+        var quests = ((PlayerEntity) w.getPlayer()).getQuests();
+        List<QuestSnapshot> journal = new ArrayList<>(quests.size());
+        for (int i = 0; i < quests.size(); i++) {
+            journal.add(new QuestSnapshot(i, quests.get(i)));
+        }
+        commands.add(gr -> gr.drawQuestJournal(journal));
+    }
+
+    @Override
+    public void drawWeapon(FighterEntity fe) {
+        if (fe.getWeapon() instanceof RangedWeapon) {
+            drawBullet((RangedWeapon) fe.getWeapon());
+        } else {
+            var pos = ((RectBoundingBox) fe.getDamagingArea().getBBox()).getPoint2d();
+            if (camera.inScene(pos)) {
+                var hitbox = fe.getWeapon().getHitbox();
+                double width = hitbox.getWidth();
+                double height = hitbox.getHeight();
+                commands.add(gr -> gr.drawMeleeArea(pos, width, height));
+            }
+        }
+    }
+
+    @Override
+    public void drawEnemy(GameObject obj, World w) {
+        if (!(obj instanceof EnemyEntity)) {
+            return;
+        }
+        var pos = camera.getRenderPos(obj);
+        if (camera.inScene(pos)) {
+            var enemy = (EnemyEntity) obj;
+            var snapshot = snapshotOf(enemy, pos);
+            var enemyType = enemy.getEnemyType();
+            int identifier = enemy.getEnemyIdentifier();
+            commands.add(gr -> gr.drawEnemy(snapshot, enemyType, identifier));
+        }
+    }
+
+    @Override
+    public void drawProgressBar(LoadingBar loadingBar, World w) {
+        if (loadingBar.loadingIsStarted()) {
+            int currentLoaded = loadingBar.getCurrentLoaded();
+            int loadingTime = loadingBar.getLoadingTime();
+            commands.add(gr -> gr.drawProgressBar(currentLoaded, loadingTime));
+        }
+    }
+
+    @Override
+    public void drawBullet(RangedWeapon w) {
+        var hitbox = w.getHitbox();
+        if (hitbox != null) {
+            var pos = hitbox.getPoint2d();
+            if (camera.inScene(pos)) {
+                double width = hitbox.getWidth();
+                double height = hitbox.getHeight();
+                commands.add(gr -> gr.drawBullet(pos, width, height));
+            }
+        }
+    }
+
+    @Override
+    public void drawBlacksmithPanel(BlacksmithPanel blacksmithPanel, World w) {
+        if (blacksmithPanel.isShow()) {
+            commands.add(SwingGraphics::drawBlacksmithPanel);
+        }
+    }
+
+    @Override
+    public void drawWizardBoss(WizardBossEntity boss, World w) {
+        if (boss.getHealth() <= 0) {
+            return;
+        }
+        var pos = camera.getRenderPos(boss);
+        if (camera.inScene(pos)) {
+            var snapshot = snapshotOf(boss, pos);
+            commands.add(gr -> gr.drawWizardBoss(snapshot));
+        }
+    }
+
+    @Override
+    public void drawInventory(InventoryObject inventory, World w) {
+        int weapons = ((PlayerEntity) w.getPlayer()).getWeapons().size();
+        commands.add(gr -> gr.drawInventory(weapons));
+    }
+
+    @Override
+    public void drawWeaponIcon(Weapon weapon, int x, int y, int dimension) {
+        var weaponType = weapon.getWeaponType();
+        commands.add(gr -> gr.drawWeaponIcon(weaponType, x, y, dimension));
+    }
+
+    @Override
+    public void drawDurabilityBar(Weapon weapon, int x, int y) {
+        if (weapon instanceof MeleeWeapon) {
+            int durability = ((MeleeWeapon) weapon).getDurability();
+            int maxDurability = ((MeleeWeapon) weapon).getMaxDurability();
+            commands.add(gr -> gr.drawDurabilityBar(durability, maxDurability, x, y));
+        }
+    }
+}
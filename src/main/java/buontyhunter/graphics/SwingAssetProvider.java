@@ -2,7 +2,7 @@ package buontyhunter.graphics;
 
 import java.awt.Image;
 import java.awt.image.BufferedImage;
-import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.Map;
 import javax.imageio.ImageIO;
 
@@ -13,6 +13,8 @@ import buontyhunter.common.ImageType;
 public class SwingAssetProvider {
 
     public String assetPath;
+    // the simulation thread reads it to draw the chunks of the map while the
+    // event dispatch thread loads the images again when the window is resized
     private Map<ImageType, Image> imageAssetMap;
 
     /**
@@ -20,7 +22,7 @@ public class SwingAssetProvider {
      */
     public SwingAssetProvider() {
         this.assetPath = "/";
-        this.imageAssetMap = new HashMap<>();
+        this.imageAssetMap = new ConcurrentHashMap<>();
         loadAllAssets();
     }
 
@@ -41,7 +43,7 @@ public class SwingAssetProvider {
     }
 
     /**
-     * Load an image from the assets folder and cache it in a HashMap to optimize
+     * Load an image from the assets folder and cache it in a map to optimize
      * the loading
      * 
      * @param path the path to the image
@@ -1,23 +1,27 @@
 package buontyhunter.graphics;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.util.List;
+
 import javax.swing.JButton;
 import buontyhunter.core.GameEngine;
 import buontyhunter.common.ImageType;
 import buontyhunter.common.Point2d;
 import buontyhunter.model.*;
+import buontyhunter.model.AI.enemySpawner.EnemyType;
 
 import javax.swing.JLabel;
 import javax.swing.border.LineBorder;
 import javax.swing.ImageIcon;
 import buontyhunter.model.FighterEntity.MovementState;
-import buontyhunter.weaponClasses.MeleeWeapon;
-import buontyhunter.weaponClasses.RangedWeapon;
-import buontyhunter.weaponClasses.Weapon;
 import buontyhunter.weaponClasses.WeaponType;
 
-public class SwingGraphics implements Graphics {
+/**
+ * draws the values of a RenderSnapshot on the graphics of a frame, it never
+ * reads the world
+ */
+public class SwingGraphics {
 
 	private Graphics2D g2;
 	private double ratioX;
@@ -53,107 +57,89 @@ public class SwingGraphics implements Graphics {
 		return new Point2d(getXinPixel(p), getYinPixel(p));
 	}
 
-	@Override
-	public void drawPlayer(GameObject obj, World w) {
+	public void drawPlayer(EntitySnapshot player) {
 		var x = getXinPixel(camera.getPlayerPoint());
 		var y = getYinPixel(camera.getPlayerPoint());
 
-		if (obj instanceof PlayerEntity) {
-			switch (((PlayerEntity) obj).getDirection()) {
-				case STAND_DOWN:
-					g2.drawImage(assetManager.getImage(ImageType.hunterFront), x, y, null);
-					break;
-				case STAND_UP:
-					g2.drawImage(assetManager.getImage(ImageType.hunterBack), x, y, null);
-					break;
-				case STAND_LEFT:
-					g2.drawImage(assetManager.getImage(ImageType.hunterLeft), x, y, null);
-					break;
-				case STAND_RIGHT:
-					g2.drawImage(assetManager.getImage(ImageType.hunterRight), x, y, null);
-					break;
-				case MOVE_UP:
-					if (((PlayerEntity) obj).getMovementState() == MovementState.FIRST) {
-						g2.drawImage(assetManager.getImage(ImageType.hunterBack1), x, y, null);
-					} else {
-						g2.drawImage(assetManager.getImage(ImageType.hunterBack2), x, y, null);
-					}
-					break;
-				case MOVE_DOWN:
-					if (((PlayerEntity) obj).getMovementState() == MovementState.FIRST) {
-						g2.drawImage(assetManager.getImage(ImageType.hunterFront1), x, y, null);
-					} else {
-						g2.drawImage(assetManager.getImage(ImageType.hunterFront2), x, y, null);
-					}
-					break;
-				case MOVE_LEFT:
-					if (((PlayerEntity) obj).getMovementState() == MovementState.FIRST) {
-						g2.drawImage(assetManager.getImage(ImageType.hunterLeft1), x, y, null);
-					} else {
-						g2.drawImage(assetManager.getImage(ImageType.hunterLeft2), x, y, null);
-					}
-					break;
-				case MOVE_RIGHT:
-					if (((PlayerEntity) obj).getMovementState() == MovementState.FIRST) {
-						g2.drawImage(assetManager.getImage(ImageType.hunterRight1), x, y, null);
-					} else {
-						g2.drawImage(assetManager.getImage(ImageType.hunterRight2), x, y, null);
-					}
-					break;
-			}
-		}
-
-	}
-
-	@Override
-	public void drawMap(TileManager tileManager, World w) {
-		var tiles = tileManager.getTiles();
-
-		var firstX = camera.getTileFirstX();
-		var firstY = camera.getTileFirstY();
-		var offsetX = camera.getTileOffsetX();
-		var offsetY = camera.getTileOffsetY();
-		var lastX = camera.getTileLastX();
-		var lastY = camera.getTileLastY();
-
-		int i = 0, j = 0;
-		for (int y = firstY; y < lastY; y++) {
-			i = 0;
-			for (int x = firstX; x < lastX; x++) {
-				Point2d tilePos = new Point2d(i - offsetX, j - offsetY);
-				try {
-					var image = tiles.get(y).get(x).getImage();
-					g2.drawImage(assetManager.getImage(image), getXinPixel(tilePos),
-							getYinPixel(tilePos), null);
-				} catch (Exception ex) {
-					System.out.println(ex.getMessage());
-					System.out.println("Error");
+		switch (player.getDirection()) {
+			case STAND_DOWN:
+				g2.drawImage(assetManager.getImage(ImageType.hunterFront), x, y, null);
+				break;
+			case STAND_UP:
+				g2.drawImage(assetManager.getImage(ImageType.hunterBack), x, y, null);
+				break;
+			case STAND_LEFT:
+				g2.drawImage(assetManager.getImage(ImageType.hunterLeft), x, y, null);
+				break;
+			case STAND_RIGHT:
+				g2.drawImage(assetManager.getImage(ImageType.hunterRight), x, y, null);
+				break;
+			case MOVE_UP:
+				if (player.getMovementState() == MovementState.FIRST) {
+					g2.drawImage(assetManager.getImage(ImageType.hunterBack1), x, y, null);
+				} else {
+					g2.drawImage(assetManager.getImage(ImageType.hunterBack2), x, y, null);
 				}
-
-				i++;
-			}
-			j++;
+				break;
+			case MOVE_DOWN:
+				if (player.getMovementState() == MovementState.FIRST) {
+					g2.drawImage(assetManager.getImage(ImageType.hunterFront1), x, y, null);
+				} else {
+					g2.drawImage(assetManager.getImage(ImageType.hunterFront2), x, y, null);
+				}
+				break;
+			case MOVE_LEFT:
+				if (player.getMovementState() == MovementState.FIRST) {
+					g2.drawImage(assetManager.getImage(ImageType.hunterLeft1), x, y, null);
+				} else {
+					g2.drawImage(assetManager.getImage(ImageType.hunterLeft2), x, y, null);
+				}
+				break;
+			case MOVE_RIGHT:
+				if (player.getMovementState() == MovementState.FIRST) {
+					g2.drawImage(assetManager.getImage(ImageType.hunterRight1), x, y, null);
+				} else {
+					g2.drawImage(assetManager.getImage(ImageType.hunterRight2), x, y, null);
+				}
+				break;
 		}
 	}
 
-	private int getMaxY(List<List<Tile>> tiles) {
-		return tiles.stream().mapToInt((list) -> list.size()).max().getAsInt();
-	}
-
-	public void drawMiniMap(HidableObject miniMap, World w) {
-		if (!miniMap.isShow())
-			return;
+	/**
+	 * draw a chunk of the map drawn by the TileChunkCache
+	 * 
+	 * @param chunk  the image of the chunk
+	 * @param chunkX the x of the chunk (tile x / CHUNK_SIZE)
+	 * @param chunkY the y of the chunk (tile y / CHUNK_SIZE)
+	 */
+	public void drawMapChunk(Image chunk, int chunkX, int chunkY) {
+		var size = TileChunkCache.CHUNK_SIZE;
+		g2.drawImage(chunk,
+				(int) Math.round((chunkX * size - camera.getTileFirstX() - camera.getTileOffsetX()) * ratioX),
+				(int) Math.round((chunkY * size - camera.getTileFirstY() - camera.getTileOffsetY()) * ratioY), null);
+	}
+
+	/**
+	 * draw the minimap
+	 * 
+	 * @param terrain    the terrain of the map, one pixel for each tile
+	 * @param gridWidth  the number of columns of the map
+	 * @param gridHeight the number of rows of the map
+	 * @param player     the position of the player
+	 * @param enemies    the positions of the enemies
+	 * @param boss       the position of the boss, null if it isn't shown
+	 */
+	public void drawMiniMap(BufferedImage terrain, int gridWidth, int gridHeight, Point2d player,
+			List<Point2d> enemies, Point2d boss) {
 		var playerSize = 3;
-		var tileManager = w.getTileManager();
-		var tiles = tileManager.getTiles();
 
 		int mapShowOffSetX = 15;
 		int mapShowOffSetY = 15;
 
 		var firstX = 0;
 		var firstY = 0;
-		final var lastX = tiles.size();
-		final var lastY = getMaxY(tiles);
+		final var lastX = gridHeight;
+		final var lastY = gridWidth;
 
 		Point2d tilePos = new Point2d(1, 1);
 
@@ -163,113 +149,54 @@ public class SwingGraphics implements Graphics {
 		g2.drawImage(assetManager.getImage(ImageType.MAPBG), firstX + mapShowOffSetX * 2, firstY + mapShowOffSetY * 2,
 				getXinPixel(tilePos) + lastX * propsX + mapShowOffSetX * 2,
 				getYinPixel(tilePos) + lastY * propsY + mapShowOffSetY * 2, null);
-		for (int x = firstX; x < lastX; x++) {
-			for (int y = firstY; y < lastY; y++) {
-
-				try {
-					g2.setColor(getTileColor(tiles.get(x).get(y).getType()));
-					g2.fillRect((getXinPixel(tilePos) + mapShowOffSetY + y * propsX),
-							(getYinPixel(tilePos) + mapShowOffSetX + x * propsY), propsX, propsY);
-				} catch (Exception ex) {
-					System.out.println(ex.getMessage());
-					System.out.println("minimap error");
-				}
-
-			}
-		}
-
-		var p = w.getPlayer();
+		// one pixel of the terrain for each tile, scaled to props pixels
+		g2.drawImage(terrain, getXinPixel(tilePos) + mapShowOffSetY,
+				getYinPixel(tilePos) + mapShowOffSetX, lastY * propsX, lastX * propsY, null);
 
 		g2.setColor(Color.RED);
-		g2.fillRect(getXinPixel(tilePos) + mapShowOffSetX + (int) Math.floor(p.getPos().x) * propsX,
-				getYinPixel(tilePos) + mapShowOffSetY + (int) Math.floor(p.getPos().y) * propsY, propsX * playerSize,
+		g2.fillRect(getXinPixel(tilePos) + mapShowOffSetX + (int) Math.floor(player.x) * propsX,
+				getYinPixel(tilePos) + mapShowOffSetY + (int) Math.floor(player.y) * propsY, propsX * playerSize,
 				propsY * playerSize);
 
-		for (var enemy : w.getEnemies()) {
+		for (var enemy : enemies) {
 
 			g2.setColor(Color.YELLOW);
-			g2.fillRect(getXinPixel(tilePos) + (int) Math.floor(enemy.getPos().x) * propsX + mapShowOffSetX,
-					getYinPixel(tilePos) + mapShowOffSetY + (int) Math.floor(enemy.getPos().y) * propsY,
+			g2.fillRect(getXinPixel(tilePos) + (int) Math.floor(enemy.x) * propsX + mapShowOffSetX,
+					getYinPixel(tilePos) + mapShowOffSetY + (int) Math.floor(enemy.y) * propsY,
 					propsX * playerSize,
 					propsY * playerSize);
 		}
 
-
-		var b = w.getWizardBoss();
-		if (b.isGpsActive()) {
+		if (boss != null) {
 			g2.setColor(Color.MAGENTA);
-			g2.fillRect(getXinPixel(tilePos) + mapShowOffSetX + (int) Math.floor(b.getPos().x) * propsX,
-					getYinPixel(tilePos) + mapShowOffSetY + (int) Math.floor(b.getPos().y) * propsY,
+			g2.fillRect(getXinPixel(tilePos) + mapShowOffSetX + (int) Math.floor(boss.x) * propsX,
+					getYinPixel(tilePos) + mapShowOffSetY + (int) Math.floor(boss.y) * propsY,
 					propsX * playerSize,
 					propsY * playerSize);
 		}
-
-		// g2.setColor(Color.ORANGE);
-		// pathStream.forEach((Point2d np) -> g2.fillOval(getXinPixel(tilePos) +
-		// mapShowOffSetY + (int) np.x - 2,
-		// getYinPixel(tilePos) + mapShowOffSetX + (int) np.y - 2, 5, 5));
-	}
-
-	private Color getTileColor(TileType type) {
-		switch (type) {
-			case earth:
-				return new Color(160, 82, 45); // brown
-			case grass:
-				return Color.GREEN;
-			case sand:
-				return Color.YELLOW;
-			case tree:
-				return new Color(1, 50, 32);
-			case wall:
-				return Color.DARK_GRAY;
-			case water:
-				return Color.cyan;
-			default:
-				return Color.RED;
-
-		}
 	}
 
-	@Override
-	public void drawNavigatorLine(NavigatorLine navigatorLine, World w) {
-		// var pathStream = navigatorLine.getPath().stream();
-
-		// g2.setColor(Color.YELLOW);
-		// pathStream.filter((Point2d p) -> camera.inScene(p))
-		// .forEach((Point2d p) ->
-		// g2.fillRect(getXinPixel(camera.getObjectPointInScene(p).get()),
-		// getYinPixel(camera.getObjectPointInScene(p).get()), getDeltaXinPixel(0.5),
-		// getDeltaYinPixel(0.5)));
-	}
-
-	@Override
-	public void drawHealthBar(HealthBar healthBar, World w) {
+	public void drawHealthBar(Point2d pos, int health, int maxHealth) {
 
 		int healthBarLenght = 200;
 		int healthBarWidth = 20;
 
 		g2.setColor(Color.BLACK);
-		g2.fillRect((int) healthBar.getPos().x, (int) healthBar.getPos().y, healthBarLenght, healthBarWidth);
+		g2.fillRect((int) pos.x, (int) pos.y, healthBarLenght, healthBarWidth);
 		g2.setColor(Color.RED);
-		g2.fillRect((int) healthBar.getPos().x + HealthBar.margin / 2,
-				(int) healthBar.getPos().y + HealthBar.margin / 2,
-				((healthBarLenght - HealthBar.margin) * ((FighterEntity) w.getPlayer()).getHealth())
-						/ ((FighterEntity) w.getPlayer()).getMaxHealth(),
+		g2.fillRect((int) pos.x + HealthBar.margin / 2,
+				(int) pos.y + HealthBar.margin / 2,
+				((healthBarLenght - HealthBar.margin) * health) / maxHealth,
 				healthBarWidth / 2);
 	}
 
-	@Override
-	public void drawTeleporter(Teleporter tp, World w) {
+	public void drawTeleporter(Point2d pos) {
 
-		var tpPosInPixel = getTilePosInPixel(camera.getObjectPointInScene(tp.getPos()).get());
+		var tpPosInPixel = getTilePosInPixel(camera.getObjectPointInScene(pos).get());
 		g2.drawImage(assetManager.getImage(ImageType.teleporter), (int) tpPosInPixel.x, (int) tpPosInPixel.y, null);
 	}
 
-	@Override
-	public void drawQuestPannel(QuestPannel questPannel, World w) {
-		if (!questPannel.isShow())
-			return;
-
+	public void drawQuestPannel() {
 		g2.setColor(new Color(0, 0, 0, 0.6f));
 		g2.fillRect(0, 0, GameEngine.RESIZATOR.getWINDOW_WIDTH(), GameEngine.RESIZATOR.getWINDOW_HEIGHT());
 
@@ -284,7 +211,7 @@ public class SwingGraphics implements Graphics {
 
 	}
 
-	public void drawQuest(QuestEntity quest, int x, int y, int unit, JButton btn) {
+	public void drawQuest(QuestSnapshot quest, int x, int y, int unit, JButton btn) {
 		if(btn.getBounds().isEmpty() || !btn.getBounds().equals(new Rectangle(x, y, unit, unit))){
 			btn.removeAll();
 
@@ -342,11 +269,7 @@ public class SwingGraphics implements Graphics {
 		g2.drawString(s, x, y);
 	}
 
-	@Override
-	public void drawBlacksmithPanel(BlacksmithPanel blacksmithPanel, World w) {
-		if (!blacksmithPanel.isShow())
-			return;
-
+	public void drawBlacksmithPanel() {
 		g2.setColor(new Color(0, 0, 0, 0.6f));
 		g2.fillRect(0, 0, GameEngine.RESIZATOR.getWINDOW_WIDTH(), GameEngine.RESIZATOR.getWINDOW_HEIGHT());
 
@@ -362,8 +285,7 @@ public class SwingGraphics implements Graphics {
 
 	}
 
-	@Override
-	public void drawQuestJournal(World w) {
+	public void drawQuestJournal(List<QuestSnapshot> quests) {
 		int width;
 		int height;
 		width = GameEngine.RESIZATOR.getWINDOW_WIDTH();
@@ -374,15 +296,13 @@ public class SwingGraphics implements Graphics {
 		g2.setColor(Color.WHITE);
 		g2.drawRoundRect(width / 12, height / 12, 5 * width / 6, 5 * height / 6, 36, 36);
 
-		var quests = ((PlayerEntity) w.getPlayer()).getQuests();
-
 		int singleQuestHeight = 150;
 
 		g2.setFont(titleFont);
 		g2.drawString("Registro Missioni", width / 2 - 75, height / 24);
 
-		quests.forEach((Quest q) -> {
-			int indexOfQuest = quests.indexOf(q);
+		quests.forEach((QuestSnapshot q) -> {
+			int indexOfQuest = q.getIndex();
 			g2.setFont(titleFont);
 			g2.drawString(q.getName(), width / 12 + 10, height / 12 + 20 + singleQuestHeight * indexOfQuest);
 			g2.setFont(paragraphFont);
@@ -392,70 +312,65 @@ public class SwingGraphics implements Graphics {
 					height / 12 + 80 + singleQuestHeight * indexOfQuest);
 			g2.setFont(paragraphFont);
 			g2.setFont(titleFont);
-			g2.drawString("Nemici uccisi: " + q.getnTargetActuallyKilled(), width / 12 + 10,
+			g2.drawString("Nemici uccisi: " + q.getTargetKilled(), width / 12 + 10,
 					height / 12 + 110 + singleQuestHeight * indexOfQuest);
 		});
 	}
 
-	private void outWeapon(Point2d pos, int width, int height) {
-		g2.setColor(Color.blue);
-		g2.fillRect(getXinPixel(pos), getYinPixel(pos), width, height);
-	}
-
-	@Override
-	public void drawWeapon(FighterEntity fe) {
-
-		if (fe.getWeapon() instanceof RangedWeapon) {
-			drawBullet(((RangedWeapon) fe.getWeapon()));
-		} else {
-			var point = camera.getObjectPointInScene(((RectBoundingBox) fe.getDamagingArea().getBBox()).getPoint2d());
-
-			if (point.isPresent()) {
-				outWeapon(point.get(), getValueInPixel(((RectBoundingBox) fe.getWeapon().getHitbox()).getWidth()),
-						getValueInPixel(((RectBoundingBox) fe.getWeapon().getHitbox()).getHeight()));
-			}
-
+	/**
+	 * draw the area hit by a melee weapon
+	 * 
+	 * @param pos    the position of the area
+	 * @param width  the width of the area
+	 * @param height the height of the area
+	 */
+	public void drawMeleeArea(Point2d pos, double width, double height) {
+		var point = camera.getObjectPointInScene(pos);
+		if (point.isPresent()) {
+			g2.setColor(Color.blue);
+			g2.fillRect(getXinPixel(point.get()), getYinPixel(point.get()), getValueInPixel(width),
+					getValueInPixel(height));
 		}
 	}
 
-	@Override
-	public void drawBullet(RangedWeapon w) {
-		if (w.getHitbox() != null) {
-			var point = camera.getObjectPointInScene(w.getHitbox().getPoint2d());
-			if (point.isPresent()) {
-				g2.setColor(Color.RED);
-				g2.fillRect(getXinPixel(point.get()), getYinPixel(point.get()),
-						getValueInPixel(w.getHitbox().getWidth()),
-						getValueInPixel(w.getHitbox().getHeight()));
-			}
+	/**
+	 * draw the bullet shot by a ranged weapon
+	 * 
+	 * @param pos    the position of the bullet
+	 * @param width  the width of the bullet
+	 * @param height the height of the bullet
+	 */
+	public void drawBullet(Point2d pos, double width, double height) {
+		var point = camera.getObjectPointInScene(pos);
+		if (point.isPresent()) {
+			g2.setColor(Color.RED);
+			g2.fillRect(getXinPixel(point.get()), getYinPixel(point.get()), getValueInPixel(width),
+					getValueInPixel(height));
 		}
 	}
 
-	public void drawEnemy(GameObject obj, World w) {
-		var point = camera.getObjectPointInScene(obj.getPos());
+	public void drawEnemy(EntitySnapshot enemy, EnemyType enemyType, int identifier) {
+		var point = camera.getObjectPointInScene(enemy.getPos());
 		if (point.isPresent()) {
-			if (obj instanceof EnemyEntity) {
-				g2.drawString(((EnemyEntity) obj).getEnemyIdentifier() + "", getXinPixel(point.get()),
-						getYinPixel(point.get()));
-				switch (((EnemyEntity) obj).getEnemyType()) {
-					case BOW:
-						this.drawSkelly((EnemyEntity) obj, w, getXinPixel(point.get()), getYinPixel(point.get()));
-						break;
-					case THROW_PUNCHES:
-						this.drawZombie((EnemyEntity) obj, w, getXinPixel(point.get()), getYinPixel(point.get()));
-						break;
-					case SWORD:
-						this.drawKnight((EnemyEntity) obj, w, getXinPixel(point.get()), getYinPixel(point.get()));
-						break;
-					default:
-						
-						break;
-				}
+			g2.drawString(identifier + "", getXinPixel(point.get()), getYinPixel(point.get()));
+			switch (enemyType) {
+				case BOW:
+					this.drawSkelly(enemy, getXinPixel(point.get()), getYinPixel(point.get()));
+					break;
+				case THROW_PUNCHES:
+					this.drawZombie(enemy, getXinPixel(point.get()), getYinPixel(point.get()));
+					break;
+				case SWORD:
+					this.drawKnight(enemy, getXinPixel(point.get()), getYinPixel(point.get()));
+					break;
+				default:
+					
+					break;
 			}
 		}
 	}
 
-	private void drawZombie(EnemyEntity zombie, World w, int x, int y) {
+	private void drawZombie(EntitySnapshot zombie, int x, int y) {
 		switch (zombie.getDirection()) {
 			case STAND_DOWN:
 				g2.drawImage(assetManager.getImage(ImageType.zombieFront), x, y, null);
@@ -500,7 +415,7 @@ public class SwingGraphics implements Graphics {
 		}
 	}
 
-	private void drawKnight(EnemyEntity knight, World w, int x, int y) {
+	private void drawKnight(EntitySnapshot knight, int x, int y) {
 		switch (knight.getDirection()) {
 			case STAND_DOWN:
 				g2.drawImage(assetManager.getImage(ImageType.knightFront), x, y, null);
@@ -545,7 +460,7 @@ public class SwingGraphics implements Graphics {
 		}
 	}
 
-	private void drawSkelly(EnemyEntity skelly, World w, int x, int y) {
+	private void drawSkelly(EntitySnapshot skelly, int x, int y) {
 		switch (skelly.getDirection()) {
 			case STAND_DOWN:
 				g2.drawImage(assetManager.getImage(ImageType.skellyFront), x, y, null);
@@ -590,34 +505,27 @@ public class SwingGraphics implements Graphics {
 		}
 	}
 
-	@Override
-	public void drawProgressBar(LoadingBar loadingBar, World w) {
-		if (loadingBar.loadingIsStarted()) {
-			var currentLoaded = loadingBar.getCurrentLoaded();
-			var loadingTime = loadingBar.getLoadingTime();
-			var frame = GameEngine.RESIZATOR.getWINDOW_WIDTH();
-			var g2 = this.g2;
-			if (currentLoaded < loadingTime) {
-				g2.setColor(Color.BLACK);
-				g2.fillRect(0, frame - 120, frame, 40);
-				g2.setColor(Color.WHITE);
-				g2.fillRect(10, frame - 110, currentLoaded * frame / loadingTime - 30, 20);
-			} else {
-				g2.setColor(Color.BLACK);
-				g2.fillRect(0, frame - 120, frame, 40);
-				g2.setColor(Color.WHITE);
-				g2.fillRect(10, frame - 110, frame - 100, 20);
-			}
+	public void drawProgressBar(int currentLoaded, int loadingTime) {
+		var frame = GameEngine.RESIZATOR.getWINDOW_WIDTH();
+		var g2 = this.g2;
+		if (currentLoaded < loadingTime) {
+			g2.setColor(Color.BLACK);
+			g2.fillRect(0, frame - 120, frame, 40);
+			g2.setColor(Color.WHITE);
+			g2.fillRect(10, frame - 110, currentLoaded * frame / loadingTime - 30, 20);
+		} else {
+			g2.setColor(Color.BLACK);
+			g2.fillRect(0, frame - 120, frame, 40);
+			g2.setColor(Color.WHITE);
+			g2.fillRect(10, frame - 110, frame - 100, 20);
 		}
 	}
 
-	public void drawWizardBoss(WizardBossEntity boss, World w) {
-		if (boss.getHealth() <= 0)
-			return;
+	public void drawWizardBoss(EntitySnapshot boss) {
 		var point = camera.getObjectPointInScene(boss.getPos());
-		
+
 		if (point.isPresent()) {
-			
+
 			int x = getXinPixel(point.get());
 			int y = getYinPixel(point.get());
 
@@ -666,19 +574,16 @@ public class SwingGraphics implements Graphics {
 		}
 	}
 
-	@Override
-	public void drawInventory(InventoryObject inventory, World w) {
+	public void drawInventory(int weapons) {
 		g2.setColor(new Color(0, 0, 0, 0.6f));
 		g2.fillRect(0, 0, GameEngine.RESIZATOR.getWINDOW_WIDTH(), GameEngine.RESIZATOR.getWINDOW_HEIGHT());
 
-		var player = (PlayerEntity) w.getPlayer();
-
-		player.getWeapons().forEach((weapon) -> {
+		for (int i = 0; i < weapons; i++) {
 			drawBlacksmithButtons(1, 100, 100, 100, new JButton());
-		});
+		}
 	}
 
-	public void drawInventoryWeapon(Weapon w, int x, int y, JButton btn) {
+	public void drawInventoryWeapon(WeaponType weaponType, int x, int y, JButton btn) {
 
 		int btnDimension = 100;
 
@@ -691,7 +596,7 @@ public class SwingGraphics implements Graphics {
 
 		Image scaled;
 
-		switch (w.getWeaponType()) {
+		switch (weaponType) {
 			case SWORD:
 				scaled = assetManager.getImage(ImageType.sword).getScaledInstance((int) (btn.getWidth() / (1.5)),
 						(int) (btn.getHeight() / (1.5)), Image.SCALE_SMOOTH);
@@ -713,29 +618,23 @@ public class SwingGraphics implements Graphics {
 		btn.setIcon(new ImageIcon(scaled));
 	}
 
-	public void drawWeaponIcon(Weapon weapon, int x, int y, int dimension) {
-		if (weapon.getWeaponType() == WeaponType.SWORD) {
+	public void drawWeaponIcon(WeaponType weaponType, int x, int y, int dimension) {
+		if (weaponType == WeaponType.SWORD) {
 			g2.drawImage(assetManager.getImage(ImageType.sword), x, y, dimension, dimension, null);
-		} else if (weapon.getWeaponType() == WeaponType.BRASSKNUCKLES) {
+		} else if (weaponType == WeaponType.BRASSKNUCKLES) {
 			g2.drawImage(assetManager.getImage(ImageType.brassKnucles), x, y, dimension, dimension, null);
-		} else if (weapon.getWeaponType() == WeaponType.BOW) {
+		} else if (weaponType == WeaponType.BOW) {
 			g2.drawImage(assetManager.getImage(ImageType.bow), x, y, dimension, dimension, null);
 		}
 	}
 
-	@Override
-	public void drawDurabilityBar(Weapon weapon, int x, int y) {
-		if (weapon instanceof MeleeWeapon) {
-			int barLenght = 150;
-			int barWidth = 20;
+	public void drawDurabilityBar(int durability, int maxDurability, int x, int y) {
+		int barLenght = 150;
+		int barWidth = 20;
 
-			g2.setColor(Color.BLACK);
-			g2.fillRect(x, y, barLenght, barWidth);
-			g2.setColor(Color.GREEN);
-			g2.fillRect(x + 5, y + 5,
-					((MeleeWeapon) weapon).getDurability() * (barLenght - 10)
-							/ ((MeleeWeapon) weapon).getMaxDurability(),
-					barWidth - 10);
-		}
+		g2.setColor(Color.BLACK);
+		g2.fillRect(x, y, barLenght, barWidth);
+		g2.setColor(Color.GREEN);
+		g2.fillRect(x + 5, y + 5, durability * (barLenght - 10) / maxDurability, barWidth - 10);
 	}
 }
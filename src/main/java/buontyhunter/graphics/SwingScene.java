@@ -32,8 +32,12 @@ public class SwingScene implements Scene, ComponentListener {
 	private final List<JButton> blacksmithButtons = new ArrayList<>();
 	private final List<JButton> inventoryButtons = new ArrayList<>();
 	protected final SwingAssetProvider assetManager;
+	protected final TileChunkCache tileChunkCache = new TileChunkCache();
+	protected final MiniMapCache miniMapCache = new MiniMapCache();
 	private final MusicPlayer musicPlayer;
 	private Track currentTrack;
+	protected volatile RenderSnapshot currentSnapshot;
+	private long frameNumber = 0;
 
 	public SwingScene(GameState gameState, KeyboardInputController controller, boolean IsHub) {
 
@@ -123,13 +127,76 @@ public class SwingScene implements Scene, ComponentListener {
 	}
 
 	public void render() {
+		render(1);
+	}
+
+	public void render(double alpha) {
+		var snapshot = capture(alpha);
+		playTrackOf(snapshot);
 		try {
-			frame.repaint();
+			present(snapshot);
 		} catch (Exception ex) {
 			ex.printStackTrace();
 		}
 	}
 
+	/**
+	 * capture what the next frame shows, it's executed by the simulation
+	 * thread between two ticks
+	 * 
+	 * @param alpha the fraction of tick elapsed since the last update
+	 * @return the snapshot of the frame
+	 */
+	protected RenderSnapshot capture(double alpha) {
+		var world = gameState.getWorld();
+		long number = frameNumber++;
+		if (gameState.isInTitleScreen()) {
+			return RenderSnapshot.titleScreen(world, number, createRecorder(null));
+		}
+		if (gameState.isGameOver()) {
+			return RenderSnapshot.gameOver(number);
+		}
+		var camera = new Camera(world, alpha);
+		camera.update(world.getPlayer(), world.getTileManager());
+		return RenderSnapshot.capture(world, IsHub, number, createRecorder(camera));
+	}
+
+	private SnapshotGraphics createRecorder(SceneCamera camera) {
+		return new SnapshotGraphics(camera, panel.ratioX, panel.ratioY, assetManager, tileChunkCache, miniMapCache,
+				panel.getGraphicsConfiguration());
+	}
+
+	/**
+	 * show a snapshot: the panel is repainted by the event dispatch thread
+	 * 
+	 * @param snapshot the snapshot to show
+	 */
+	protected void present(RenderSnapshot snapshot) {
+		currentSnapshot = snapshot;
+		frame.repaint();
+	}
+
+	/**
+	 * play the music asked by a snapshot
+	 * 
+	 * @param snapshot the snapshot
+	 */
+	private void playTrackOf(RenderSnapshot snapshot) {
+		if (snapshot.getState() == RenderSnapshot.State.GAME_OVER) {
+			if (currentTrack != null) {
+				musicPlayer.closeTrack();
+				currentTrack = null;
+			}
+			return;
+		}
+		var track = snapshot.getTrack();
+		if (track != null && track != currentTrack) {
+			musicPlayer.closeTrack();
+			musicPlayer.playTrack(track);
+			currentTrack = track;
+		}
+	}
+
 	public void renderGameOver() {
 		try {
 			this.dispose();
@@ -138,6 +205,15 @@ public class SwingScene implements Scene, ComponentListener {
 		}
 	}
 
+	/**
+	 * get the snapshot that the panel has to draw
+	 * 
+	 * @return the snapshot to draw, null before the first frame
+	 */
+	protected RenderSnapshot getCurrentSnapshot() {
+		return currentSnapshot;
+	}
+
 	private QuestPannel getQuestPannel() {
 		try {
 			return (QuestPannel) gameState.getWorld().getInterractableAreas().stream()
@@ -162,8 +238,8 @@ public class SwingScene implements Scene, ComponentListener {
 	public class ScenePanel extends JPanel implements KeyListener {
 
 		protected int centerY;
-		protected double ratioX;
-		protected double ratioY;
+		protected volatile double ratioX;
+		protected volatile double ratioY;
 		protected Font scoreFont, gameOverFont;
 
 		public ScenePanel(int w, int h, double width, double height) {
@@ -189,7 +265,18 @@ public class SwingScene implements Scene, ComponentListener {
 		}
 
 		public void paintComponent(Graphics g) {
-			Graphics2D g2 = (Graphics2D) g;
+			paintScene((Graphics2D) g, true);
+		}
+
+		/**
+		 * draw the scene on the passed graphics
+		 * 
+		 * @param g2             the graphics where the scene is drawn
+		 * @param withComponents true to lay out the buttons of the panels, it must
+		 *                       be false when the scene is not drawn by the event
+		 *                       dispatch thread
+		 */
+		protected void paintScene(Graphics2D g2, boolean withComponents) {
 
 			g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING,
 					RenderingHints.VALUE_ANTIALIAS_ON);
@@ -197,8 +284,13 @@ public class SwingScene implements Scene, ComponentListener {
 					RenderingHints.VALUE_RENDER_QUALITY);
 			g2.clearRect(0, 0, this.getWidth(), this.getHeight());
 
+			var snapshot = getCurrentSnapshot();
+			if (snapshot == null) {
+				return;
+			}
+
 			// title screen graphics
-			if (gameState.isInTitleScreen()) {
+			if (snapshot.getState() == RenderSnapshot.State.TITLE_SCREEN) {
 				g2.drawImage(assetManager.getImage(ImageType.title), 0, 0, this.getWidth(), this.getHeight(), null);
 				g2.setColor(Color.WHITE);
 				g2.setFont(new java.awt.Font("Arial", java.awt.Font.PLAIN, 20));
@@ -209,166 +301,134 @@ public class SwingScene implements Scene, ComponentListener {
 				g2.drawString(toPrint, GameEngine.RESIZATOR.getWINDOW_WIDTH() / 2 - (metrics.stringWidth(toPrint) / 2),
 						GameEngine.RESIZATOR.getWINDOW_HEIGHT() - 100);
 				SwingGraphics gr = new SwingGraphics(g2, ratioX, ratioY, null, assetManager);
-				gameState.getWorld().getLoadingBar().updateGraphics(gr, gameState.getWorld());
+				snapshot.draw(gr);
 				return;
 			}
 
-			if (gameState.isGameOver()) {
+			if (snapshot.getState() == RenderSnapshot.State.GAME_OVER) {
 
 				/* drawing the score */
 				g2.setFont(gameOverFont);
 				g2.setColor(Color.BLACK);
 				g2.drawImage(assetManager.getImage(ImageType.GameOver), 0, 0, this.getWidth(), this.getHeight(), null);
-				musicPlayer.closeTrack();
 
 			} else {
 
-				World scene = gameState.getWorld();
-
 				/* drawing the game objects */
 
-				var camera = new Camera(scene);
-				camera.update(scene.getPlayer(), scene.getTileManager());
-				SwingGraphics gr = new SwingGraphics(g2, ratioX, ratioY, camera, assetManager);
-				gameState.getWorld().getSceneEntities().forEach(e -> {
-					if (!(e instanceof Teleporter) && !(e instanceof WizardBossEntity)) {
-						e.updateGraphics(gr, scene);
-					}
-
-					if (e instanceof FighterEntity) {
-
-						((FighterEntity) e).getDamagingArea().updateGraphics(gr, scene);
-					}
-
-					if ((camera.inScene(e.getPos()) && (e instanceof Teleporter || e instanceof WizardBossEntity))) {
-						e.updateGraphics(gr, scene);
-						if (e instanceof WizardBossEntity && ((WizardBossEntity) e).isAttackingPlayer()) {
-
-							if (currentTrack != Track.BOSS_TRACK) {
-								musicPlayer.closeTrack();
-								musicPlayer.playTrack(Track.BOSS_TRACK);
-								currentTrack = Track.BOSS_TRACK;
-							}
-
-						}
-					} else if (e instanceof WizardBossEntity && !((WizardBossEntity) e).isAttackingPlayer()) {
-						if (currentTrack != Track.ADVENTURE_TRACK) {
-							musicPlayer.closeTrack();
-							musicPlayer.playTrack(Track.ADVENTURE_TRACK);
-							currentTrack = Track.ADVENTURE_TRACK;
-						}
-					}
-				});
+				SwingGraphics gr = new SwingGraphics(g2, snapshot.getRatioX(), snapshot.getRatioY(),
+						snapshot.getCamera(), assetManager);
+				snapshot.draw(gr);
+				var hud = snapshot.getHud();
 
 				int height = GameEngine.RESIZATOR.getWINDOW_HEIGHT();
 				int width = GameEngine.RESIZATOR.getWINDOW_WIDTH();
 				int minDim = height < width ? height : width;
 				int unit = minDim / 6;
 
-				if (gameState.getWorld().getInventory().isShow()) {
-					inventoryButtons.forEach(btn -> {
-
-						int x = unit + unit / 6;
-						int y = x + unit / 12;
-						this.add(btn, BorderLayout.CENTER);
-						var offsetX = (unit + (unit * 2) / 6) * inventoryButtons.indexOf(btn);
-						gr.drawInventoryWeapon(((PlayerEntity) gameState.getWorld().getPlayer()).getWeapons()
-								.get(inventoryButtons.indexOf(btn)), x + offsetX, y, btn);
-
-						btn.setVisible(true);
-					});
-				} else {
-					inventoryButtons.forEach(btn -> {
-						this.remove(btn);
-						btn.setVisible(false);
-					});
-				}
+				if (withComponents) {
+					if (hud.isInventoryShown()) {
+						var weapons = hud.getWeapons();
+						for (int i = 0; i < inventoryButtons.size() && i < weapons.size(); i++) {
+							var btn = inventoryButtons.get(i);
 
-				// render the buttons if it is the hub
-				if (IsHub && getQuestPannel().isShow()) {
-
-					int boardDimension = minDim / 5 * 4;
-					int boardX = width / 2 - (boardDimension / 2);
-					int boardY = height / 2 - (boardDimension / 2);
-					int questUnit = boardDimension / 4;
-					List<Point2d> questPositions = new ArrayList<>();
-					questPositions.add(new Point2d(boardX + (boardDimension / 16 * 3),
-							boardY + (boardDimension / 16 * 3)));
-					questPositions.add(new Point2d(boardX + (boardDimension / 16 * 9),
-							boardY + (boardDimension / 16 * 3)));
-					questPositions.add(new Point2d(boardX + (boardDimension / 16 * 3),
-							boardY + (boardDimension / 16 * 9)));
-					questPositions.add(new Point2d(boardX + (boardDimension / 16 * 9),
-							boardY + (boardDimension / 16 * 9)));
-
-					questButtons.forEach(btn -> {
-						frame.remove(btn);
-						btn.setVisible(false);
-					});
-					getQuestPannel().getQuests().stream()
-							.filter(q -> !((PlayerEntity) gameState.getWorld().getPlayer()).getQuests().contains(q))
-							.forEach(q -> {
-								var button = questButtons.get(getQuestPannel().getQuests().indexOf(q));
-								button.setVisible(getQuestPannel().isShow());
-								gr.drawQuest((QuestEntity) q,
-										(int) questPositions.get(getQuestPannel().getQuests().indexOf(q)).x,
-										(int) questPositions.get(getQuestPannel().getQuests().indexOf(q)).y, questUnit,
-										button);
-								this.add(button, BorderLayout.CENTER);
-							});
-				} else if (IsHub && !getQuestPannel().isShow()) {
-					questButtons.forEach(btn -> {
-						frame.remove(btn);
-						btn.setVisible(false);
-					});
-				}
+							int x = unit + unit / 6;
+							int y = x + unit / 12;
+							this.add(btn, BorderLayout.CENTER);
+							var offsetX = (unit + (unit * 2) / 6) * i;
+							gr.drawInventoryWeapon(weapons.get(i), x + offsetX, y, btn);
 
-				// render blacksmith
-				if (IsHub && getBlacksmithPannel().isShow()) {
-					blacksmithButtons.forEach(btn -> {
-						frame.remove(btn);
-						btn.setVisible(false);
-					});
-
-					JButton repair = new JButton();
-					repair.addActionListener(new ActionListener() {
-						@Override
-						public void actionPerformed(ActionEvent e) {
-							getBlacksmithPannel().getBlacksmith()
-									.repairWeapon((PlayerEntity) gameState.getWorld().getPlayer());
+							btn.setVisible(true);
 						}
-					});
-					JButton sell = new JButton();
-					sell.addActionListener(new ActionListener() {
-						@Override
-						public void actionPerformed(ActionEvent e) {
-							getBlacksmithPannel().getBlacksmith()
-									.buyAmmo((PlayerEntity) gameState.getWorld().getPlayer());
-						}
-					});
-
-					blacksmithButtons.add(repair);
-					blacksmithButtons.add(sell);
-
-					int x = width / 2;
-					int y = height / 2 - unit / 2;
-
-					blacksmithButtons.get(0).setVisible(getBlacksmithPannel().isShow());
-					gr.drawBlacksmithButtons(0,
-							x - unit * 2, y,
-							unit, blacksmithButtons.get(0));
-					this.add(blacksmithButtons.get(0), BorderLayout.CENTER);
-					blacksmithButtons.get(1).setVisible(getBlacksmithPannel().isShow());
-					gr.drawBlacksmithButtons(1,
-							x + unit, y,
-							unit, blacksmithButtons.get(1));
-					this.add(blacksmithButtons.get(1), BorderLayout.CENTER);
-
-				} else if (IsHub && !getBlacksmithPannel().isShow()) {
-					blacksmithButtons.forEach(btn -> {
-						frame.remove(btn);
-						btn.setVisible(false);
-					});
+					} else {
+						inventoryButtons.forEach(btn -> {
+							this.remove(btn);
+							btn.setVisible(false);
+						});
+					}
+
+					// render the buttons if it is the hub
+					if (hud.isQuestPanelShown()) {
+
+						int boardDimension = minDim / 5 * 4;
+						int boardX = width / 2 - (boardDimension / 2);
+						int boardY = height / 2 - (boardDimension / 2);
+						int questUnit = boardDimension / 4;
+						List<Point2d> questPositions = new ArrayList<>();
+						questPositions.add(new Point2d(boardX + (boardDimension / 16 * 3),
+								boardY + (boardDimension / 16 * 3)));
+						questPositions.add(new Point2d(boardX + (boardDimension / 16 * 9),
+								boardY + (boardDimension / 16 * 3)));
+						questPositions.add(new Point2d(boardX + (boardDimension / 16 * 3),
+								boardY + (boardDimension / 16 * 9)));
+						questPositions.add(new Point2d(boardX + (boardDimension / 16 * 9),
+								boardY + (boardDimension / 16 * 9)));
+
+						questButtons.forEach(btn -> {
+							frame.remove(btn);
+							btn.setVisible(false);
+						});
+						hud.getQuests().forEach(q -> {
+							var button = questButtons.get(q.getIndex());
+							button.setVisible(true);
+							gr.drawQuest(q, (int) questPositions.get(q.getIndex()).x,
+									(int) questPositions.get(q.getIndex()).y, questUnit, button);
+							this.add(button, BorderLayout.CENTER);
+						});
+					} else {
+						questButtons.forEach(btn -> {
+							frame.remove(btn);
+							btn.setVisible(false);
+						});
+					}
+
+					// render blacksmith
+					if (hud.isBlacksmithShown()) {
+						blacksmithButtons.forEach(btn -> {
+							frame.remove(btn);
+							btn.setVisible(false);
+						});
+
+						JButton repair = new JButton();
+						repair.addActionListener(new ActionListener() {
+							@Override
+							public void actionPerformed(ActionEvent e) {
+								getBlacksmithPannel().getBlacksmith()
+										.repairWeapon((PlayerEntity) gameState.getWorld().getPlayer());
+							}
+						});
+						JButton sell = new JButton();
+						sell.addActionListener(new ActionListener() {
+							@Override
+							public void actionPerformed(ActionEvent e) {
+								getBlacksmithPannel().getBlacksmith()
+										.buyAmmo((PlayerEntity) gameState.getWorld().getPlayer());
+							}
+						});
+
+						blacksmithButtons.add(repair);
+						blacksmithButtons.add(sell);
+
+						int x = width / 2;
+						int y = height / 2 - unit / 2;
+
+						blacksmithButtons.get(0).setVisible(true);
+						gr.drawBlacksmithButtons(0,
+								x - unit * 2, y,
+								unit, blacksmithButtons.get(0));
+						this.add(blacksmithButtons.get(0), BorderLayout.CENTER);
+						blacksmithButtons.get(1).setVisible(true);
+						gr.drawBlacksmithButtons(1,
+								x + unit, y,
+								unit, blacksmithButtons.get(1));
+						this.add(blacksmithButtons.get(1), BorderLayout.CENTER);
+
+					} else {
+						blacksmithButtons.forEach(btn -> {
+							frame.remove(btn);
+							btn.setVisible(false);
+						});
+					}
 				}
 
 				// HUD render
@@ -378,19 +438,20 @@ public class SwingScene implements Scene, ComponentListener {
 
 				g2.drawImage(assetManager.getImage(ImageType.weaponContainer), weaponContainerX,
 						weaponContainerY, weaponContainerDimension, weaponContainerDimension, null);
-				gr.drawWeaponIcon(((PlayerEntity) gameState.getWorld().getPlayer()).getWeapon(),
-						weaponContainerX, weaponContainerY, weaponContainerDimension);
+				gr.drawWeaponIcon(hud.getWeaponType(), weaponContainerX, weaponContainerY, weaponContainerDimension);
 
-				gr.drawDurabilityBar(((PlayerEntity) gameState.getWorld().getPlayer()).getWeapon(),
-						weaponContainerX + weaponContainerDimension + 10,
-						weaponContainerY + (weaponContainerDimension / 3));
+				if (hud.hasDurability()) {
+					gr.drawDurabilityBar(hud.getDurability(), hud.getMaxDurability(),
+							weaponContainerX + weaponContainerDimension + 10,
+							weaponContainerY + (weaponContainerDimension / 3));
+				}
 
 				int iconDimension = weaponContainerDimension / 4;
 				int doblonsIconX = weaponContainerX + weaponContainerDimension + 10;
 				int iconY = weaponContainerY + (3 * (weaponContainerDimension / 4));
 				g2.drawImage(assetManager.getImage(ImageType.doblon),
 						doblonsIconX, iconY, iconDimension, iconDimension, null);
-				String doblonsAmount = ((PlayerEntity) gameState.getWorld().getPlayer()).getDoblons() + "";
+				String doblonsAmount = hud.getDoblons() + "";
 				g2.setFont(new java.awt.Font("Arial", java.awt.Font.PLAIN, 12));
 				g2.setColor(Color.BLACK);
 				g2.drawString(doblonsAmount, doblonsIconX + iconDimension, iconY + iconDimension);
@@ -398,7 +459,7 @@ public class SwingScene implements Scene, ComponentListener {
 				int arrowIconX = doblonsIconX + iconDimension + 20;
 				g2.drawImage(assetManager.getImage(ImageType.arrow),
 						arrowIconX, iconY, iconDimension, iconDimension, null);
-				String ammoAmount = ((PlayerEntity) gameState.getWorld().getPlayer()).getAmmo() + "";
+				String ammoAmount = hud.getAmmo() + "";
 				g2.setFont(new java.awt.Font("Arial", java.awt.Font.PLAIN, 12));
 				g2.setColor(Color.BLACK);
 				g2.drawString(ammoAmount, arrowIconX + iconDimension, iconY + iconDimension);
@@ -546,6 +607,7 @@ public class SwingScene implements Scene, ComponentListener {
 		if (oldRatioX < GameEngine.RESIZATOR.getRATIO_WIDTH() || oldRatioY < GameEngine.RESIZATOR.getRATIO_HEIGHT()) {
 			ImagePathProvider.resizeAssets();
 			this.assetManager.loadAllAssets();
+			this.tileChunkCache.invalidate();
 		}
 
 		this.panel.setSize(dim);
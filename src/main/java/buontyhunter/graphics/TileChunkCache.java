@@ -0,0 +1,125 @@
+package buontyhunter.graphics;
+
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.Image;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import buontyhunter.model.TileGrid;
+import buontyhunter.model.TileManager;
+
+/**
+ * cache of the map split in square chunks of tiles, each chunk is drawn once in
+ * an image compatible with the screen and then copied with a single drawImage
+ * each frame. The least recently used chunks are dropped when the cache is
+ * full, all the chunks are dropped when the map or the size of the tiles in
+ * pixel change.
+ */
+public class TileChunkCache {
+
+    /**
+     * number of tiles of a side of a chunk
+     */
+    public static final int CHUNK_SIZE = 16;
+    /**
+     * maximum number of chunks kept in memory
+     */
+    public static final int MAX_CHUNKS = 16;
+
+    private final Map<Long, BufferedImage> chunks = new LinkedHashMap<>(MAX_CHUNKS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, BufferedImage> eldest) {
+            if (size() > MAX_CHUNKS) {
+                eldest.getValue().flush();
+                return true;
+            }
+            return false;
+        }
+    };
+    private TileGrid grid;
+    private int tileWidth;
+    private int tileHeight;
+
+    /**
+     * drop the chunks if they were drawn for another map or another tile size
+     * 
+     * @param tileManager the map to draw
+     * @param tileWidth   the width of a tile in pixel
+     * @param tileHeight  the height of a tile in pixel
+     */
+    public synchronized void validate(TileManager tileManager, int tileWidth, int tileHeight) {
+        if (this.grid != tileManager.getGrid() || this.tileWidth != tileWidth || this.tileHeight != tileHeight) {
+            invalidate();
+            this.grid = tileManager.getGrid();
+            this.tileWidth = tileWidth;
+            this.tileHeight = tileHeight;
+        }
+    }
+
+    /**
+     * drop all the chunks
+     */
+    public synchronized void invalidate() {
+        chunks.values().forEach(Image::flush);
+        chunks.clear();
+    }
+
+    /**
+     * @return the number of chunks in memory
+     */
+    public synchronized int size() {
+        return chunks.size();
+    }
+
+    /**
+     * get the image of a chunk, drawing it if it isn't in the cache
+     * 
+     * @param chunkX       the x of the chunk (tile x / CHUNK_SIZE)
+     * @param chunkY       the y of the chunk (tile y / CHUNK_SIZE)
+     * @param config       the configuration of the screen where the chunk is
+     *                     drawn
+     * @param assetManager the provider of the images of the tiles
+     * @return the image of the chunk
+     */
+    public synchronized Image getChunk(int chunkX, int chunkY, GraphicsConfiguration config,
+            SwingAssetProvider assetManager) {
+        long key = ((long) chunkX << 32) | (chunkY & 0xffffffffL);
+        var chunk = chunks.get(key);
+        if (chunk == null) {
+            chunk = renderChunk(chunkX, chunkY, config, assetManager);
+            // the tiles of a streamed map that isn't loaded yet are drawn again
+            // once they are in memory
+            if (grid.isResident(chunkX * CHUNK_SIZE, chunkY * CHUNK_SIZE)) {
+                chunks.put(key, chunk);
+            }
+        }
+        return chunk;
+    }
+
+    private BufferedImage renderChunk(int chunkX, int chunkY, GraphicsConfiguration config,
+            SwingAssetProvider assetManager) {
+        int width = CHUNK_SIZE * tileWidth;
+        int height = CHUNK_SIZE * tileHeight;
+        BufferedImage chunk = config != null
+                ? config.createCompatibleImage(width, height, Transparency.TRANSLUCENT)
+                : new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+
+        Graphics2D g = chunk.createGraphics();
+        try {
+            int firstX = chunkX * CHUNK_SIZE;
+            int firstY = chunkY * CHUNK_SIZE;
+            for (int j = 0; j < CHUNK_SIZE && firstY + j < grid.getHeight(); j++) {
+                for (int i = 0; i < CHUNK_SIZE && firstX + i < grid.getWidth(); i++) {
+                    g.drawImage(assetManager.getImage(grid.getImage(firstX + i, firstY + j)), i * tileWidth,
+                            j * tileHeight, null);
+                }
+            }
+        } finally {
+            g.dispose();
+        }
+        return chunk;
+    }
+}
@@ -111,16 +111,16 @@ public class PlayerInputController implements InputComponent {
 		}
 
 		player.setVel(vel);
-		var pos = new Point2d(player.getPos().x, player.getPos().y + 1); // +1 per simulare lo shift che c'è nel disegno
+		var pos = player.getPos();
+		// +1 per simulare lo shift che c'è nel disegno
+		int nextX = (int) (pos.x + vel.x);
+		int nextY = (int) (pos.y + 1 + vel.y);
 
-		if (w.getTileManager().getTileFromPosition(pos.sum(vel)).isPresent()) {
-			if (w.getTileManager().getTileFromPosition(pos.sum(vel)).get().isSolid()
-					|| w.getTileManager().getTileFromPosition(pos.sum(vel)).get().isObstacle()) {
-				return;
-			}
+		if (w.getTileManager().isSolid(nextX, nextY) || w.getTileManager().isObstacle(nextX, nextY)) {
+			return;
 		}
-		pos = new Point2d(player.getPos().x, player.getPos().y);
 		player.setPos(pos.sum(vel));
+		w.getFighterGrid().update((FighterEntity) player);
 	}
 
 	private void instanceAttack(PlayerEntity player, int x, int y) {
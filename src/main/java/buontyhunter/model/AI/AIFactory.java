@@ -20,7 +20,19 @@ public interface AIFactory {
         /**
          * BFS path finder
          */
-        BFS
+        BFS,
+        /**
+         * Jump Point Search path finder
+         */
+        JPS,
+        /**
+         * hierarchical (HPA*) path finder
+         */
+        HPA,
+        /**
+         * incremental (D* Lite) path finder, for an entity chasing a moving target
+         */
+        DStarLite
     }
 
     /**
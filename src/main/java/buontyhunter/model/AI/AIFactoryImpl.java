@@ -17,6 +17,12 @@ public class AIFactoryImpl implements AIFactory {
                 return PathFinderFactory.createAStarPathFinder(useCache);
             case BFS:
                 return PathFinderFactory.createBFSPathFinder(useCache);
+            case JPS:
+                return PathFinderFactory.createJumpPointPathFinder(useCache);
+            case HPA:
+                return PathFinderFactory.createHierarchicalPathFinder(useCache);
+            case DStarLite:
+                return PathFinderFactory.createDStarLitePathFinder();
             default:
                 return null;
         }
@@ -36,7 +36,7 @@ public class AttackHelper {
         boolean attack = false;
         if (millisecondSinceLastCheck > millisecondCheck) {
             millisecondSinceLastCheck = 0;
-            attack = PercentageHelper.match(probability.p(millisecondSinceLastAttach) * 100);
+            attack = isAttackTime(millisecondSinceLastAttach);
             if (attack) {
                 millisecondSinceLastAttach = 0;
             }
@@ -45,6 +45,46 @@ public class AttackHelper {
         return attack;
     }
 
+    /**
+     * Check if the item attacks at a check of the timers, the probability grows
+     * with the time since the last attack
+     * 
+     * @param millisecondSinceLastAttach the millisecond since last attach
+     * @return if the item attacks
+     */
+    public boolean isAttackTime(long millisecondSinceLastAttach) {
+        return PercentageHelper.match(probability.p(millisecondSinceLastAttach) * 100);
+    }
+
+    /**
+     * Get the milliseconds between two checks of the timers
+     * 
+     * @return the milliseconds between two checks
+     */
+    public long getCheckInterval() {
+        return millisecondCheck;
+    }
+
+    /**
+     * Get the millisecond since last check
+     * 
+     * @return the millisecond since last check
+     */
+    public long getMillisecondSinceLastCheck() {
+        return millisecondSinceLastCheck;
+    }
+
+    /**
+     * Set the timers of the attack, used when they were kept somewhere else
+     * 
+     * @param millisecondSinceLastAttach the millisecond since last attach
+     * @param millisecondSinceLastCheck  the millisecond since last check
+     */
+    public void setTimers(long millisecondSinceLastAttach, long millisecondSinceLastCheck) {
+        this.millisecondSinceLastAttach = millisecondSinceLastAttach;
+        this.millisecondSinceLastCheck = millisecondSinceLastCheck;
+    }
+
     /**
      * Get the millisecond since last attach
      * 
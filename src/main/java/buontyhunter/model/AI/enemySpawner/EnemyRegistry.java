@@ -2,6 +2,7 @@ package buontyhunter.model.AI.enemySpawner;
 
 import buontyhunter.common.Point2d;
 import buontyhunter.model.EnemyEntity;
+import buontyhunter.model.EnemyStore;
 import buontyhunter.model.World;
 
 import java.util.List;
@@ -15,16 +16,26 @@ public interface EnemyRegistry {
      * 
      * @param pos  the position of the enemy
      * @param conf the configuration of the enemy
+     * @return the enemy added
      */
-    void addEnemy(Point2d pos, EnemyConfiguration conf);
+    EnemyEntity addEnemy(Point2d pos, EnemyConfiguration conf);
 
     /**
-     * this method is used to get the list of the enemies
+     * this method is used to get the list of the enemies, the list can't be
+     * modified and it's not changed by the enemies added or removed later
      * 
      * @return the list of the enemies
      */
     List<EnemyEntity> getEnemies();
 
+    /**
+     * this method is used to get the store that keeps the state of the enemies
+     * in arrays, for the loops over all of them
+     * 
+     * @return the store of the enemies
+     */
+    EnemyStore getStore();
+
     /**
      * this method is used to get the enemy with the passed id
      * 
@@ -1,7 +1,6 @@
 package buontyhunter.model.AI.enemySpawner;
 
 import java.util.List;
-import java.util.stream.Collectors;
 import java.util.*;
 
 import buontyhunter.common.Point2d;
@@ -9,6 +8,7 @@ import buontyhunter.common.Logger.AppLogger;
 import buontyhunter.common.Logger.LogType;
 import buontyhunter.core.GameFactory;
 import buontyhunter.model.EnemyEntity;
+import buontyhunter.model.EnemyStore;
 import buontyhunter.model.World;
 import buontyhunter.model.EnemyManager.EnemyIdentifierManager;
 import buontyhunter.model.EnemyManager.EnemyIdentifierManagerImpl;
@@ -18,21 +18,35 @@ import buontyhunter.model.EnemyManager.EnemyIdentifierManagerImpl;
  */
 public class EnemyRegistryImpl implements EnemyRegistry {
     private Map<Integer, EnemyEntity> enemies = new HashMap<>();
+    /**
+     * the enemies as a list that can't be modified, built again only when an
+     * enemy is added or removed
+     */
+    private List<EnemyEntity> enemyList = List.of();
+    private final EnemyStore store = new EnemyStore();
     private EnemyIdentifierManager enemyIdManger = new EnemyIdentifierManagerImpl();
     private EnemySpawner enemySpawner = new EnemySpawnerFromDistance();
     private boolean spawnActive = true;
 
     @Override
-    public void addEnemy(Point2d pos, EnemyConfiguration conf) {
+    public EnemyEntity addEnemy(Point2d pos, EnemyConfiguration conf) {
         var gameFactory = GameFactory.getInstance();
         var enemy = gameFactory.createEnemy(pos, conf, enemyIdManger.getIdentifier());
         enemies.put(enemy.getEnemyIdentifier(), enemy);
+        store.add(enemy);
+        enemyList = List.copyOf(enemies.values());
         AppLogger.getLogger().log("adding enemy" + enemy.getEnemyIdentifier(), LogType.MODEL);
+        return enemy;
     }
 
     @Override
     public List<EnemyEntity> getEnemies() {
-        return enemies.values().stream().collect(Collectors.toList());
+        return enemyList;
+    }
+
+    @Override
+    public EnemyStore getStore() {
+        return store;
     }
 
     @Override
@@ -42,7 +56,11 @@ public class EnemyRegistryImpl implements EnemyRegistry {
 
     @Override
     public void removeEnemy(int id) {
-        enemies.remove(id);
+        var enemy = enemies.remove(id);
+        if (enemy != null) {
+            store.remove(enemy);
+            enemyList = List.copyOf(enemies.values());
+        }
         AppLogger.getLogger().log("removing enemy" + id, LogType.MODEL);
     }
 
@@ -64,6 +82,8 @@ public class EnemyRegistryImpl implements EnemyRegistry {
 
     public void clearEnemy() {
         enemies.clear();
+        store.clear();
+        enemyList = List.of();
     }
 
     @Override
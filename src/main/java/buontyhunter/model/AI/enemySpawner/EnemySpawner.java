@@ -1,9 +1,6 @@
 package buontyhunter.model.AI.enemySpawner;
 
-import java.util.List;
 import java.util.Optional;
-import java.util.Random;
-import java.util.stream.Collectors;
 import buontyhunter.common.Point2d;
 import buontyhunter.model.World;
 
@@ -28,26 +25,11 @@ public interface EnemySpawner {
      * @return the point where the enemy will be spawned
      */
     static Optional<Point2d> generatePoint(EnemyConfiguration conf, World w) {
-        var maxDistanceFromPlayer = conf.getMaxSpawnDistanceFromPlayer();
-        var minDistanceFromPlayer = conf.getMinSpawnDistanceFromPlayer();
         var playerPos = w.getPlayer().getPos();
-
-        var tilesAvailable = w.getTileManager().getTiles().stream()
-                .flatMap(List::stream)
-                .filter(t -> t.isTraversable())
-                .filter(t -> t.getPoint().deltaX(playerPos) < maxDistanceFromPlayer
-                        && t.getPoint().deltaX(playerPos) > minDistanceFromPlayer
-                        && t.getPoint().deltaY(playerPos) < maxDistanceFromPlayer
-                        && t.getPoint().deltaY(playerPos) > minDistanceFromPlayer)
-                .collect(Collectors.toList());
-
-        if (tilesAvailable.size() == 0) {
-            return Optional.empty();
-        }
-
-        var random = new Random();
-        var tile = tilesAvailable.get(random.nextInt(tilesAvailable.size()));
-        return Optional.of(tile.getPoint());
-
+        // a traversable cell more than the min distance and less than the max
+        // distance far from the player on both axes, from where the enemy can
+        // reach the player
+        return w.getTileManager().getRandomReachableCell(playerPos, playerPos,
+                conf.getMinSpawnDistanceFromPlayer(), conf.getMaxSpawnDistanceFromPlayer());
     }
 }
@@ -28,9 +28,7 @@ public class EnemySpawnerFixed implements EnemySpawner {
                         e -> enemyConfFactory.random())
                 .forEach(
                         enemyConfiguration -> w.addEnemy(
-                                EnemySpawner.generatePoint(enemyConfiguration, w).isPresent()
-                                        ? EnemySpawner.generatePoint(enemyConfiguration, w).get()
-                                        : new Point2d(0, 0),
+                                EnemySpawner.generatePoint(enemyConfiguration, w).orElseGet(() -> new Point2d(0, 0)),
                                 enemyConfiguration));
     }
 
@@ -11,7 +11,7 @@ import java.util.*;
 public class EnemySpawnerFromDistance implements EnemySpawner {
 
     /**
-     * max number of enemies in the world
+     * max number of enemies in the world, the dormant ones included
      */
     private int maxEnemyNumber = 6;
     /**
@@ -41,7 +41,8 @@ public class EnemySpawnerFromDistance implements EnemySpawner {
 
     @Override
     public void spawn(World w) {
-        var enemyNum = getEnemyNumber(w.getEnemies().size());
+        // the dormant enemies wake up when the player comes back
+        var enemyNum = getEnemyNumber(w.getEnemies().size() + w.getSimulationLOD().getDormantEnemies());
         if (enemyNum > 0 && canSpawn(w)) {
             for (int i = 0; i < enemyNum; i++) {
                 createEnemy(w);
@@ -3,6 +3,7 @@ package buontyhunter.model.AI.pathFinding;
 import buontyhunter.common.Point2d;
 import buontyhunter.common.Vector2d;
 import buontyhunter.model.FighterEntity;
+import buontyhunter.model.TileGrid;
 import buontyhunter.model.World;
 
 /**
@@ -10,6 +11,18 @@ import buontyhunter.model.World;
  */
 public class AIEnemyFollowPathHelper extends AIFollowPathHelper {
 
+    /**
+     * the enemies farther than this many times the range of their weapon from
+     * the player follow the flow field of the world instead of their own path
+     */
+    private static final int FLOW_FIELD_RANGES = 2;
+
+    /**
+     * the length of the path on the flow field, -1 when the last move used the
+     * path finder
+     */
+    private int fieldPathDistance = -1;
+
     /**
      * constructor
      * 
@@ -30,13 +43,86 @@ public class AIEnemyFollowPathHelper extends AIFollowPathHelper {
      */
     public Point2d followPlayer(FighterEntity enemy, Vector2d speed, World world) {
         var currentPos = enemy.getPos();
-        var tiles = world.getTileManager().getTiles();
+        var tiles = world.getTileManager().getGrid();
+        var field = world.getPlayerFlowField();
+
+        int cell = getFieldCell(currentPos, field, tiles);
+        if (cell < 0) {
+            // the player can't be reached
+            fieldPathDistance = 0;
+            resetPath();
+            return currentPos.duplicate();
+        }
+        int distance = field.getDistance(cell % tiles.getWidth(), cell / tiles.getWidth());
+        if (distance > FLOW_FIELD_RANGES * enemy.getWeapon().getRange()) {
+            fieldPathDistance = distance + 1;
+            resetPath();
+            return followField(currentPos, cell, speed, field, tiles);
+        }
 
+        fieldPathDistance = -1;
         Point2d targetPoint = getTargetPosition(enemy, world);
 
         return moveItem(currentPos, targetPoint, speed, tiles);
     }
 
+    @Override
+    public int getLastPathDistance() {
+        return fieldPathDistance >= 0 ? fieldPathDistance : super.getLastPathDistance();
+    }
+
+    /**
+     * get the cell of a position on the flow field: the reached cell nearest to
+     * the player among the rounded coordinates
+     * 
+     * @return the index of the cell, -1 if none of them reaches the player
+     */
+    private int getFieldCell(Point2d pos, FlowField field, TileGrid tiles) {
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int x = (int) Math.floor(pos.x); x <= (int) Math.ceil(pos.x); x++) {
+            for (int y = (int) Math.floor(pos.y); y <= (int) Math.ceil(pos.y); y++) {
+                int distance = field.getDistance(x, y);
+                if (distance >= 0 && distance < bestDistance) {
+                    best = y * tiles.getWidth() + x;
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * move along the flow field: first to the cell of the position, then to the
+     * next cells toward the player while there is speed left
+     */
+    private Point2d followField(Point2d currentPos, int cell, Vector2d speed, FlowField field, TileGrid tiles) {
+        int width = tiles.getWidth();
+        var movement = currentPos.duplicate();
+        var speedLeft = speed.duplicate();
+        while (speedLeft.x > 0 || speedLeft.y > 0) {
+            var next = new Point2d(cell % width, cell / width);
+            var absDeltaX = Math.abs(next.x - movement.x);
+            var absDeltaY = Math.abs(next.y - movement.y);
+            if (absDeltaX > 0 || absDeltaY > 0) {
+                movement = moveTowards(movement, next, speedLeft, tiles);
+                speedLeft = new Vector2d(
+                        Math.max(speedLeft.x - absDeltaX, 0),
+                        Math.max(speedLeft.y - absDeltaY, 0));
+                if (!movement.equals(next)) {
+                    break;
+                }
+            }
+            int nextCell = field.getNextStep(cell % width, cell / width);
+            if (nextCell == cell) {
+                // the player's cell
+                break;
+            }
+            cell = nextCell;
+        }
+        return movement;
+    }
+
     /**
      * found the best position from where attack the player
      * 
@@ -56,29 +142,25 @@ public class AIEnemyFollowPathHelper extends AIFollowPathHelper {
         while (range >= 0 || !(foundTopX && foundTopY && foundBottomX && foundBottomY)) {
             if (!foundTopX) {
                 topX = (int) (playerPos.x + range);
-                var tile = w.getTileManager().getTileFromPosition(new Point2d(topX, playerPos.y));
-                if (tile.isPresent() && tile.get().isTraversable()) {
+                if (w.getTileManager().isTraversable(topX, (int) playerPos.y)) {
                     foundTopX = true;
                 }
             }
             if (!foundTopY) {
                 topY = (int) (playerPos.y + range);
-                var tile = w.getTileManager().getTileFromPosition(new Point2d(playerPos.x, topY));
-                if (tile.isPresent() && tile.get().isTraversable()) {
+                if (w.getTileManager().isTraversable((int) playerPos.x, topY)) {
                     foundTopY = true;
                 }
             }
             if (!foundBottomX) {
                 bottomX = (int) (playerPos.x - range);
-                var tile = w.getTileManager().getTileFromPosition(new Point2d(bottomX, playerPos.y));
-                if (tile.isPresent() && tile.get().isTraversable()) {
+                if (w.getTileManager().isTraversable(bottomX, (int) playerPos.y)) {
                     foundBottomX = true;
                 }
             }
             if (!foundBottomY) {
                 bottomY = (int) (playerPos.y - range);
-                var tile = w.getTileManager().getTileFromPosition(new Point2d(playerPos.x, bottomY));
-                if (tile.isPresent() && tile.get().isTraversable()) {
+                if (w.getTileManager().isTraversable((int) playerPos.x, bottomY)) {
                     foundBottomY = true;
                 }
             }
@@ -1,11 +1,11 @@
 package buontyhunter.model.AI.pathFinding;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 import buontyhunter.common.Point2d;
 import buontyhunter.common.Vector2d;
-import buontyhunter.model.Tile;
-import buontyhunter.model.TileType;
+import buontyhunter.model.TileGrid;
 
 /**
  * this class is used to help the AI to follow a path
@@ -18,6 +18,14 @@ public class AIFollowPathHelper {
     Iterator<Point2d> pathIterator;
     Point2d nextPoint = null;
     List<Point2d> actualPath = new ArrayList<>();
+    private boolean asynchronous = false;
+    private CompletableFuture<List<Point2d>> pendingPath;
+    /**
+     * the path found by a worker and taken by collectPath, followed from the
+     * next move
+     */
+    private List<Point2d> collectedPath;
+    private Point2d pathDestination;
 
     /**
      * Create a new AI follow path helper
@@ -29,6 +37,44 @@ public class AIFollowPathHelper {
         pathIterator = emptyIterator();
     }
 
+    /**
+     * set if the paths are searched by the PathfindingService: the item keeps
+     * following its previous path until the new one is taken by collectPath,
+     * and searches a new path only when the destination changes or the path
+     * ends. The moves never wait for a worker
+     * 
+     * @param asynchronous true to search the paths on the worker threads
+     */
+    public void setAsynchronous(boolean asynchronous) {
+        this.asynchronous = asynchronous;
+    }
+
+    /**
+     * check if a path is being searched by the PathfindingService
+     * 
+     * @return true if a path was requested and not followed yet
+     */
+    public boolean isPathPending() {
+        return pendingPath != null || collectedPath != null;
+    }
+
+    /**
+     * take the path requested to the PathfindingService if a worker has found
+     * it, without waiting for it; the next move follows it. The owner of the
+     * helper calls it at a fixed point of the tick, so the paths followed in a
+     * tick don't change while the moves are planned
+     * 
+     * @return true if a path was taken
+     */
+    public boolean collectPath() {
+        if (pendingPath == null || !pendingPath.isDone()) {
+            return false;
+        }
+        collectedPath = pendingPath.join();
+        pendingPath = null;
+        return true;
+    }
+
     /**
      * get next point for follow the destination from the current position based on
      * the speed of the entity
@@ -39,9 +85,11 @@ public class AIFollowPathHelper {
      * @param map         map of the game
      * @return new position of the item
      */
-    public Point2d moveItem(Point2d current, Point2d destination, Vector2d speed, List<List<Tile>> map) {
+    public Point2d moveItem(Point2d current, Point2d destination, Vector2d speed, TileGrid map) {
         var movement = current.duplicate();
-        if (!canUsePreviousIterator(current, destination)) {
+        if (asynchronous) {
+            updateAsynchronousPath(current, destination, map);
+        } else if (!canUsePreviousIterator(current, destination)) {
             generateIterator(current, destination, map, new HashSet<>());
         }
         this.current = current;
@@ -100,8 +148,37 @@ public class AIFollowPathHelper {
         return actualPath.size();
     }
 
-    private boolean isTileWater(List<List<Tile>> map, Point2d pos) {
-        return map.get((int) pos.y).get((int) pos.x).getType() == TileType.water;
+    /**
+     * move straight toward a point, each axis at most by its speed
+     * 
+     * @param current current position
+     * @param next    the point to reach
+     * @param speed   speed of the item
+     * @param map     map of the game
+     * @return new position of the item
+     */
+    Point2d moveTowards(Point2d current, Point2d next, Vector2d speed, TileGrid map) {
+        var deltaX = next.x - current.x;
+        var deltaY = next.y - current.y;
+        var movement = current.duplicate().sum(new Vector2d(
+                Math.min(speed.x, Math.abs(deltaX)) * Math.signum(deltaX),
+                Math.min(speed.y, Math.abs(deltaY)) * Math.signum(deltaY)));
+        // if pass over water then directly go to next point
+        return isTileWater(map, movement) ? next.duplicate() : movement;
+    }
+
+    /**
+     * forget the current path, the next move searches a new one
+     */
+    void resetPath() {
+        actualPath = new ArrayList<>();
+        pathIterator = emptyIterator();
+        nextPoint = null;
+        pathDestination = null;
+    }
+
+    private boolean isTileWater(TileGrid map, Point2d pos) {
+        return map.isWater((int) pos.x, (int) pos.y);
     }
 
     private Iterator<Point2d> emptyIterator() {
@@ -118,9 +195,31 @@ public class AIFollowPathHelper {
         };
     }
 
-    private void generateIterator(Point2d current, Point2d destination, List<List<Tile>> map,
+    private void generateIterator(Point2d current, Point2d destination, TileGrid map,
             Set<Point2d> invalidPoints) {
-        actualPath = pathFinder.findPath(current, destination, map, invalidPoints);
+        setPath(pathFinder.findPath(current, destination, map, invalidPoints));
+    }
+
+    private void updateAsynchronousPath(Point2d current, Point2d destination, TileGrid map) {
+        if (collectedPath != null) {
+            setPath(collectedPath);
+            collectedPath = null;
+        }
+        if (pendingPath != null) {
+            // the previous path is followed while the worker searches
+            return;
+        }
+        // an empty or finished path isn't searched again until the destination changes
+        boolean pathEnded = nextPoint == null && actualPath.size() > 1 && !current.equals(destination);
+        if (!destination.equals(pathDestination) || pathEnded) {
+            pathDestination = destination.duplicate();
+            pendingPath = PathfindingService.getInstance().findPath(pathFinder, current, destination, map,
+                    new HashSet<>());
+        }
+    }
+
+    private void setPath(List<Point2d> path) {
+        actualPath = path;
         if (actualPath.size() > 1) {
             pathIterator = actualPath.iterator();
             nextPoint = pathIterator.next();
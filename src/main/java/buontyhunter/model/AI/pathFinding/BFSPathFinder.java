@@ -3,7 +3,7 @@ package buontyhunter.model.AI.pathFinding;
 import java.util.*;
 
 import buontyhunter.common.Point2d;
-import buontyhunter.model.Tile;
+import buontyhunter.model.TileGrid;
 
 /**
  * Breadth-first search path finder
@@ -24,14 +24,7 @@ public class BFSPathFinder implements PathFinder {
     }
 
     /**
-     * Clear the cache
-     */
-    public void clearCache() {
-        parentMap.clear();
-    }
-
-    /**
-     * Set if the path finder should use cache
+     * Set if the path finder should use the shared PathCache
      * 
      * @param useCache if the path finder should use cache
      */
@@ -40,21 +33,32 @@ public class BFSPathFinder implements PathFinder {
     }
 
     @Override
-    public List<Point2d> findPath(Point2d initialPoint, Point2d finalPoint, List<List<Tile>> map,
+    public List<Point2d> findPath(Point2d initialPoint, Point2d finalPoint, TileGrid map,
             Set<Point2d> invalidPoints) {
         // Initialize visited set and queue for BFS
         initialPoint = initialPoint.duplicate().floorCoordinates();
         finalPoint = finalPoint.duplicate().floorCoordinates();
         Set<Point2d> visited = new HashSet<>();
         Queue<Point2d> queue = new LinkedList<>();
-        if (!useCache)
-            parentMap.clear();
+        parentMap.clear();
 
         if (isSolid(initialPoint, map) || isSolid(finalPoint, map)) {
             // No path found
             return Collections.emptyList();
         }
 
+        boolean cacheable = useCache && invalidPoints.isEmpty()
+                && map.contains((int) initialPoint.x, (int) initialPoint.y)
+                && map.contains((int) finalPoint.x, (int) finalPoint.y);
+        int start = cacheable ? map.index((int) initialPoint.x, (int) initialPoint.y) : -1;
+        int goal = cacheable ? map.index((int) finalPoint.x, (int) finalPoint.y) : -1;
+        if (cacheable) {
+            var cached = PathCache.getInstance().get(getClass(), map, start, goal);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
         queue.offer(finalPoint);
         visited.add(finalPoint);
         parentMap.put(finalPoint, null);
@@ -62,9 +66,10 @@ public class BFSPathFinder implements PathFinder {
         while (!queue.isEmpty()) {
             Point2d current = queue.poll();
 
-            if (current.equals(initialPoint) || isPointAlreadySolved(current)) {
+            if (current.equals(initialPoint)) {
                 // Path found, reconstruct the path and return it
-                return reconstructPath(parentMap, initialPoint);
+                var path = reconstructPath(parentMap, initialPoint);
+                return cacheable ? PathCache.getInstance().put(getClass(), map, start, goal, path) : path;
             }
 
             for (Point2d neighbor : getNeighbors(current, map)) {
@@ -80,22 +85,13 @@ public class BFSPathFinder implements PathFinder {
         return Collections.emptyList();
     }
 
-    private boolean isPointAlreadySolved(Point2d point) {
-        if (!useCache)
-            return false;
-
-        return parentMap.containsKey(point);
-    }
-
-    private boolean isSolid(Point2d point, List<List<Tile>> map) {
-        return map.get((int) point.y).get((int) point.x).isSolid();
+    private boolean isSolid(Point2d point, TileGrid map) {
+        return map.isSolid((int) point.x, (int) point.y);
     }
 
     // Helper method to get neighboring points
-    private List<Point2d> getNeighbors(Point2d point, List<List<Tile>> map) {
+    private List<Point2d> getNeighbors(Point2d point, TileGrid map) {
         List<Point2d> neighbors = new ArrayList<>();
-        int rows = map.size();
-        int cols = map.get(0).size();
 
         int[] dx = { -1, 1, 0 }; // Changes in x for left, right, up, down
         int[] dy = { -1, 1, 0 }; // Changes in y for left, right, up, down
@@ -105,7 +101,7 @@ public class BFSPathFinder implements PathFinder {
                 int newX = (int) point.x + dx[i];
                 int newY = (int) point.y + dy[j];
 
-                if (newX >= 0 && newX < rows && newY >= 0 && newY < cols) {
+                if (map.contains(newX, newY)) {
                     neighbors.add(new Point2d(newX, newY));
                 }
             }
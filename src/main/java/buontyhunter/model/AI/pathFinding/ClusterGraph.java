@@ -0,0 +1,667 @@
+package buontyhunter.model.AI.pathFinding;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.model.TileGrid;
+
+/**
+ * abstract graph used by the hierarchical path finder (HPA*): the map is split
+ * in square clusters, the walkable openings on the border between two
+ * clusters (entrances) get one or two transitions, each made of a node on both
+ * sides, and the nodes of the same cluster are linked by the length of the
+ * shortest path between them inside the cluster.
+ *
+ * A long query is answered on this graph, then each abstract edge is refined
+ * with a search limited to one cluster. The moves are the ones of GridAStar (8
+ * neighbours, diagonals allowed next to obstacles, each move costs 1).
+ *
+ * The graph of a map is built when the map is loaded (see
+ * HierarchicalPathFinder.prepare), or on its first query for the maps that
+ * aren't loaded by MapCache, and shared by all the path finders; repair
+ * rebuilds the part of a cluster after its tiles change, and the clusters of
+ * the chunks loaded or evicted by a streamed map are repaired automatically.
+ *
+ * The buffers of a query belong to the thread that runs it, so the queries of
+ * different threads run at the same time under the read lock of the graph;
+ * only the repairs, that change the graph, take the write lock.
+ */
+class ClusterGraph {
+
+    /**
+     * the number of columns and rows of cells of a cluster, four clusters for
+     * each side of a chunk of the map
+     */
+    static final int CLUSTER_SIZE = TileGrid.CHUNK_SIZE / 4;
+    /**
+     * the entrances shorter than this get a single transition in the middle,
+     * the longer ones a transition at each end
+     */
+    private static final int MAX_SINGLE_TRANSITION = 6;
+    private static final int CLUSTER_CELLS = CLUSTER_SIZE * CLUSTER_SIZE;
+    private static final int CLOSED = 1;
+
+    private static final Map<TileGrid, ClusterGraph> GRAPHS = new WeakHashMap<>();
+
+    private final TileGrid map;
+    private final int clustersX;
+    private final int clustersY;
+    private final List<List<Node>> clusters;
+    private final boolean[] resident;
+    private volatile int version;
+    private final List<Node> nodes = new ArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * the buffers of the queries of each thread
+     */
+    private final ThreadLocal<Query> queries = ThreadLocal.withInitial(Query::new);
+    /**
+     * the buffers used to build and repair the graph, under the write lock
+     */
+    private final Query builder = new Query();
+
+    private static class Node {
+        private final int cell;
+        private final int cluster;
+        /**
+         * the border of the transition (see borderOf)
+         */
+        private final int border;
+        private final List<Edge> edges = new ArrayList<>();
+        private int id;
+
+        Node(int cell, int cluster, int border) {
+            this.cell = cell;
+            this.cluster = cluster;
+            this.border = border;
+        }
+    }
+
+    private static class Edge {
+        private final Node to;
+        private final int cost;
+        private final boolean inter;
+
+        Edge(Node to, int cost, boolean inter) {
+            this.to = to;
+            this.cost = cost;
+            this.inter = inter;
+        }
+    }
+
+    /**
+     * get the graph of a map, building it on the first request
+     *
+     * @param map the map
+     * @return the shared graph of the map
+     */
+    static ClusterGraph of(TileGrid map) {
+        synchronized (GRAPHS) {
+            return GRAPHS.computeIfAbsent(map, ClusterGraph::new);
+        }
+    }
+
+    private ClusterGraph(TileGrid map) {
+        this.map = map;
+        this.clustersX = (map.getWidth() + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        this.clustersY = (map.getHeight() + CLUSTER_SIZE - 1) / CLUSTER_SIZE;
+        this.clusters = new ArrayList<>(clustersX * clustersY);
+        this.resident = new boolean[clustersX * clustersY];
+        for (int i = 0; i < clustersX * clustersY; i++) {
+            clusters.add(new ArrayList<>());
+            resident[i] = map.isResident((i % clustersX) * CLUSTER_SIZE, (i / clustersX) * CLUSTER_SIZE);
+        }
+        this.version = map.getVersion();
+        for (int cy = 0; cy < clustersY; cy++) {
+            for (int cx = 0; cx < clustersX; cx++) {
+                buildBorder(cx, cy, true);
+                buildBorder(cx, cy, false);
+            }
+        }
+        for (int cluster = 0; cluster < clusters.size(); cluster++) {
+            buildIntraEdges(cluster);
+        }
+        renumber();
+    }
+
+    /**
+     * @return the number of nodes of the abstract graph
+     */
+    int getNodeCount() {
+        lock.readLock().lock();
+        try {
+            return nodes.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * rebuild the transitions on the borders of the cluster of a cell and the
+     * edges of the clusters around it, after the tiles of the cluster changed
+     *
+     * @param x the column of the cell
+     * @param y the row of the cell
+     */
+    void repair(int x, int y) {
+        lock.writeLock().lock();
+        try {
+            repairClusters(List.of(clusterOf(x, y)));
+            renumber();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * find a path on the abstract graph and refine it, with the buffers of the
+     * current thread
+     *
+     * @return the cells of the path from the start to the goal, null if the
+     *         graph can't connect them or the invalid points close the path it
+     *         found (a search on the whole map may still find another one)
+     */
+    int[] findPath(int startX, int startY, int goalX, int goalY, Set<Point2d> invalidPoints) {
+        if (version != map.getVersion()) {
+            lock.writeLock().lock();
+            try {
+                refreshStreamedClusters();
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return queries.get().findPath(startX, startY, goalX, goalY, invalidPoints);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int heuristic(int cell, int goal) {
+        int width = map.getWidth();
+        return Math.max(Math.abs(cell % width - goal % width), Math.abs(cell / width - goal / width));
+    }
+
+    private static int[] toArray(List<Integer> path) {
+        int[] cells = new int[path.size()];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = path.get(i);
+        }
+        return cells;
+    }
+
+    private int clusterOf(int x, int y) {
+        return (y / CLUSTER_SIZE) * clustersX + x / CLUSTER_SIZE;
+    }
+
+    /**
+     * @return the id of the border between a cluster and its right (vertical
+     *         border) or bottom neighbour
+     */
+    private int borderOf(int cx, int cy, boolean vertical) {
+        return ((cy * clustersX + cx) << 1) | (vertical ? 0 : 1);
+    }
+
+    private boolean isWalkable(int x, int y) {
+        return map.contains(x, y) && !map.isSolid(x, y);
+    }
+
+    /**
+     * create the transitions on the border between a cluster and its right
+     * (vertical) or bottom neighbour: the straight openings get one or two
+     * transitions, the cells that can cross the border only diagonally get one
+     * each. The vertical borders also take the diagonal crossings at the
+     * corners of the cluster.
+     */
+    private void buildBorder(int cx, int cy, boolean vertical) {
+        if (vertical ? cx + 1 >= clustersX : cy + 1 >= clustersY) {
+            return;
+        }
+        int border = borderOf(cx, cy, vertical);
+        int first = vertical ? cy * CLUSTER_SIZE : cx * CLUSTER_SIZE;
+        int last = Math.min(first + CLUSTER_SIZE, vertical ? map.getHeight() : map.getWidth()) - 1;
+        // the line of cells of this cluster next to the border
+        int line = (vertical ? cx : cy) * CLUSTER_SIZE + CLUSTER_SIZE - 1;
+        int segmentStart = -1;
+        for (int i = first; i <= last + 1; i++) {
+            boolean open = i <= last && isStraightOpen(line, i, vertical);
+            if (open && segmentStart < 0) {
+                segmentStart = i;
+            } else if (!open && segmentStart >= 0) {
+                int segmentEnd = i - 1;
+                if (segmentEnd - segmentStart + 1 < MAX_SINGLE_TRANSITION) {
+                    addTransition(line, (segmentStart + segmentEnd) / 2, line + 1, (segmentStart + segmentEnd) / 2,
+                            vertical, border);
+                } else {
+                    addTransition(line, segmentStart, line + 1, segmentStart, vertical, border);
+                    addTransition(line, segmentEnd, line + 1, segmentEnd, vertical, border);
+                }
+                segmentStart = -1;
+            }
+        }
+        int diagonalFirst = vertical ? first - 1 : first;
+        int diagonalLast = vertical ? last + 1 : last;
+        for (int i = first; i <= last; i++) {
+            if (!isWalkable(vertical, line, i) || isStraightOpen(line, i, vertical)) {
+                continue;
+            }
+            for (int j = i - 1; j <= i + 1; j += 2) {
+                if (j >= diagonalFirst && j <= diagonalLast && isWalkable(vertical, line + 1, j)
+                        && !isStraightOpen(line, j, vertical)) {
+                    addTransition(line, i, line + 1, j, vertical, border);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return true if the cells on both sides of a border are walkable
+     */
+    private boolean isStraightOpen(int line, int i, boolean vertical) {
+        return isWalkable(vertical, line, i) && isWalkable(vertical, line + 1, i);
+    }
+
+    /**
+     * isWalkable with the coordinates of a border: the column (for a vertical
+     * border) or row of the cell and its position along the border
+     */
+    private boolean isWalkable(boolean vertical, int line, int i) {
+        return vertical ? isWalkable(line, i) : isWalkable(i, line);
+    }
+
+    private void addTransition(int lineA, int iA, int lineB, int iB, boolean vertical, int border) {
+        int width = map.getWidth();
+        int ax = vertical ? lineA : iA;
+        int ay = vertical ? iA : lineA;
+        int bx = vertical ? lineB : iB;
+        int by = vertical ? iB : lineB;
+        var a = new Node(ay * width + ax, clusterOf(ax, ay), border);
+        var b = new Node(by * width + bx, clusterOf(bx, by), border);
+        a.edges.add(new Edge(b, 1, true));
+        b.edges.add(new Edge(a, 1, true));
+        clusters.get(a.cluster).add(a);
+        clusters.get(b.cluster).add(b);
+    }
+
+    private void buildIntraEdges(int cluster) {
+        var clusterNodes = clusters.get(cluster);
+        for (var node : clusterNodes) {
+            node.edges.removeIf(edge -> !edge.inter);
+        }
+        for (var node : clusterNodes) {
+            builder.search(cluster, node.cell, Collections.emptySet());
+            for (var other : clusterNodes) {
+                if (other != node && builder.isReached(cluster, other.cell)) {
+                    node.edges.add(new Edge(other, builder.distanceTo(cluster, other.cell), false));
+                }
+            }
+        }
+    }
+
+    /**
+     * rebuild the borders with a transition that can have a cell in the changed
+     * clusters: their vertical borders and the ones of the clusters above and
+     * below them (the diagonal crossings at the corners), their horizontal
+     * borders; then the intra edges of all the clusters that can have a node of
+     * these borders
+     *
+     * @param changed the indices of the changed clusters
+     */
+    private void repairClusters(Collection<Integer> changed) {
+        var verticalBorders = new LinkedHashSet<Integer>();
+        var horizontalBorders = new LinkedHashSet<Integer>();
+        var affected = new LinkedHashSet<Integer>();
+        for (int changedCluster : changed) {
+            int cx = changedCluster % clustersX;
+            int cy = changedCluster / clustersX;
+            for (int y = Math.max(0, cy - 1); y <= Math.min(clustersY - 1, cy + 1); y++) {
+                for (int x = Math.max(0, cx - 1); x <= cx; x++) {
+                    verticalBorders.add(y * clustersX + x);
+                }
+            }
+            if (cy > 0) {
+                horizontalBorders.add(changedCluster - clustersX);
+            }
+            horizontalBorders.add(changedCluster);
+            for (int y = Math.max(0, cy - 2); y <= Math.min(clustersY - 1, cy + 2); y++) {
+                for (int x = Math.max(0, cx - 1); x <= Math.min(clustersX - 1, cx + 1); x++) {
+                    affected.add(y * clustersX + x);
+                }
+            }
+        }
+        var borders = new HashSet<Integer>();
+        verticalBorders.forEach(cluster -> borders.add(borderOf(cluster % clustersX, cluster / clustersX, true)));
+        horizontalBorders.forEach(cluster -> borders.add(borderOf(cluster % clustersX, cluster / clustersX, false)));
+        for (int cluster : affected) {
+            clusters.get(cluster).removeIf(node -> borders.contains(node.border));
+        }
+        verticalBorders.forEach(cluster -> buildBorder(cluster % clustersX, cluster / clustersX, true));
+        horizontalBorders.forEach(cluster -> buildBorder(cluster % clustersX, cluster / clustersX, false));
+        for (int cluster : affected) {
+            buildIntraEdges(cluster);
+        }
+    }
+
+    /**
+     * repair the clusters whose chunks were loaded or evicted since the last
+     * query
+     */
+    private void refreshStreamedClusters() {
+        if (version == map.getVersion()) {
+            return;
+        }
+        version = map.getVersion();
+        var changed = new ArrayList<Integer>();
+        for (int i = 0; i < resident.length; i++) {
+            boolean now = map.isResident((i % clustersX) * CLUSTER_SIZE, (i / clustersX) * CLUSTER_SIZE);
+            if (now != resident[i]) {
+                resident[i] = now;
+                changed.add(i);
+            }
+        }
+        if (!changed.isEmpty()) {
+            repairClusters(changed);
+            renumber();
+        }
+    }
+
+    private void renumber() {
+        nodes.clear();
+        for (var clusterNodes : clusters) {
+            for (var node : clusterNodes) {
+                node.id = nodes.size();
+                nodes.add(node);
+            }
+        }
+    }
+
+    private int toLocal(int cluster, int cell) {
+        int width = map.getWidth();
+        return (cell / width - (cluster / clustersX) * CLUSTER_SIZE) * CLUSTER_SIZE
+                + cell % width - (cluster % clustersX) * CLUSTER_SIZE;
+    }
+
+    /**
+     * the buffers of the searches of a thread, on the clusters and on the
+     * abstract graph
+     */
+    private final class Query {
+        // buffers of the searches inside a cluster, indexed by local cell
+        private final int[] distance = new int[CLUSTER_CELLS];
+        private final int[] parent = new int[CLUSTER_CELLS];
+        private final int[] stamp = new int[CLUSTER_CELLS];
+        private final int[] blocked = new int[CLUSTER_CELLS];
+        private final int[] queue = new int[CLUSTER_CELLS];
+        private int generation;
+
+        // buffers of the searches on the abstract graph, indexed by node id, the
+        // lowest bit of the stamps is the CLOSED flag
+        private int[] nodeCost = new int[0];
+        private int[] nodeFrom = new int[0];
+        private int[] nodeStamp = new int[0];
+        private int[] goalCost = new int[0];
+        private int[] goalStamp = new int[0];
+        private long[] open = new long[0];
+        private int openSize;
+        private int nodeGeneration;
+
+        /**
+         * see ClusterGraph.findPath, the graph must not change during the
+         * query
+         */
+        int[] findPath(int startX, int startY, int goalX, int goalY, Set<Point2d> invalidPoints) {
+            int width = map.getWidth();
+            int start = startY * width + startX;
+            int goal = goalY * width + goalX;
+            int startCluster = clusterOf(startX, startY);
+            int goalCluster = clusterOf(goalX, goalY);
+
+            if (startCluster == goalCluster) {
+                search(startCluster, start, invalidPoints);
+                if (isReached(startCluster, goal)) {
+                    var path = new ArrayList<Integer>();
+                    path.add(start);
+                    appendRefined(path, startCluster, goal);
+                    return toArray(path);
+                }
+            }
+
+            // temporary nodes for the start and the goal
+            int count = nodes.size();
+            int startId = count;
+            int goalId = count + 1;
+            prepareNodes(count + 2);
+            search(goalCluster, goal, invalidPoints);
+            for (var node : clusters.get(goalCluster)) {
+                int distance = distanceTo(goalCluster, node.cell);
+                if (distance >= 0) {
+                    goalCost[node.id] = distance;
+                    goalStamp[node.id] = nodeGeneration;
+                }
+            }
+            search(startCluster, start, invalidPoints);
+
+            reach(startId, -1, 0, heuristic(start, goal));
+            while (openSize > 0) {
+                int current = popNode();
+                if ((nodeStamp[current] & CLOSED) != 0) {
+                    continue;
+                }
+                nodeStamp[current] |= CLOSED;
+                if (current == goalId) {
+                    break;
+                }
+                if (current == startId) {
+                    for (var node : clusters.get(startCluster)) {
+                        int distance = distanceTo(startCluster, node.cell);
+                        if (distance >= 0) {
+                            relax(current, node.id, distance, node.cell, goal);
+                        }
+                    }
+                    continue;
+                }
+                if (goalStamp[current] == nodeGeneration) {
+                    relax(current, goalId, goalCost[current], goal, goal);
+                }
+                for (var edge : nodes.get(current).edges) {
+                    relax(current, edge.to.id, edge.cost, edge.to.cell, goal);
+                }
+            }
+            if (nodeStamp[goalId] != (nodeGeneration | CLOSED)) {
+                return null;
+            }
+
+            // abstract path, from the goal back to the start
+            var abstractPath = new ArrayList<Integer>();
+            for (int id = goalId; id != -1; id = nodeFrom[id]) {
+                abstractPath.add(id == startId ? start : id == goalId ? goal : nodes.get(id).cell);
+            }
+            Collections.reverse(abstractPath);
+
+            var path = new ArrayList<Integer>();
+            path.add(start);
+            for (int i = 1; i < abstractPath.size(); i++) {
+                int a = abstractPath.get(i - 1);
+                int b = abstractPath.get(i);
+                if (a == b) {
+                    continue;
+                }
+                int ax = a % width;
+                int ay = a / width;
+                int bx = b % width;
+                int by = b / width;
+                int cluster = clusterOf(ax, ay);
+                if (cluster != clusterOf(bx, by)) {
+                    // transition between two clusters, the cells are adjacent
+                    if (!invalidPoints.isEmpty() && invalidPoints.contains(new Point2d(bx, by))) {
+                        return null;
+                    }
+                    path.add(b);
+                    continue;
+                }
+                search(cluster, a, invalidPoints);
+                if (!isReached(cluster, b)) {
+                    return null;
+                }
+                appendRefined(path, cluster, b);
+            }
+            return toArray(path);
+        }
+
+        private void prepareNodes(int count) {
+            if (nodeStamp.length < count) {
+                nodeCost = new int[count];
+                nodeFrom = new int[count];
+                nodeStamp = new int[count];
+                goalCost = new int[count];
+                goalStamp = new int[count];
+                open = new long[count * 4];
+                nodeGeneration = 0;
+            }
+            nodeGeneration += 2;
+            if (nodeGeneration <= 0) {
+                Arrays.fill(nodeStamp, 0);
+                Arrays.fill(goalStamp, 0);
+                nodeGeneration = 2;
+            }
+            openSize = 0;
+        }
+
+        private void relax(int current, int next, int cost, int cell, int goal) {
+            int nextCost = nodeCost[current] + cost;
+            if (nodeStamp[next] == (nodeGeneration | CLOSED)
+                    || (nodeStamp[next] == nodeGeneration && nextCost >= nodeCost[next])) {
+                return;
+            }
+            reach(next, current, nextCost, nextCost + heuristic(cell, goal));
+        }
+
+        private void reach(int node, int from, int cost, int estimate) {
+            nodeCost[node] = cost;
+            nodeFrom[node] = from;
+            nodeStamp[node] = nodeGeneration;
+            pushNode(((long) estimate << 32) | node);
+        }
+
+        /**
+         * push a node in the open set, the estimate is in the high half of the entry
+         * so the entries are ordered by it; a node reached again with a lower cost
+         * is pushed again and the old entry is skipped when it's popped
+         */
+        private void pushNode(long entry) {
+            if (openSize == open.length) {
+                open = Arrays.copyOf(open, open.length * 2);
+            }
+            int pos = openSize++;
+            while (pos > 0 && open[(pos - 1) >>> 1] > entry) {
+                open[pos] = open[(pos - 1) >>> 1];
+                pos = (pos - 1) >>> 1;
+            }
+            open[pos] = entry;
+        }
+
+        private int popNode() {
+            int node = (int) open[0];
+            long last = open[--openSize];
+            int pos = 0;
+            int half = openSize >>> 1;
+            while (pos < half) {
+                int child = 2 * pos + 1;
+                if (child + 1 < openSize && open[child + 1] < open[child]) {
+                    child++;
+                }
+                if (last <= open[child]) {
+                    break;
+                }
+                open[pos] = open[child];
+                pos = child;
+            }
+            open[pos] = last;
+            return node;
+        }
+
+
+        /**
+         * breadth first search inside a cluster, the results are read with
+         * isReached, distanceTo and appendRefined until the next search
+         */
+        private void search(int cluster, int source, Set<Point2d> invalidPoints) {
+            int width = map.getWidth();
+            int originX = (cluster % clustersX) * CLUSTER_SIZE;
+            int originY = (cluster / clustersX) * CLUSTER_SIZE;
+            int sizeX = Math.min(CLUSTER_SIZE, map.getWidth() - originX);
+            int sizeY = Math.min(CLUSTER_SIZE, map.getHeight() - originY);
+            generation++;
+            for (var point : invalidPoints) {
+                int x = (int) point.x - originX;
+                int y = (int) point.y - originY;
+                if (x >= 0 && y >= 0 && x < sizeX && y < sizeY) {
+                    blocked[y * CLUSTER_SIZE + x] = generation;
+                }
+            }
+            int sourceLocal = (source / width - originY) * CLUSTER_SIZE + source % width - originX;
+            int head = 0;
+            int tail = 0;
+            stamp[sourceLocal] = generation;
+            distance[sourceLocal] = 0;
+            parent[sourceLocal] = -1;
+            queue[tail++] = sourceLocal;
+            while (head < tail) {
+                int current = queue[head++];
+                int x = current % CLUSTER_SIZE;
+                int y = current / CLUSTER_SIZE;
+                for (int i = 0; i < GridAStar.DX.length; i++) {
+                    int nx = x + GridAStar.DX[i];
+                    int ny = y + GridAStar.DY[i];
+                    if (nx < 0 || ny < 0 || nx >= sizeX || ny >= sizeY) {
+                        continue;
+                    }
+                    int next = ny * CLUSTER_SIZE + nx;
+                    if (stamp[next] == generation || blocked[next] == generation
+                            || map.isSolid(originX + nx, originY + ny)) {
+                        continue;
+                    }
+                    stamp[next] = generation;
+                    distance[next] = distance[current] + 1;
+                    parent[next] = current;
+                    queue[tail++] = next;
+                }
+            }
+        }
+
+        private boolean isReached(int cluster, int cell) {
+            return stamp[toLocal(cluster, cell)] == generation;
+        }
+
+        private int distanceTo(int cluster, int cell) {
+            int local = toLocal(cluster, cell);
+            return stamp[local] == generation ? distance[local] : -1;
+        }
+
+        /**
+         * append to the path the cells of the last search from its source
+         * (excluded) to a cell
+         */
+        private void appendRefined(List<Integer> path, int cluster, int cell) {
+            int width = map.getWidth();
+            int originX = (cluster % clustersX) * CLUSTER_SIZE;
+            int originY = (cluster / clustersX) * CLUSTER_SIZE;
+            int insertAt = path.size();
+            for (int local = toLocal(cluster, cell); parent[local] != -1; local = parent[local]) {
+                path.add(insertAt, (originY + local / CLUSTER_SIZE) * width + originX + local % CLUSTER_SIZE);
+            }
+        }
+    }
+}
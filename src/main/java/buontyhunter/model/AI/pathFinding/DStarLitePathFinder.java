@@ -0,0 +1,24 @@
+package buontyhunter.model.AI.pathFinding;
+
+/**
+ * incremental path finder for an entity chasing a moving target: same input
+ * and output of the A* path finder, but the search is kept between two calls
+ * and only repaired when the target or the entity change cell (see
+ * GridDStarLite). Each entity needs its own instance, the paths are not cached.
+ */
+public class DStarLitePathFinder extends AStarPathFinder {
+
+    private final GridDStarLite engine = new GridDStarLite();
+
+    /**
+     * Create a new incremental path finder
+     */
+    public DStarLitePathFinder() {
+        super(false);
+    }
+
+    @Override
+    GridAStar getEngine() {
+        return engine;
+    }
+}
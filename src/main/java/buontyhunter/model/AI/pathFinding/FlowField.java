@@ -0,0 +1,186 @@
+package buontyhunter.model.AI.pathFinding;
+
+import java.util.Arrays;
+
+import buontyhunter.model.TileGrid;
+
+/**
+ * distance field toward a target cell, shared by all the entities that follow
+ * it: a single breadth first search from the target stores for each cell its
+ * distance and the next cell toward the target, so each entity reads its next
+ * step in O(1) instead of running its own search.
+ *
+ * The moves are the ones of GridAStar (8 neighbours, diagonals allowed next to
+ * obstacles, each move costs 1). The search stops at the given radius: the
+ * enemies farther than that are despawned anyway. The field is computed again
+ * only when the target changes cell or the map changes (another map, or a
+ * streamed chunk loaded or evicted).
+ *
+ * A move changes the column and the row by at most 1, so the cells within the
+ * radius are in the square of side 2 * radius + 1 centred on the target: the
+ * field is stored in that window, indexed from its corner, and its size
+ * depends on the radius instead of on the map.
+ *
+ * Only the game thread updates it, in World.processAiInput before the
+ * EnemyAIPhase; while the phase plans the moves the planning tasks on the
+ * workers only read it, and the update happens before they start (the pool
+ * is invoked by the game thread after it), so they see the complete field.
+ * It must not be updated while the phase is running.
+ */
+public class FlowField {
+
+    private final int radius;
+    private final int side;
+    private TileGrid map;
+    private int mapVersion;
+    private int width;
+    private int targetX = -1;
+    private int targetY = -1;
+    /**
+     * the cell of the map at the corner of the window
+     */
+    private int originX;
+    private int originY;
+    private final int[] distance;
+    /**
+     * the next cell toward the target, as an index in the window
+     */
+    private final int[] next;
+    /**
+     * generation of the search that reached the cell
+     */
+    private final int[] stamp;
+    private final int[] queue;
+    private int generation;
+    private int updates;
+
+    /**
+     * @param radius the maximum distance, in moves, from the target
+     */
+    public FlowField(int radius) {
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        int cells = side * side;
+        this.distance = new int[cells];
+        this.next = new int[cells];
+        this.stamp = new int[cells];
+        this.queue = new int[cells];
+    }
+
+    /**
+     * move the target of the field, the field is computed again only if the
+     * target cell or the map changed
+     *
+     * @param map     the map
+     * @param targetX the column of the target
+     * @param targetY the row of the target
+     * @return true if the field was computed again
+     */
+    public boolean update(TileGrid map, int targetX, int targetY) {
+        if (map == this.map && map.getVersion() == mapVersion && targetX == this.targetX
+                && targetY == this.targetY) {
+            return false;
+        }
+        this.map = map;
+        this.mapVersion = map.getVersion();
+        this.width = map.getWidth();
+        this.targetX = targetX;
+        this.targetY = targetY;
+        compute();
+        updates++;
+        return true;
+    }
+
+    /**
+     * @return the distance, in moves, from a cell to the target, -1 if the
+     *         target can't be reached within the radius of the field
+     */
+    public int getDistance(int x, int y) {
+        if (map == null || !map.contains(x, y)) {
+            return -1;
+        }
+        int cell = toWindow(x, y);
+        return cell >= 0 && stamp[cell] == generation ? distance[cell] : -1;
+    }
+
+    /**
+     * @return the index of the next cell toward the target (the target itself
+     *         for the target), -1 if the target can't be reached within the
+     *         radius of the field
+     */
+    public int getNextStep(int x, int y) {
+        if (map == null || !map.contains(x, y)) {
+            return -1;
+        }
+        int cell = toWindow(x, y);
+        if (cell < 0 || stamp[cell] != generation) {
+            return -1;
+        }
+        int step = next[cell];
+        return (originY + step / side) * width + originX + step % side;
+    }
+
+    /**
+     * @return the number of times the field was computed
+     */
+    public int getUpdates() {
+        return updates;
+    }
+
+    /**
+     * @return the index in the window of a cell of the map, -1 if the cell is
+     *         outside the window
+     */
+    private int toWindow(int x, int y) {
+        int wx = x - originX;
+        int wy = y - originY;
+        if (wx < 0 || wy < 0 || wx >= side || wy >= side) {
+            return -1;
+        }
+        return wy * side + wx;
+    }
+
+    private void compute() {
+        originX = targetX - radius;
+        originY = targetY - radius;
+        generation++;
+        if (generation <= 0) {
+            Arrays.fill(stamp, 0);
+            generation = 1;
+        }
+        if (!map.contains(targetX, targetY)) {
+            return;
+        }
+
+        int target = toWindow(targetX, targetY);
+        int head = 0;
+        int tail = 0;
+        stamp[target] = generation;
+        distance[target] = 0;
+        next[target] = target;
+        queue[tail++] = target;
+        while (head < tail) {
+            int current = queue[head++];
+            if (distance[current] == radius) {
+                continue;
+            }
+            int x = originX + current % side;
+            int y = originY + current / side;
+            for (int i = 0; i < GridAStar.DX.length; i++) {
+                int nx = x + GridAStar.DX[i];
+                int ny = y + GridAStar.DY[i];
+                if (!map.contains(nx, ny)) {
+                    continue;
+                }
+                int cell = toWindow(nx, ny);
+                if (stamp[cell] == generation || map.isSolid(nx, ny)) {
+                    continue;
+                }
+                stamp[cell] = generation;
+                distance[cell] = distance[current] + 1;
+                next[cell] = current;
+                queue[tail++] = cell;
+            }
+        }
+    }
+}
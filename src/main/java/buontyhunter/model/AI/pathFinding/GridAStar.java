@@ -0,0 +1,485 @@
+package buontyhunter.model.AI.pathFinding;
+
+import java.util.Arrays;
+import java.util.Set;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.model.TileGrid;
+
+/**
+ * A* search on the cells of a TileGrid identified by their index
+ * (y * width + x). All the state of the search lives in arrays that are
+ * allocated once and reused by every search: a cell belongs to the current
+ * search only if its stamp is the current generation, so nothing has to be
+ * cleared between two searches. The open set is a binary heap of cell indices
+ * with the position of each cell in the heap, so a cheaper path to an open
+ * cell moves it up the heap instead of adding a duplicate.
+ *
+ * On maps up to DENSE_LIMIT cells (the shipped maps among them) the state of
+ * a cell is at its index. On bigger maps an engine would keep about eight arrays as big as the map for
+ * each thread, so the state is kept in nodes created only for the cells
+ * reached by the search, found through an open addressing table from the
+ * index of the cell: the memory grows with the explored cells, not with the
+ * map.
+ *
+ * The moves, their costs and the heuristic are the ones of AStarPathFinder:
+ * 8 neighbours, each move costs 1, manhattan distance to the goal. The
+ * subclasses can change the successors of a cell (expand) and the heuristic.
+ *
+ * An instance is not thread safe, AStarPathFinder keeps one for each thread.
+ */
+class GridAStar {
+
+    private static final int OPEN = 1;
+    private static final int CLOSED = 2;
+    /**
+     * the maps with more cells than this keep the state of the search in
+     * nodes found through a hash table; it's above the open world map (500x500
+     * cells), whose arrays take about 9MB for each thread
+     */
+    static final int DENSE_LIMIT = 1 << 19;
+    private static final int INITIAL_NODES = 1024;
+    static final int[] DX = { -1, 0, 1, -1, 1, -1, 0, 1 };
+    static final int[] DY = { -1, -1, -1, 0, 0, 1, 1, 1 };
+
+    /*
+     * the state of the nodes, a node is the index of a cell on the maps up to
+     * DENSE_LIMIT cells and a position assigned by the hash table otherwise
+     */
+    private float[] g = new float[0];
+    private float[] f = new float[0];
+    private int[] parent = new int[0];
+    /**
+     * generation of the search that reached the cell, the state (OPEN or
+     * CLOSED) is in the lowest 2 bits
+     */
+    private int[] stamp = new int[0];
+    /**
+     * generation of the search for which the cell is an invalid point
+     */
+    private int[] blocked = new int[0];
+    private int[] heap = new int[0];
+    private int[] heapPos = new int[0];
+    private boolean dense;
+    /**
+     * the cell of each node and the number of nodes of the current search,
+     * used only by the hash table
+     */
+    private int[] cells = new int[0];
+    private int nodes;
+    /**
+     * open addressing table from the cells to their nodes, an entry belongs to
+     * the current search only if its stamp is the current generation
+     */
+    private int[] tableCells = new int[0];
+    private int[] tableNodes = new int[0];
+    private int[] tableStamp = new int[0];
+    private int heapSize;
+    private int generation;
+    private TileGrid map;
+    private int width;
+    private int goalX;
+    private int goalY;
+    private int[] path = new int[0];
+    private int pathLength;
+    private int expanded;
+
+    /**
+     * search a path between two cells; the cells must be inside the map
+     *
+     * @param map           the map
+     * @param startX        the column of the first cell
+     * @param startY        the row of the first cell
+     * @param goalX         the column of the last cell
+     * @param goalY         the row of the last cell
+     * @param invalidPoints the cells that can't be crossed besides the solid
+     *                      ones
+     * @return true if a path was found, its cells are read with getPathLength
+     *         and getPathCell
+     */
+    boolean search(TileGrid map, int startX, int startY, int goalX, int goalY, Set<Point2d> invalidPoints) {
+        this.map = map;
+        this.width = map.getWidth();
+        this.goalX = goalX;
+        this.goalY = goalY;
+        prepare(width * map.getHeight());
+        pathLength = 0;
+        expanded = 0;
+        for (var point : invalidPoints) {
+            int x = (int) point.x;
+            int y = (int) point.y;
+            if (x == point.x && y == point.y && map.contains(x, y)) {
+                blocked[node(map.index(x, y))] = generation;
+            }
+        }
+
+        int start = map.index(startX, startY);
+        int goal = map.index(goalX, goalY);
+        int first = node(start);
+        heapSize = 0;
+        g[first] = 0;
+        f[first] = heuristic(startX, startY, goalX, goalY);
+        parent[first] = -1;
+        stamp[first] = generation | OPEN;
+        push(first);
+
+        try {
+            while (heapSize > 0) {
+                int node = pop();
+                stamp[node] = generation | CLOSED;
+                expanded++;
+                int current = dense ? node : cells[node];
+                if (current == goal) {
+                    storePath(goal);
+                    return true;
+                }
+                expand(current, current % width, current / width);
+            }
+            return false;
+        } finally {
+            this.map = null;
+        }
+    }
+
+    /**
+     * add to the open set the successors of a cell that was just closed
+     *
+     * @param current the index of the cell
+     * @param x       the column of the cell
+     * @param y       the row of the cell
+     */
+    void expand(int current, int x, int y) {
+        float nextG = getCost(current) + 1;
+        for (int i = 0; i < DX.length; i++) {
+            int nx = x + DX[i];
+            int ny = y + DY[i];
+            if (isWalkable(nx, ny)) {
+                open(ny * width + nx, nx, ny, current, nextG);
+            }
+        }
+    }
+
+    /**
+     * @return true if the cell is inside the map, not solid and not an invalid
+     *         point of the current search
+     */
+    final boolean isWalkable(int x, int y) {
+        if (!map.contains(x, y) || map.isSolid(x, y)) {
+            return false;
+        }
+        int node = find(y * width + x);
+        return node < 0 || blocked[node] != generation;
+    }
+
+    /**
+     * reach a cell from another one, the parent can be any cell in a straight or
+     * diagonal line from it
+     *
+     * @param next   the index of the reached cell
+     * @param nx     the column of the reached cell
+     * @param ny     the row of the reached cell
+     * @param from   the index of the parent cell
+     * @param nextG  the cost of the path to the reached cell through the parent
+     */
+    final void open(int next, int nx, int ny, int from, float nextG) {
+        int node = node(next);
+        int state = stamp[node];
+        if (state == (generation | CLOSED)) {
+            return;
+        }
+        if (state == (generation | OPEN)) {
+            if (nextG < g[node]) {
+                g[node] = nextG;
+                f[node] = nextG + heuristic(nx, ny, goalX, goalY);
+                parent[node] = from;
+                siftUp(heapPos[node]);
+            }
+        } else {
+            g[node] = nextG;
+            f[node] = nextG + heuristic(nx, ny, goalX, goalY);
+            parent[node] = from;
+            stamp[node] = generation | OPEN;
+            push(node);
+        }
+    }
+
+    /**
+     * @return the cost of the path to a closed or open cell
+     */
+    final float getCost(int cell) {
+        return g[find(cell)];
+    }
+
+    /**
+     * @return the cell from which a closed or open cell was reached, -1 for the
+     *         first cell
+     */
+    final int getParent(int cell) {
+        return parent[find(cell)];
+    }
+
+    final int getWidth() {
+        return width;
+    }
+
+    final int getGoalX() {
+        return goalX;
+    }
+
+    final int getGoalY() {
+        return goalY;
+    }
+
+    /**
+     * @return the estimated cost from a cell to the goal
+     */
+    float heuristic(int x, int y, int goalX, int goalY) {
+        return Math.abs(x - goalX) + Math.abs(y - goalY);
+    }
+
+    /**
+     * @return the number of cells of the last path found, including the first
+     *         and the last one
+     */
+    int getPathLength() {
+        return pathLength;
+    }
+
+    /**
+     * @param i the position of the cell in the path, from 0 (the first cell)
+     * @return the index of the cell
+     */
+    int getPathCell(int i) {
+        return path[i];
+    }
+
+    /**
+     * store a path found by another search, so it's read like the paths of
+     * this engine
+     *
+     * @param cells the indices of the cells of the path, from the first one
+     */
+    final void setPath(int[] cells) {
+        if (path.length < cells.length) {
+            path = new int[cells.length];
+        }
+        System.arraycopy(cells, 0, path, 0, cells.length);
+        pathLength = cells.length;
+        expanded = 0;
+    }
+
+    /**
+     * @return the number of cells expanded by the last search
+     */
+    int getExpanded() {
+        return expanded;
+    }
+
+    /**
+     * @return true if the last search kept the state of the cells at their
+     *         index, false if it used the hash table
+     */
+    boolean isDense() {
+        return dense;
+    }
+
+    private void prepare(int size) {
+        dense = size <= DENSE_LIMIT;
+        if (dense) {
+            growNodes(size);
+        } else {
+            growNodes(INITIAL_NODES);
+            if (tableCells.length == 0) {
+                tableCells = new int[INITIAL_NODES * 2];
+                tableNodes = new int[INITIAL_NODES * 2];
+                tableStamp = new int[INITIAL_NODES * 2];
+            }
+            nodes = 0;
+        }
+        // the lowest 2 bits of the stamps hold the state
+        generation += 4;
+        if (generation <= 0) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(blocked, 0);
+            Arrays.fill(tableStamp, 0);
+            generation = 4;
+        }
+    }
+
+    /**
+     * make the arrays of the nodes hold at least a number of nodes, keeping
+     * the state of the current search
+     */
+    private void growNodes(int size) {
+        if (g.length >= size) {
+            return;
+        }
+        g = Arrays.copyOf(g, size);
+        f = Arrays.copyOf(f, size);
+        parent = Arrays.copyOf(parent, size);
+        stamp = Arrays.copyOf(stamp, size);
+        blocked = Arrays.copyOf(blocked, size);
+        heap = Arrays.copyOf(heap, size);
+        heapPos = Arrays.copyOf(heapPos, size);
+        cells = Arrays.copyOf(cells, size);
+    }
+
+    /**
+     * @return the node of a cell reached by the current search, -1 if it has
+     *         none
+     */
+    private int find(int cell) {
+        if (dense) {
+            return cell;
+        }
+        int mask = tableCells.length - 1;
+        for (int i = hash(cell) & mask;; i = (i + 1) & mask) {
+            if (tableStamp[i] != generation) {
+                return -1;
+            }
+            if (tableCells[i] == cell) {
+                return tableNodes[i];
+            }
+        }
+    }
+
+    /**
+     * @return the node of a cell, created if the current search hasn't reached
+     *         the cell yet
+     */
+    private int node(int cell) {
+        if (dense) {
+            return cell;
+        }
+        int mask = tableCells.length - 1;
+        int i = hash(cell) & mask;
+        for (; tableStamp[i] == generation; i = (i + 1) & mask) {
+            if (tableCells[i] == cell) {
+                return tableNodes[i];
+            }
+        }
+        int node = nodes++;
+        growNodes(nodes > g.length ? g.length * 2 : nodes);
+        cells[node] = cell;
+        stamp[node] = 0;
+        blocked[node] = 0;
+        tableCells[i] = cell;
+        tableNodes[i] = node;
+        tableStamp[i] = generation;
+        // keep the table at most half full
+        if (nodes * 2 > tableCells.length) {
+            growTable();
+        }
+        return node;
+    }
+
+    private void growTable() {
+        int size = tableCells.length * 2;
+        tableCells = new int[size];
+        tableNodes = new int[size];
+        tableStamp = new int[size];
+        int mask = size - 1;
+        for (int node = 0; node < nodes; node++) {
+            int i = hash(cells[node]) & mask;
+            while (tableStamp[i] == generation) {
+                i = (i + 1) & mask;
+            }
+            tableCells[i] = cells[node];
+            tableNodes[i] = node;
+            tableStamp[i] = generation;
+        }
+    }
+
+    private static int hash(int cell) {
+        int h = cell * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * store the path to the goal, filling the cells between a cell and its
+     * parent when they aren't adjacent
+     */
+    private void storePath(int goal) {
+        int length = 1;
+        for (int cell = goal; getParent(cell) != -1; cell = getParent(cell)) {
+            length += steps(cell, getParent(cell));
+        }
+        if (path.length < length) {
+            path = new int[length];
+        }
+        pathLength = length;
+        path[--length] = goal;
+        for (int cell = goal; getParent(cell) != -1; cell = getParent(cell)) {
+            int from = getParent(cell);
+            int x = cell % width;
+            int y = cell / width;
+            int dx = Integer.signum(from % width - x);
+            int dy = Integer.signum(from / width - y);
+            for (int step = steps(cell, from); step > 0; step--) {
+                x += dx;
+                y += dy;
+                path[--length] = y * width + x;
+            }
+        }
+    }
+
+    private int steps(int cell, int from) {
+        return Math.max(Math.abs(cell % width - from % width), Math.abs(cell / width - from / width));
+    }
+
+    private void push(int node) {
+        heap[heapSize] = node;
+        heapPos[node] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private int pop() {
+        int top = heap[0];
+        heapSize--;
+        if (heapSize > 0) {
+            heap[0] = heap[heapSize];
+            heapPos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    private void siftUp(int pos) {
+        int node = heap[pos];
+        float key = f[node];
+        while (pos > 0) {
+            int parentPos = (pos - 1) >>> 1;
+            int parentNode = heap[parentPos];
+            if (f[parentNode] <= key) {
+                break;
+            }
+            heap[pos] = parentNode;
+            heapPos[parentNode] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = node;
+        heapPos[node] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int node = heap[pos];
+        float key = f[node];
+        int half = heapSize >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < heapSize && f[heap[right]] < f[heap[child]]) {
+                child = right;
+            }
+            if (key <= f[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            heapPos[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = node;
+        heapPos[node] = pos;
+    }
+}
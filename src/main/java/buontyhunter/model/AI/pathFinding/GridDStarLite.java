@@ -0,0 +1,483 @@
+package buontyhunter.model.AI.pathFinding;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.model.TileGrid;
+
+/**
+ * incremental search for an entity chasing a moving target (moving target D*
+ * Lite): the search tree is rooted at the chaser and grows toward the target,
+ * and it's kept between two searches.
+ *
+ * When the target moves, the keys of the open cells are corrected by the km
+ * offset of D* Lite (the heuristic is measured to the target) and the search
+ * only expands the cells between the old and the new target. While the chaser
+ * is on the path from the root the rest of the path is still a shortest one;
+ * when it leaves the path, the subtree below its new cell keeps its distances
+ * (they are all smaller by the same amount, so the values are stored with an
+ * offset: the value of the root), the other cells are dropped and the search
+ * grows again from the border of the subtree. Any other change (another map,
+ * a new version of the map, other invalid points, a jump of the chaser)
+ * starts a new search.
+ *
+ * The moves are the ones of GridAStar (8 neighbours, diagonals allowed next to
+ * obstacles, each move costs 1) and the heuristic is the chebyshev distance.
+ * The state is as big as the map and belongs to a single path finder, so an
+ * instance is meant for one entity.
+ */
+class GridDStarLite extends GridAStar {
+
+    private static final int INFINITY = 1 << 29;
+    /**
+     * the offsets grow with each move of the chaser and of the target, the
+     * search starts again before they could overflow the keys
+     */
+    private static final int MAX_OFFSET = 1 << 24;
+    /**
+     * the farthest descendant of the root, in moves, that can become the new
+     * root without starting a new search
+     */
+    private static final int MAX_ROOT_MOVE = 64;
+
+    private TileGrid map;
+    private int mapVersion;
+    private int width;
+    private final Set<Point2d> invalidPoints = new HashSet<>();
+    private int root = -1;
+    private int target = -1;
+    private int km;
+
+    private int[] g = new int[0];
+    private int[] rhs = new int[0];
+    private int[] parent = new int[0];
+    private long[] key = new long[0];
+    /**
+     * the cells with this stamp are part of the search, the other ones have g
+     * and rhs infinite
+     */
+    private int[] stamp = new int[0];
+    private int generation;
+    private int[] blocked = new int[0];
+    private int blockedGeneration;
+    private int[] keep = new int[0];
+    private int keepGeneration;
+    private int[] heap = new int[0];
+    private int[] heapPos = new int[0];
+    private int heapSize;
+    /**
+     * the cells that are part of the search
+     */
+    private int[] seen = new int[0];
+    private int seenSize;
+    private int[] scratch = new int[0];
+    private int expanded;
+
+    @Override
+    boolean search(TileGrid map, int startX, int startY, int goalX, int goalY, Set<Point2d> invalidPoints) {
+        int width = map.getWidth();
+        int start = startY * width + startX;
+        int goal = goalY * width + goalX;
+        expanded = 0;
+        if (map != this.map || map.getVersion() != mapVersion || !invalidPoints.equals(this.invalidPoints)
+                || root < 0 || km > MAX_OFFSET || g[root] > MAX_OFFSET) {
+            reset(map, start, invalidPoints);
+        }
+        moveTarget(goal);
+        computeShortestPath();
+        if (start != root) {
+            // the rest of a shortest path is a shortest path, the root moves only
+            // when the chaser leaves the path
+            int[] path = getG(target) < INFINITY ? extractPath() : null;
+            int from = path == null ? -1 : indexOf(path, start);
+            if (from >= 0) {
+                setPath(Arrays.copyOfRange(path, from, path.length));
+                return true;
+            }
+            if (!moveRoot(start)) {
+                reset(map, start, invalidPoints);
+                moveTarget(goal);
+            }
+            computeShortestPath();
+        }
+        if (getG(target) >= INFINITY) {
+            return false;
+        }
+        int[] path = extractPath();
+        if (path == null) {
+            // not expected, a new search is always correct
+            reset(map, start, invalidPoints);
+            moveTarget(goal);
+            computeShortestPath();
+            path = extractPath();
+            if (path == null) {
+                return false;
+            }
+        }
+        setPath(path);
+        return true;
+    }
+
+    private void moveTarget(int goal) {
+        if (goal != target) {
+            if (target >= 0) {
+                km += heuristic(target, goal);
+            }
+            target = goal;
+        }
+    }
+
+    private static int indexOf(int[] path, int cell) {
+        for (int i = 0; i < path.length; i++) {
+            if (path[i] == cell) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return the number of cells expanded by the last search, 0 when the path
+     *         was already known
+     */
+    @Override
+    int getExpanded() {
+        return expanded;
+    }
+
+    private void reset(TileGrid map, int start, Set<Point2d> invalidPoints) {
+        this.map = map;
+        this.mapVersion = map.getVersion();
+        this.width = map.getWidth();
+        this.invalidPoints.clear();
+        this.invalidPoints.addAll(invalidPoints);
+        int cells = width * map.getHeight();
+        if (stamp.length < cells) {
+            g = new int[cells];
+            rhs = new int[cells];
+            parent = new int[cells];
+            key = new long[cells];
+            stamp = new int[cells];
+            blocked = new int[cells];
+            keep = new int[cells];
+            heap = new int[cells];
+            heapPos = new int[cells];
+            seen = new int[cells];
+            scratch = new int[cells];
+            generation = 0;
+            blockedGeneration = 0;
+            keepGeneration = 0;
+        }
+        generation++;
+        blockedGeneration++;
+        if (generation <= 0 || blockedGeneration <= 0) {
+            Arrays.fill(stamp, 0);
+            Arrays.fill(blocked, 0);
+            generation = 1;
+            blockedGeneration = 1;
+        }
+        for (var point : invalidPoints) {
+            int x = (int) point.x;
+            int y = (int) point.y;
+            if (x == point.x && y == point.y && map.contains(x, y)) {
+                blocked[y * width + x] = blockedGeneration;
+            }
+        }
+        heapSize = 0;
+        seenSize = 0;
+        km = 0;
+        target = -1;
+        root = start;
+        see(root);
+        rhs[root] = 0;
+        push(root, calculateKey(root));
+    }
+
+    /**
+     * make a descendant of the root the new root, keeping its subtree
+     *
+     * @return false if the cell is not a descendant of the root
+     */
+    private boolean moveRoot(int newRoot) {
+        if (stamp[newRoot] != generation || g[newRoot] != rhs[newRoot] || g[newRoot] >= INFINITY) {
+            return false;
+        }
+        int cell = newRoot;
+        for (int steps = 0; cell != root; steps++) {
+            if (cell < 0 || steps > MAX_ROOT_MOVE) {
+                return false;
+            }
+            cell = parent[cell];
+        }
+
+        // mark the subtree of the new root
+        keepGeneration++;
+        if (keepGeneration <= 0) {
+            Arrays.fill(keep, 0);
+            keepGeneration = 1;
+        }
+        int head = 0;
+        int tail = 0;
+        keep[newRoot] = keepGeneration;
+        scratch[tail++] = newRoot;
+        while (head < tail) {
+            int current = scratch[head++];
+            int x = current % width;
+            int y = current / width;
+            for (int i = 0; i < DX.length; i++) {
+                int nx = x + DX[i];
+                int ny = y + DY[i];
+                if (!map.contains(nx, ny)) {
+                    continue;
+                }
+                int next = ny * width + nx;
+                if (stamp[next] == generation && parent[next] == current && keep[next] != keepGeneration) {
+                    keep[next] = keepGeneration;
+                    scratch[tail++] = next;
+                }
+            }
+        }
+
+        // drop the other cells, the ones next to the subtree are reached from it again
+        int kept = 0;
+        int dropped = 0;
+        for (int i = 0; i < seenSize; i++) {
+            int s = seen[i];
+            if (keep[s] == keepGeneration) {
+                seen[kept++] = s;
+            } else {
+                stamp[s] = 0;
+                scratch[dropped++] = s;
+            }
+        }
+        seenSize = kept;
+        heapSize = 0;
+        for (int i = 0; i < seenSize; i++) {
+            int s = seen[i];
+            heapPos[s] = -1;
+            if (g[s] != rhs[s]) {
+                push(s, calculateKey(s));
+            }
+        }
+        root = newRoot;
+        parent[root] = -1;
+        for (int i = 0; i < dropped; i++) {
+            updateVertex(scratch[i]);
+        }
+        return true;
+    }
+
+    private void computeShortestPath() {
+        while (heapSize > 0) {
+            int u = heap[0];
+            long top = key[u];
+            if (top >= calculateKey(target) && getRhs(target) == getG(target)) {
+                break;
+            }
+            long newKey = calculateKey(u);
+            if (top < newKey) {
+                key[u] = newKey;
+                siftDown(0);
+                continue;
+            }
+            expanded++;
+            int x = u % width;
+            int y = u / width;
+            if (g[u] > rhs[u]) {
+                g[u] = rhs[u];
+                remove(u);
+            } else {
+                g[u] = INFINITY;
+                updateVertex(u);
+            }
+            for (int i = 0; i < DX.length; i++) {
+                int nx = x + DX[i];
+                int ny = y + DY[i];
+                if (isFree(nx, ny)) {
+                    updateVertex(ny * width + nx);
+                }
+            }
+        }
+    }
+
+    /**
+     * compute again the rhs of a cell from its neighbours and put it in the
+     * open set if it's inconsistent
+     */
+    private void updateVertex(int s) {
+        if (s != root) {
+            int best = INFINITY;
+            int bestParent = -1;
+            int x = s % width;
+            int y = s / width;
+            // only the free cells are part of the search
+            for (int i = 0; i < DX.length; i++) {
+                int nx = x + DX[i];
+                int ny = y + DY[i];
+                if (map.contains(nx, ny)) {
+                    int n = ny * width + nx;
+                    if (stamp[n] == generation && g[n] + 1 < best) {
+                        best = g[n] + 1;
+                        bestParent = n;
+                    }
+                }
+            }
+            if (stamp[s] != generation) {
+                if (best >= INFINITY) {
+                    return;
+                }
+                see(s);
+            }
+            rhs[s] = Math.min(best, INFINITY);
+            parent[s] = bestParent;
+        }
+        if (g[s] != rhs[s]) {
+            long newKey = calculateKey(s);
+            if (heapPos[s] >= 0) {
+                long oldKey = key[s];
+                key[s] = newKey;
+                if (newKey < oldKey) {
+                    siftUp(heapPos[s]);
+                } else {
+                    siftDown(heapPos[s]);
+                }
+            } else {
+                push(s, newKey);
+            }
+        } else if (heapPos[s] >= 0) {
+            remove(s);
+        }
+    }
+
+    /**
+     * walk from the target to the root along the smallest values
+     *
+     * @return the cells from the root to the target, null if the values don't
+     *         lead to the root
+     */
+    private int[] extractPath() {
+        int length = g[target] - g[root] + 1;
+        if (length <= 0) {
+            return null;
+        }
+        int[] path = new int[length];
+        int cell = target;
+        path[length - 1] = cell;
+        for (int i = length - 2; i >= 0; i--) {
+            int x = cell % width;
+            int y = cell / width;
+            int best = -1;
+            for (int j = 0; j < DX.length; j++) {
+                int nx = x + DX[j];
+                int ny = y + DY[j];
+                if (map.contains(nx, ny) && getG(ny * width + nx) == g[cell] - 1) {
+                    best = ny * width + nx;
+                    break;
+                }
+            }
+            if (best < 0) {
+                return null;
+            }
+            cell = best;
+            path[i] = cell;
+        }
+        return cell == root ? path : null;
+    }
+
+    private boolean isFree(int x, int y) {
+        return map.contains(x, y) && !map.isSolid(x, y) && blocked[y * width + x] != blockedGeneration;
+    }
+
+    private void see(int s) {
+        stamp[s] = generation;
+        g[s] = INFINITY;
+        rhs[s] = INFINITY;
+        parent[s] = -1;
+        heapPos[s] = -1;
+        seen[seenSize++] = s;
+    }
+
+    private int getG(int s) {
+        return stamp[s] == generation ? g[s] : INFINITY;
+    }
+
+    private int getRhs(int s) {
+        return stamp[s] == generation ? rhs[s] : INFINITY;
+    }
+
+    /**
+     * @return the key of a cell, the two values of D* Lite in the two halves of
+     *         a long so the keys are compared as numbers; the ties are broken
+     *         toward the bigger values, closer to the target (the costs never
+     *         grow here, a changed map starts a new search)
+     */
+    private long calculateKey(int s) {
+        int value = Math.min(getG(s), getRhs(s));
+        return ((long) (value + heuristic(s, target) + km) << 32) | (INFINITY - value);
+    }
+
+    private int heuristic(int from, int to) {
+        return Math.max(Math.abs(from % width - to % width), Math.abs(from / width - to / width));
+    }
+
+    private void push(int s, long newKey) {
+        key[s] = newKey;
+        heap[heapSize] = s;
+        heapPos[s] = heapSize;
+        heapSize++;
+        siftUp(heapSize - 1);
+    }
+
+    private void remove(int s) {
+        int pos = heapPos[s];
+        heapPos[s] = -1;
+        heapSize--;
+        if (pos < heapSize) {
+            int last = heap[heapSize];
+            heap[pos] = last;
+            heapPos[last] = pos;
+            siftUp(pos);
+            siftDown(heapPos[last]);
+        }
+    }
+
+    private void siftUp(int pos) {
+        int cell = heap[pos];
+        long cellKey = key[cell];
+        while (pos > 0) {
+            int parentPos = (pos - 1) >>> 1;
+            int parentCell = heap[parentPos];
+            if (key[parentCell] <= cellKey) {
+                break;
+            }
+            heap[pos] = parentCell;
+            heapPos[parentCell] = pos;
+            pos = parentPos;
+        }
+        heap[pos] = cell;
+        heapPos[cell] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int cell = heap[pos];
+        long cellKey = key[cell];
+        int half = heapSize >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < heapSize && key[heap[right]] < key[heap[child]]) {
+                child = right;
+            }
+            if (cellKey <= key[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            heapPos[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = cell;
+        heapPos[cell] = pos;
+    }
+}
@@ -0,0 +1,29 @@
+package buontyhunter.model.AI.pathFinding;
+
+import java.util.Set;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.model.TileGrid;
+
+/**
+ * hierarchical search: the path is found on the ClusterGraph of the map and
+ * refined cluster by cluster. The graph has a transition for every way across
+ * a border, so when it can't connect two cells there is no path; the invalid
+ * points aren't part of the graph, when they close the abstract path the
+ * search falls back to a Jump Point Search on the whole map.
+ *
+ * The refined paths are near optimal, the transitions between the clusters
+ * can make them a few cells longer than the JPS ones.
+ */
+class GridHierarchicalSearch extends GridJumpPointSearch {
+
+    @Override
+    boolean search(TileGrid map, int startX, int startY, int goalX, int goalY, Set<Point2d> invalidPoints) {
+        int[] cells = ClusterGraph.of(map).findPath(startX, startY, goalX, goalY, invalidPoints);
+        if (cells != null) {
+            setPath(cells);
+            return true;
+        }
+        return !invalidPoints.isEmpty() && super.search(map, startX, startY, goalX, goalY, invalidPoints);
+    }
+}
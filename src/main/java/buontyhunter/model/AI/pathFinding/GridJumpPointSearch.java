@@ -0,0 +1,116 @@
+package buontyhunter.model.AI.pathFinding;
+
+/**
+ * Jump Point Search on the cells of a TileGrid: instead of opening all the
+ * neighbours of a cell it only follows the directions that can't be covered
+ * by a symmetric path through the parent, and jumps along them until it finds
+ * a cell with a forced neighbour (a jump point) or the goal. Only the jump
+ * points enter the open set, so the big open areas of the map cost a few
+ * array reads instead of thousands of heap operations.
+ *
+ * The moves are the ones of GridAStar (8 neighbours, diagonals allowed next to
+ * obstacles, each move costs 1), so the heuristic is the chebyshev distance.
+ * The path between two jump points is a straight or diagonal line and it's
+ * filled cell by cell, so the path has the same shape as the A* ones.
+ */
+class GridJumpPointSearch extends GridAStar {
+
+    @Override
+    void expand(int current, int x, int y) {
+        int from = getParent(current);
+        if (from == -1) {
+            for (int i = 0; i < DX.length; i++) {
+                jumpFrom(current, x, y, DX[i], DY[i]);
+            }
+            return;
+        }
+        int width = getWidth();
+        int dx = Integer.signum(x - from % width);
+        int dy = Integer.signum(y - from / width);
+        if (dx != 0 && dy != 0) {
+            jumpFrom(current, x, y, 0, dy);
+            jumpFrom(current, x, y, dx, 0);
+            jumpFrom(current, x, y, dx, dy);
+            if (!isWalkable(x - dx, y)) {
+                jumpFrom(current, x, y, -dx, dy);
+            }
+            if (!isWalkable(x, y - dy)) {
+                jumpFrom(current, x, y, dx, -dy);
+            }
+        } else if (dx != 0) {
+            jumpFrom(current, x, y, dx, 0);
+            if (!isWalkable(x, y + 1)) {
+                jumpFrom(current, x, y, dx, 1);
+            }
+            if (!isWalkable(x, y - 1)) {
+                jumpFrom(current, x, y, dx, -1);
+            }
+        } else {
+            jumpFrom(current, x, y, 0, dy);
+            if (!isWalkable(x + 1, y)) {
+                jumpFrom(current, x, y, 1, dy);
+            }
+            if (!isWalkable(x - 1, y)) {
+                jumpFrom(current, x, y, -1, dy);
+            }
+        }
+    }
+
+    @Override
+    float heuristic(int x, int y, int goalX, int goalY) {
+        return Math.max(Math.abs(x - goalX), Math.abs(y - goalY));
+    }
+
+    /**
+     * jump from a cell in a direction and open the jump point found, if any
+     */
+    private void jumpFrom(int current, int x, int y, int dx, int dy) {
+        int jump = jump(x + dx, y + dy, dx, dy);
+        if (jump != -1) {
+            int width = getWidth();
+            int steps = Math.max(Math.abs(jump % width - x), Math.abs(jump / width - y));
+            open(jump, jump % width, jump / width, current, getCost(current) + steps);
+        }
+    }
+
+    /**
+     * walk from a cell in a direction
+     *
+     * @return the index of the first jump point, -1 if the walk hits an obstacle
+     */
+    private int jump(int x, int y, int dx, int dy) {
+        int goalX = getGoalX();
+        int goalY = getGoalY();
+        while (true) {
+            if (!isWalkable(x, y)) {
+                return -1;
+            }
+            if (x == goalX && y == goalY) {
+                return y * getWidth() + x;
+            }
+            if (dx != 0 && dy != 0) {
+                if ((isWalkable(x - dx, y + dy) && !isWalkable(x - dx, y))
+                        || (isWalkable(x + dx, y - dy) && !isWalkable(x, y - dy))) {
+                    return y * getWidth() + x;
+                }
+                // a diagonal cell is a jump point if a straight walk from it
+                // finds one
+                if (jump(x + dx, y, dx, 0) != -1 || jump(x, y + dy, 0, dy) != -1) {
+                    return y * getWidth() + x;
+                }
+            } else if (dx != 0) {
+                if ((isWalkable(x + dx, y + 1) && !isWalkable(x, y + 1))
+                        || (isWalkable(x + dx, y - 1) && !isWalkable(x, y - 1))) {
+                    return y * getWidth() + x;
+                }
+            } else {
+                if ((isWalkable(x + 1, y + dy) && !isWalkable(x + 1, y))
+                        || (isWalkable(x - 1, y + dy) && !isWalkable(x - 1, y))) {
+                    return y * getWidth() + x;
+                }
+            }
+            x += dx;
+            y += dy;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package buontyhunter.model.AI.pathFinding;
+
+import buontyhunter.model.TileGrid;
+
+/**
+ * hierarchical path finder (HPA*): same input, cache and output of the A* path
+ * finder, but the long paths are found on an abstract graph of the entrances
+ * between the clusters of the map, built once for each map, and only the
+ * segments of the abstract path are refined
+ */
+public class HierarchicalPathFinder extends AStarPathFinder {
+
+    private static final ThreadLocal<GridAStar> ENGINE = ThreadLocal.withInitial(GridHierarchicalSearch::new);
+
+    /**
+     * Create a new hierarchical path finder
+     *
+     * @param useCache if the path finder should use cache
+     */
+    public HierarchicalPathFinder(boolean useCache) {
+        super(useCache);
+    }
+
+    /**
+     * build the abstract graph of a map, so the first search on the map
+     * doesn't build it; it's called when the map is loaded
+     *
+     * @param map the map
+     */
+    public static void prepare(TileGrid map) {
+        ClusterGraph.of(map);
+    }
+
+    /**
+     * update the abstract graph of a map after some of its tiles changed and
+     * drop its cached paths; the chunks loaded or evicted by a streamed map are
+     * handled without calling it.
+     *
+     * @param map the map
+     * @param x   the column of the changed tile
+     * @param y   the row of the changed tile
+     */
+    public void repair(TileGrid map, int x, int y) {
+        if (map.contains(x, y)) {
+            ClusterGraph.of(map).repair(x, y);
+            PathCache.getInstance().invalidate(map);
+        }
+    }
+
+    @Override
+    GridAStar getEngine() {
+        return ENGINE.get();
+    }
+}
@@ -0,0 +1,25 @@
+package buontyhunter.model.AI.pathFinding;
+
+/**
+ * Jump Point Search path finder: same input, cache and output of the A* path
+ * finder (the path lists every cell, so it can be followed by
+ * AIFollowPathHelper) but it expands only the jump points of the map
+ */
+public class JumpPointPathFinder extends AStarPathFinder {
+
+    private static final ThreadLocal<GridAStar> ENGINE = ThreadLocal.withInitial(GridJumpPointSearch::new);
+
+    /**
+     * Create a new Jump Point Search path finder
+     * 
+     * @param useCache if the path finder should use cache
+     */
+    public JumpPointPathFinder(boolean useCache) {
+        super(useCache);
+    }
+
+    @Override
+    GridAStar getEngine() {
+        return ENGINE.get();
+    }
+}
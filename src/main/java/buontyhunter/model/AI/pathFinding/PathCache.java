@@ -0,0 +1,188 @@
+package buontyhunter.model.AI.pathFinding;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.model.TileGrid;
+
+/**
+ * cache of the paths found by the path finders, shared by all of them: the
+ * paths are stored by the class of the path finder, by map and by the indices
+ * of their first and last cell, so two queries from different points of the
+ * same cells share the path. Each kind of path finder has its own paths: the
+ * path of a jump point search or of a BFS isn't the one A* would find.
+ *
+ * The cache keeps the most recently used paths up to a maximum number and
+ * drops the ones older than a maximum age. A path is dropped when the map
+ * changes (a streamed chunk loaded or evicted changes the version of the map)
+ * and the paths of a map can be dropped explicitly when its tiles change.
+ *
+ * Only the paths searched without invalid points are stored, the cached lists
+ * can't be modified. All the methods are synchronized, the cache is used by
+ * the worker threads of PathfindingService too.
+ */
+public class PathCache {
+
+    /**
+     * default maximum number of paths kept in memory
+     */
+    public static final int DEFAULT_MAX_PATHS = 1024;
+    /**
+     * default maximum age of a path, in milliseconds
+     */
+    public static final long DEFAULT_MAX_AGE = 10_000;
+
+    private static final PathCache INSTANCE = new PathCache(DEFAULT_MAX_PATHS, DEFAULT_MAX_AGE);
+
+    private final int maxPaths;
+    private final long maxAgeNanos;
+    private final Map<Key, Entry> paths;
+    private long hits;
+    private long misses;
+
+    /**
+     * Create a new path cache
+     *
+     * @param maxPaths the maximum number of paths kept in memory
+     * @param maxAge   the maximum age of a path, in milliseconds
+     */
+    public PathCache(int maxPaths, long maxAge) {
+        this.maxPaths = maxPaths;
+        this.maxAgeNanos = maxAge * 1_000_000;
+        this.paths = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > PathCache.this.maxPaths;
+            }
+        };
+    }
+
+    /**
+     * get the cache shared by the path finders
+     *
+     * @return the shared cache
+     */
+    public static PathCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * get a cached path
+     *
+     * @param finder the class of the path finder that searches the path
+     * @param map    the map
+     * @param start  the index of the first cell
+     * @param goal   the index of the last cell
+     * @return the path, null if it's not cached
+     */
+    public synchronized List<Point2d> get(Class<? extends PathFinder> finder, TileGrid map, int start, int goal) {
+        var key = new Key(finder, map, start, goal);
+        var entry = paths.get(key);
+        if (entry != null && (entry.version != map.getVersion() || System.nanoTime() - entry.time > maxAgeNanos)) {
+            paths.remove(key);
+            entry = null;
+        }
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.path;
+    }
+
+    /**
+     * store a path
+     *
+     * @param finder the class of the path finder that found the path
+     * @param map    the map
+     * @param start  the index of the first cell
+     * @param goal   the index of the last cell
+     * @param path   the path
+     * @return the path that was stored, that can't be modified
+     */
+    public synchronized List<Point2d> put(Class<? extends PathFinder> finder, TileGrid map, int start, int goal,
+            List<Point2d> path) {
+        var stored = List.copyOf(path);
+        paths.put(new Key(finder, map, start, goal), new Entry(stored, map.getVersion(), System.nanoTime()));
+        return stored;
+    }
+
+    /**
+     * drop the paths of a map, after some of its tiles changed
+     *
+     * @param map the map
+     */
+    public synchronized void invalidate(TileGrid map) {
+        paths.keySet().removeIf(key -> key.map == map);
+    }
+
+    /**
+     * drop all the paths
+     */
+    public synchronized void clear() {
+        paths.clear();
+    }
+
+    /**
+     * @return the number of paths in memory
+     */
+    public synchronized int size() {
+        return paths.size();
+    }
+
+    /**
+     * @return the number of requests that found their path
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return the number of requests that didn't find their path
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    private static final class Key {
+        private final Class<? extends PathFinder> finder;
+        private final TileGrid map;
+        private final int start;
+        private final int goal;
+
+        Key(Class<? extends PathFinder> finder, TileGrid map, int start, int goal) {
+            this.finder = finder;
+            this.map = map;
+            this.start = start;
+            this.goal = goal;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            var other = (Key) obj;
+            return finder == other.finder && map == other.map && start == other.start && goal == other.goal;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((finder.hashCode() * 31 + System.identityHashCode(map)) * 31 + start) * 31 + goal;
+        }
+    }
+
+    private static final class Entry {
+        private final List<Point2d> path;
+        private final int version;
+        private final long time;
+
+        Entry(List<Point2d> path, int version, long time) {
+            this.path = path;
+            this.version = version;
+            this.time = time;
+        }
+    }
+}
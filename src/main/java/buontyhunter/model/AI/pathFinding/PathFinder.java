@@ -5,7 +5,7 @@ import java.util.List;
 
 import java.util.Set;
 
-import buontyhunter.model.Tile;
+import buontyhunter.model.TileGrid;
 
 /**
  * Path finder
@@ -21,5 +21,5 @@ public interface PathFinder {
      * @param invalidPoints the invalid points
      * @return the path
      */
-    List<Point2d> findPath(Point2d initialPoint, Point2d finalPoint, List<List<Tile>> map, Set<Point2d> invalidPoints);
+    List<Point2d> findPath(Point2d initialPoint, Point2d finalPoint, TileGrid map, Set<Point2d> invalidPoints);
 }
@@ -23,4 +23,34 @@ public class PathFinderFactory {
     public static PathFinder createBFSPathFinder(boolean useCache) {
         return new BFSPathFinder(useCache);
     }
+
+    /**
+     * Create a new Jump Point Search path finder
+     * 
+     * @param useCache if the path finder should use cache
+     * @return the path finder
+     */
+    public static PathFinder createJumpPointPathFinder(boolean useCache) {
+        return new JumpPointPathFinder(useCache);
+    }
+
+    /**
+     * Create a new hierarchical path finder
+     * 
+     * @param useCache if the path finder should use cache
+     * @return the path finder
+     */
+    public static PathFinder createHierarchicalPathFinder(boolean useCache) {
+        return new HierarchicalPathFinder(useCache);
+    }
+
+    /**
+     * Create a new incremental (D* Lite) path finder, it keeps the search of an
+     * entity chasing a moving target so each entity needs its own
+     * 
+     * @return the path finder
+     */
+    public static PathFinder createDStarLitePathFinder() {
+        return new DStarLitePathFinder();
+    }
 }
@@ -0,0 +1,177 @@
+package buontyhunter.model.AI.pathFinding;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import buontyhunter.common.Logger.AppLogger;
+import buontyhunter.common.Logger.LogType;
+import buontyhunter.common.Point2d;
+import buontyhunter.model.TileGrid;
+
+/**
+ * runs the path searches on a pool of worker threads, so a long search (e.g.
+ * toward an unreachable point) doesn't stall the game thread: the entities
+ * keep following their previous path and read the result on one of the next
+ * ticks.
+ *
+ * The searches sent to the workers in a tick are limited by a time budget:
+ * each search is charged the average time of the last searches, and once the
+ * budget of the tick is spent the requests wait in order for the next ticks
+ * (beginTick), so a burst of requests is spread over a few ticks instead of
+ * filling the workers. The first request of a tick is always sent.
+ *
+ * The path finders are thread safe for different instances (the engines are
+ * per thread and the shared graphs are synchronized); an instance must not
+ * run two searches at the same time, AIFollowPathHelper waits for its request
+ * before sending another one. The requests can be sent by any thread.
+ */
+public final class PathfindingService {
+
+    /**
+     * the default time of the workers given to the searches sent in a tick,
+     * in milliseconds
+     */
+    public static final long DEFAULT_TICK_BUDGET = 4;
+    /**
+     * the smallest time charged to a search, in nanoseconds, so the budget
+     * bounds the number of searches sent in a tick even when they are fast
+     */
+    private static final long MIN_SEARCH_COST = 100_000;
+    private static final double AVERAGE_SMOOTHING = 0.1;
+
+    private static final PathfindingService INSTANCE = new PathfindingService(
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+
+    private final ExecutorService workers;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+    private long tickBudgetNanos = DEFAULT_TICK_BUDGET * 1_000_000;
+    private long credit = tickBudgetNanos;
+    private double averageSearchNanos = MIN_SEARCH_COST;
+
+    private PathfindingService(int threads) {
+        var count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(threads, r -> {
+            var thread = new Thread(r, "path-finder-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * get the instance of the service
+     *
+     * @return the instance of the service
+     */
+    public static PathfindingService getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * search a path on a worker thread, in this tick if the budget isn't spent
+     * or in one of the next ones
+     *
+     * @param pathFinder    the path finder, it must not be running another
+     *                      search
+     * @param initialPoint  the initial point
+     * @param finalPoint    the final point
+     * @param map           the map
+     * @param invalidPoints the invalid points, they must not be changed until the
+     *                      search is done
+     * @return the path, empty if there is no path or the search failed
+     */
+    public CompletableFuture<List<Point2d>> findPath(PathFinder pathFinder, Point2d initialPoint,
+            Point2d finalPoint, TileGrid map, Set<Point2d> invalidPoints) {
+        var from = initialPoint.duplicate();
+        var to = finalPoint.duplicate();
+        var result = new CompletableFuture<List<Point2d>>();
+        pending.incrementAndGet();
+        Supplier<List<Point2d>> search = () -> pathFinder.findPath(from, to, map, invalidPoints);
+        Runnable task = () -> {
+            long start = System.nanoTime();
+            List<Point2d> path;
+            try {
+                path = search.get();
+            } catch (RuntimeException e) {
+                AppLogger.getLogger().log("Path search from " + from + " to " + to + " failed: " + e,
+                        LogType.MODEL);
+                path = Collections.emptyList();
+            }
+            recordSearch(System.nanoTime() - start);
+            pending.decrementAndGet();
+            result.complete(path);
+        };
+        synchronized (this) {
+            if (waiting.isEmpty() && credit > 0) {
+                send(task);
+            } else {
+                waiting.add(task);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * start a new tick: the budget is restored and the requests that were
+     * waiting are sent, in order, until it's spent again; it's called by the
+     * game thread once per tick
+     */
+    public synchronized void beginTick() {
+        credit = tickBudgetNanos;
+        while (credit > 0 && !waiting.isEmpty()) {
+            send(waiting.poll());
+        }
+    }
+
+    /**
+     * set the time of the workers given to the searches sent in a tick
+     *
+     * @param millis the budget of a tick, in milliseconds
+     */
+    public synchronized void setTickBudget(long millis) {
+        if (millis <= 0) {
+            throw new IllegalArgumentException("the budget of a tick must be positive");
+        }
+        tickBudgetNanos = millis * 1_000_000;
+        credit = Math.min(credit, tickBudgetNanos);
+    }
+
+    /**
+     * @return the time of the workers given to the searches sent in a tick,
+     *         in milliseconds
+     */
+    public synchronized long getTickBudget() {
+        return tickBudgetNanos / 1_000_000;
+    }
+
+    /**
+     * @return the number of searches sent and not completed yet, the waiting
+     *         ones included
+     */
+    public int getPendingRequests() {
+        return pending.get();
+    }
+
+    /**
+     * @return the number of searches waiting for the budget of the next ticks
+     */
+    public synchronized int getWaitingRequests() {
+        return waiting.size();
+    }
+
+    private void send(Runnable task) {
+        credit -= Math.max(MIN_SEARCH_COST, (long) averageSearchNanos);
+        workers.execute(task);
+    }
+
+    private synchronized void recordSearch(long nanos) {
+        averageSearchNanos += (nanos - averageSearchNanos) * AVERAGE_SMOOTHING;
+    }
+}
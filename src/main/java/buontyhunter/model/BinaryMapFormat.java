@@ -0,0 +1,247 @@
+package buontyhunter.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+/**
+ * binary format of the maps, it's loaded with a single pass over the buffer
+ * (that can be a memory mapped file) instead of tokenizing the text.
+ *
+ * Layout (big endian):
+ *
+ * <pre>
+ * int   magic ("BHMP")
+ * short version
+ * short flags (FLAG_RLE, FLAG_SHORT_CELLS, FLAG_CHUNKED)
+ * int   width
+ * int   height
+ * short palette size, then one short per entry with the tile id (-1 = empty)
+ * cells: the palette index of each cell in row order, one byte (or one short
+ *        with FLAG_SHORT_CELLS); with FLAG_RLE the cells are stored as runs of
+ *        (unsigned short length, palette index)
+ * </pre>
+ *
+ * With FLAG_CHUNKED (since version 2) the cells are split in chunks of
+ * TileGrid.CHUNK_SIZE x TileGrid.CHUNK_SIZE cells: after the palette there is
+ * an int for each chunk (in row order) with the offset of its cells from the
+ * start of the file, then the cells of each chunk encoded as above. These maps
+ * are streamed: each chunk is decoded only when TileStreamer needs it.
+ */
+public final class BinaryMapFormat {
+
+    public static final int MAGIC = 0x42484D50;
+    public static final short VERSION = 2;
+    /**
+     * the cells are run-length encoded
+     */
+    public static final short FLAG_RLE = 1;
+    /**
+     * the palette has more than 256 entries so each cell uses a short
+     */
+    public static final short FLAG_SHORT_CELLS = 2;
+    /**
+     * the cells are stored by chunk and the map is streamed
+     */
+    public static final short FLAG_CHUNKED = 4;
+
+    private static final int MAX_RUN = 0xFFFF;
+    private static final int EMPTY_ID = -1;
+    private static final int CHUNK_CELLS = TileGrid.CHUNK_SIZE * TileGrid.CHUNK_SIZE;
+
+    private BinaryMapFormat() {
+    }
+
+    /**
+     * decode a binary map; a chunked map isn't decoded here, the returned grid
+     * reads its chunks from the buffer when they are needed, so the buffer must
+     * not be changed
+     *
+     * @param buffer the content of the map file, it's read from its position
+     * @return the grid of the map
+     * @throws IllegalArgumentException if the buffer is not a binary map of a
+     *                                  supported version
+     */
+    public static TileGrid read(ByteBuffer buffer) {
+        var in = buffer.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int start = in.position();
+        if (in.remaining() < 18 || in.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a binary map");
+        }
+        short version = in.getShort();
+        if (version < 1 || version > VERSION) {
+            throw new IllegalArgumentException("Unsupported binary map version " + version);
+        }
+        short flags = in.getShort();
+        int width = in.getInt();
+        int height = in.getInt();
+        int paletteSize = in.getShort() & 0xFFFF;
+        byte[] palette = new byte[paletteSize];
+        for (int i = 0; i < paletteSize; i++) {
+            palette[i] = TileMapParser.ordinalOf(in.getShort());
+        }
+        boolean rle = (flags & FLAG_RLE) != 0;
+        boolean shortCells = (flags & FLAG_SHORT_CELLS) != 0;
+
+        if ((flags & FLAG_CHUNKED) != 0) {
+            int chunksX = (width + TileGrid.CHUNK_SIZE - 1) / TileGrid.CHUNK_SIZE;
+            int chunksY = (height + TileGrid.CHUNK_SIZE - 1) / TileGrid.CHUNK_SIZE;
+            int[] offsets = new int[chunksX * chunksY];
+            for (int i = 0; i < offsets.length; i++) {
+                offsets[i] = in.getInt();
+            }
+            var data = in.asReadOnlyBuffer();
+            return new TileGrid(width, height, (chunkX, chunkY) -> {
+                var chunkIn = data.duplicate().order(ByteOrder.BIG_ENDIAN);
+                chunkIn.position(start + offsets[chunkY * chunksX + chunkX]);
+                byte[] cells = new byte[CHUNK_CELLS];
+                readCells(chunkIn, cells, palette, rle, shortCells);
+                return new TileChunk(cells);
+            });
+        }
+        byte[] cells = new byte[width * height];
+        readCells(in, cells, palette, rle, shortCells);
+        return new TileGrid(width, height, cells);
+    }
+
+    private static void readCells(ByteBuffer in, byte[] cells, byte[] palette, boolean rle, boolean shortCells) {
+        if (rle) {
+            int i = 0;
+            while (i < cells.length) {
+                int run = in.getShort() & 0xFFFF;
+                byte ordinal = palette[shortCells ? in.getShort() & 0xFFFF : in.get() & 0xFF];
+                Arrays.fill(cells, i, i + run, ordinal);
+                i += run;
+            }
+        } else if (shortCells) {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = palette[in.getShort() & 0xFFFF];
+            }
+        } else {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = palette[in.get() & 0xFF];
+            }
+        }
+    }
+
+    /**
+     * encode a map with the cells in row order
+     *
+     * @param grid the map to encode
+     * @param rle  true to run-length encode the cells
+     * @return the content of the binary map file
+     */
+    public static ByteBuffer write(TileGrid grid, boolean rle) {
+        return write(grid, rle, false);
+    }
+
+    /**
+     * encode a map
+     *
+     * @param grid    the map to encode, all its chunks must be in memory
+     * @param rle     true to run-length encode the cells
+     * @param chunked true to store the cells by chunk, so the map is streamed
+     * @return the content of the binary map file
+     */
+    public static ByteBuffer write(TileGrid grid, boolean rle, boolean chunked) {
+        int width = grid.getWidth();
+        int height = grid.getHeight();
+        int[] paletteIndex = new int[TileType.values().length];
+        Arrays.fill(paletteIndex, -1);
+        short[] palette = new short[TileType.values().length];
+        int paletteSize = 0;
+        int[] cells = new int[width * height];
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                int ordinal = grid.getType(x, y).ordinal();
+                if (paletteIndex[ordinal] < 0) {
+                    paletteIndex[ordinal] = paletteSize;
+                    palette[paletteSize++] = (short) TileMapParser.idOf(grid.getType(x, y), EMPTY_ID);
+                }
+                cells[grid.index(x, y)] = paletteIndex[ordinal];
+            }
+        }
+        boolean shortCells = paletteSize > 256;
+
+        try {
+            var bytes = new ByteArrayOutputStream();
+            var out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            out.writeShort((rle ? FLAG_RLE : 0) | (shortCells ? FLAG_SHORT_CELLS : 0) | (chunked ? FLAG_CHUNKED : 0));
+            out.writeInt(width);
+            out.writeInt(height);
+            out.writeShort(paletteSize);
+            for (int i = 0; i < paletteSize; i++) {
+                out.writeShort(palette[i]);
+            }
+            if (chunked) {
+                int chunksX = (width + TileGrid.CHUNK_SIZE - 1) / TileGrid.CHUNK_SIZE;
+                int chunksY = (height + TileGrid.CHUNK_SIZE - 1) / TileGrid.CHUNK_SIZE;
+                var chunks = new byte[chunksX * chunksY][];
+                for (int chunkY = 0; chunkY < chunksY; chunkY++) {
+                    for (int chunkX = 0; chunkX < chunksX; chunkX++) {
+                        // the cells outside the map are stored with the first palette entry
+                        int[] chunkCells = new int[CHUNK_CELLS];
+                        for (int j = 0; j < TileGrid.CHUNK_SIZE; j++) {
+                            for (int i = 0; i < TileGrid.CHUNK_SIZE; i++) {
+                                int x = chunkX * TileGrid.CHUNK_SIZE + i;
+                                int y = chunkY * TileGrid.CHUNK_SIZE + j;
+                                if (x < width && y < height) {
+                                    chunkCells[j * TileGrid.CHUNK_SIZE + i] = cells[y * width + x];
+                                }
+                            }
+                        }
+                        var chunk = new ByteArrayOutputStream();
+                        writeCells(new DataOutputStream(chunk), chunkCells, rle, shortCells);
+                        chunks[chunkY * chunksX + chunkX] = chunk.toByteArray();
+                    }
+                }
+                int offset = out.size() + chunks.length * 4;
+                for (var chunk : chunks) {
+                    out.writeInt(offset);
+                    offset += chunk.length;
+                }
+                for (var chunk : chunks) {
+                    out.write(chunk);
+                }
+            } else {
+                writeCells(out, cells, rle, shortCells);
+            }
+            out.flush();
+            return ByteBuffer.wrap(bytes.toByteArray());
+        } catch (IOException e) {
+            // a ByteArrayOutputStream doesn't throw
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCells(DataOutputStream out, int[] cells, boolean rle, boolean shortCells)
+            throws IOException {
+        int i = 0;
+        while (i < cells.length) {
+            int run = rle ? runLength(cells, i) : 1;
+            if (rle) {
+                out.writeShort(run);
+            }
+            if (shortCells) {
+                out.writeShort(cells[i]);
+            } else {
+                out.writeByte(cells[i]);
+            }
+            i += run;
+        }
+    }
+
+    private static int runLength(int[] cells, int start) {
+        int end = start + 1;
+        while (end < cells.length && end - start < MAX_RUN && cells[end] == cells[start]) {
+            end++;
+        }
+        return end - start;
+    }
+}
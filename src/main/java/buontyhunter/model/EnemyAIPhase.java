@@ -0,0 +1,208 @@
+package buontyhunter.model;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import buontyhunter.common.Direction;
+import buontyhunter.common.Point2d;
+
+/**
+ * the input phase of the enemies, split in two steps: the moves of all the
+ * enemies are planned first, on a fork-join pool when there are many enemies,
+ * and then applied on the game thread.
+ *
+ * While planning an enemy only changes its own path and reads the world (the
+ * map, the flow field toward the player, the position of the player and of
+ * the enemy), nothing of the world is written. The enemies that aren't
+ * simulated in the tick (see SimulationLOD) are skipped. The next position, the
+ * direction and the death of each enemy are written in the slice of the
+ * buffers of the task that planned it, so the tasks don't share anything, and
+ * the buffers are applied in the order of the enemies, moving each enemy to
+ * its new cell of the FighterGrid. The buffers are reused
+ * between ticks.
+ *
+ * Only the moves and the deaths by the map are planned: the attacks of the
+ * enemies (tryAttach), the damage they deal and the spawns of new enemies
+ * aren't part of the phase, they run on the game thread in World.updateState
+ * and World.generateEnemy, so they don't need buffers.
+ *
+ * The pool is owned by the phase, it's created the first time many enemies
+ * are planned and its threads are stopped by shutdown, called by the World
+ * that owns the phase when the game leaves it.
+ *
+ * Planning on the pool or on the game thread gives the same moves. The enemies
+ * far from the player follow the flow field, that is computed before the
+ * phase. The enemies within twice the range of their weapon follow their own
+ * path, searched by the PathfindingService without waiting for it. The paths
+ * found by the workers are taken at a fixed step on the game thread, before
+ * the moves are planned (see AIFollowPathHelper.collectPath), so the paths
+ * don't change while the moves are planned and the threads planning them
+ * don't change the moves. Which searches are done at that step depends on the
+ * workers: a search still running is taken at one of the next ticks, and the
+ * enemy keeps its previous path meanwhile.
+ */
+public final class EnemyAIPhase {
+
+    /**
+     * the default minimum number of enemies planned in parallel, fewer enemies
+     * are planned on the game thread
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 64;
+    /**
+     * the enemies planned by each task
+     */
+    private static final int BATCH_SIZE = 16;
+    private static final int PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    private final int parallelThreshold;
+    private ForkJoinPool pool;
+    private Point2d[] nextPositions = new Point2d[0];
+    private Direction[] directions = new Direction[0];
+    private boolean[] deaths = new boolean[0];
+    private int collectedPaths;
+
+    /**
+     * @param parallelThreshold the minimum number of enemies planned in
+     *                          parallel
+     */
+    public EnemyAIPhase(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    /**
+     * take the paths found by the workers, then plan and apply the moves of
+     * the enemies of a world simulated in the current tick: the enemies move
+     * and the dead ones are removed
+     *
+     * @param world the world
+     */
+    public void run(World world) {
+        var enemies = world.getEnemies();
+        int count = enemies.size();
+        if (count == 0) {
+            return;
+        }
+        ensureCapacity(count);
+        collectedPaths = 0;
+        for (int i = 0; i < count; i++) {
+            if (enemies.get(i).collectPath()) {
+                collectedPaths++;
+            }
+        }
+        if (count >= parallelThreshold && PARALLELISM > 1) {
+            if (pool == null) {
+                pool = new ForkJoinPool(PARALLELISM, new WorkerFactory(), null, false);
+            }
+            pool.invoke(new PlanTask(enemies, world, 0, count));
+        } else {
+            plan(enemies, world, 0, count);
+        }
+        apply(enemies, world, count);
+    }
+
+    /**
+     * @return the number of paths found by the workers and taken by the last
+     *         run
+     */
+    public int getCollectedPaths() {
+        return collectedPaths;
+    }
+
+    /**
+     * stop the threads of the pool; a later run creates a new pool if it
+     * needs one
+     */
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+            pool = null;
+        }
+    }
+
+    private void plan(List<EnemyEntity> enemies, World world, int from, int to) {
+        var lod = world.getSimulationLOD();
+        for (int i = from; i < to; i++) {
+            var enemy = enemies.get(i);
+            int steps = lod.getSteps(enemy);
+            if (steps == 0) {
+                // not simulated in this tick
+                nextPositions[i] = null;
+                continue;
+            }
+            var nextPos = enemy.planMove(world, steps);
+            nextPositions[i] = nextPos;
+            directions[i] = EnemyEntity.getMoveDirection(enemy.getPos(), nextPos);
+            deaths[i] = enemy.isDeath(world, nextPos);
+        }
+    }
+
+    private void apply(List<EnemyEntity> enemies, World world, int count) {
+        var grid = world.getFighterGrid();
+        for (int i = 0; i < count; i++) {
+            if (nextPositions[i] == null) {
+                continue;
+            }
+            var enemy = enemies.get(i);
+            enemy.setDirection(directions[i]);
+            enemy.setPos(nextPositions[i]);
+            grid.update(enemy);
+            if (deaths[i]) {
+                world.removeEnemy(enemy.getEnemyIdentifier(), false);
+            }
+        }
+        // the positions aren't kept until the next tick
+        Arrays.fill(nextPositions, 0, count, null);
+    }
+
+    private void ensureCapacity(int count) {
+        if (nextPositions.length < count) {
+            int capacity = Math.max(count, nextPositions.length * 2);
+            nextPositions = new Point2d[capacity];
+            directions = new Direction[capacity];
+            deaths = new boolean[capacity];
+        }
+    }
+
+    private final class PlanTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient List<EnemyEntity> enemies;
+        private final transient World world;
+        private final int from;
+        private final int to;
+
+        PlanTask(List<EnemyEntity> enemies, World world, int from, int to) {
+            this.enemies = enemies;
+            this.world = world;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= BATCH_SIZE) {
+                plan(enemies, world, from, to);
+            } else {
+                int middle = (from + to) >>> 1;
+                invokeAll(new PlanTask(enemies, world, from, middle), new PlanTask(enemies, world, middle, to));
+            }
+        }
+    }
+
+    private static final class WorkerFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public ForkJoinWorkerThread newThread(ForkJoinPool pool) {
+            var thread = new ForkJoinWorkerThread(pool) {
+            };
+            thread.setName("enemy-ai-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
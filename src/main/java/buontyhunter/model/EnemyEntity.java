@@ -23,19 +23,22 @@ public class EnemyEntity extends FighterEntity {
     private AIEnemyFollowPathHelper followPathHelper;
 
     private final List<TileType> deathTile = List.of(TileType.water);
-    private final int deathDistance = 40;
+    /**
+     * the enemies with a longer path to the player are removed from the world
+     */
+    static final int DEATH_DISTANCE = 40;
     private int enemyIdentifier;
     private EnemyType enemyType;
+    private final EnemyConfiguration configuration;
     protected FighterEntityType type = FighterEntityType.ENEMY;
     private AttackHelper attachHelper;
-
-    private boolean isDeath(World w) {
-        var manager = w.getTileManager();
-        var tile = manager.getTileFromPosition(getPos());
-        return !tile.isPresent() || deathTile.contains(tile.get().getType())
-                || followPathHelper.getLastPathDistance() > deathDistance
-                || (followPathHelper.getLastPathDistance() == 0 && getPos() != w.getPlayer().getPos());
-    }
+    /**
+     * the slot of the enemy in the store that keeps its state, null while the
+     * enemy isn't in a store. The store and the index are replaced together,
+     * so a reader that takes it once never sees the store of a slot with the
+     * index of another one
+     */
+    volatile EnemyStore.Slot slot;
 
     /**
      * Create a new enemy entity
@@ -60,9 +63,11 @@ public class EnemyEntity extends FighterEntity {
         super(type, pos, conf.getSpeed(), box, input, graph, phys, conf.getHealth(), conf.getHealth(), null);
 
         var aiFactory = new AIFactoryImpl();
-        followPathHelper = aiFactory.CreateEnemyFollowPathHelper(PathFinderType.AStar, false);
+        followPathHelper = aiFactory.CreateEnemyFollowPathHelper(PathFinderType.JPS, false);
+        followPathHelper.setAsynchronous(true);
         this.enemyIdentifier = enemyIdentifier;
         this.enemyType = conf.getType();
+        this.configuration = conf;
         this.attachHelper = new AttackHelper(conf.getAttackCoolDown());
 
         switch (conf.getType()) {
@@ -86,35 +91,95 @@ public class EnemyEntity extends FighterEntity {
      * @param world the world where the enemy is
      */
     public void moveItem(World world) {
-        var currentPos = this.getPos();
-        var speed = this.getVel();
+        var nextPos = planMove(world);
+        this.setDirection(getMoveDirection(this.getPos(), nextPos));
+        this.setPos(nextPos);
+    }
+
+    /**
+     * Move the enemy in the world and assert if the enemy is death
+     * 
+     * @param world the world where the enemy is
+     * @return true if the enemy is death, false otherwise
+     */
+    public boolean moveItemAssertIsDeath(World world) {
+        moveItem(world);
+        return isDeath(world, getPos());
+    }
+
+    /**
+     * Compute the next position of the enemy without moving it: only the path
+     * of the enemy is updated and the world is only read, so the moves of
+     * different enemies can be planned at the same time
+     * 
+     * @param world the world where the enemy is
+     * @return the next position of the enemy
+     */
+    public Point2d planMove(World world) {
+        return planMove(world, 1);
+    }
 
-        var nextPos = followPathHelper.followPlayer(this, speed, world);
+    /**
+     * Compute the next position of the enemy after some ticks in a single
+     * step, for the enemies that aren't simulated every tick; like
+     * planMove(world) the world is only read
+     * 
+     * @param world the world where the enemy is
+     * @param ticks the ticks simulated by the step
+     * @return the next position of the enemy
+     */
+    public Point2d planMove(World world, int ticks) {
+        var speed = ticks == 1 ? this.getVel() : this.getVel().mul(ticks);
+        return followPathHelper.followPlayer(this, speed, world);
+    }
 
+    /**
+     * take the path found by the worker for the enemy, if it's ready; the
+     * next planMove follows it
+     * 
+     * @return true if a path was taken
+     */
+    public boolean collectPath() {
+        return followPathHelper.collectPath();
+    }
+
+    /**
+     * Get the direction of a move
+     * 
+     * @param currentPos the position before the move
+     * @param nextPos    the position after the move
+     * @return the direction of the move, STAND_DOWN if the position doesn't
+     *         change
+     */
+    public static Direction getMoveDirection(Point2d currentPos, Point2d nextPos) {
         if (nextPos.y < currentPos.y) {
-            this.setDirection(Direction.MOVE_UP);
+            return Direction.MOVE_UP;
         } else if (nextPos.y > currentPos.y) {
-            this.setDirection(Direction.MOVE_DOWN);
+            return Direction.MOVE_DOWN;
         } else if (nextPos.x < currentPos.x) {
-            this.setDirection(Direction.MOVE_LEFT);
+            return Direction.MOVE_LEFT;
         } else if (nextPos.x > currentPos.x) {
-            this.setDirection(Direction.MOVE_RIGHT);
-        } else {
-            this.setDirection(Direction.STAND_DOWN);
+            return Direction.MOVE_RIGHT;
         }
-
-        this.setPos(nextPos);
+        return Direction.STAND_DOWN;
     }
 
     /**
-     * Move the enemy in the world and assert if the enemy is death
+     * Assert if the enemy would be death at a position, after its path was
+     * updated by planMove; the world is only read
      * 
-     * @param world the world where the enemy is
+     * @param w   the world where the enemy is
+     * @param pos the position of the enemy
      * @return true if the enemy is death, false otherwise
      */
-    public boolean moveItemAssertIsDeath(World world) {
-        moveItem(world);
-        return isDeath(world);
+    public boolean isDeath(World w, Point2d pos) {
+        var manager = w.getTileManager();
+        int x = (int) pos.x;
+        int y = (int) pos.y;
+        return !manager.isInside(x, y) || deathTile.contains(manager.getGrid().getType(x, y))
+                || followPathHelper.getLastPathDistance() > DEATH_DISTANCE
+                || (followPathHelper.getLastPathDistance() == 0 && !followPathHelper.isPathPending()
+                        && pos != w.getPlayer().getPos());
     }
 
     /**
@@ -135,6 +200,25 @@ public class EnemyEntity extends FighterEntity {
         return this.enemyType;
     }
 
+    /**
+     * Get the configuration the enemy was created with
+     * 
+     * @return the configuration of the enemy
+     */
+    public EnemyConfiguration getConfiguration() {
+        return this.configuration;
+    }
+
+    /**
+     * Get how often the enemy is simulated, set by the world every tick
+     * 
+     * @return the simulation level of the enemy, ACTIVE if it's not in a world
+     */
+    public SimulationLevel getSimulationLevel() {
+        var s = slot;
+        return s != null ? s.store.getLevelOf(s.index) : SimulationLevel.ACTIVE;
+    }
+
     /**
      * Get the type of the game object which is used to identify the object
      * 
@@ -142,14 +226,17 @@ public class EnemyEntity extends FighterEntity {
      * @param playerPos the position of the player
      */
     public void tryAttach(long elapsed, Point2d playerPos) {
-        var canAttach = attachHelper.canAttack(elapsed);
+        var s = slot;
+        var canAttach = s != null ? s.store.canAttack(s.index, elapsed, attachHelper)
+                : attachHelper.canAttack(elapsed);
         if (canAttach) {
             // attach
             setDirection(attachHelper.getAttackDirection(getPos(), playerPos));
 
             this.getWeapon().directAttack();
             this.getDamagingArea().setShow(true);
-        } else if (attachHelper.getMillisecondSinceLastAttach() > 250) {
+        } else if ((s != null ? s.store.getSinceLastAttack(s.index)
+                : attachHelper.getMillisecondSinceLastAttach()) > 250) {
             this.getDamagingArea().setShow(false);
         }
     }
@@ -171,4 +258,79 @@ public class EnemyEntity extends FighterEntity {
             return playerPos.y > this.getPos().y ? Direction.STAND_DOWN : Direction.STAND_UP;
         }
     }
+
+    @Override
+    public void setPos(Point2d pos) {
+        super.setPos(pos);
+        var s = slot;
+        if (s != null) {
+            s.store.setPos(s.index, pos);
+        }
+    }
+
+    @Override
+    public void savePreviousPos() {
+        var s = slot;
+        if (s != null) {
+            s.store.savePreviousPos(s.index);
+        } else {
+            super.savePreviousPos();
+        }
+    }
+
+    @Override
+    public Point2d getInterpolatedPos(double alpha) {
+        var s = slot;
+        if (s == null || alpha >= 1) {
+            return super.getInterpolatedPos(alpha);
+        }
+        return s.store.getInterpolatedPos(s.index, alpha);
+    }
+
+    @Override
+    public int getHealth() {
+        var s = slot;
+        return s != null ? s.store.getHealth(s.index) : super.getHealth();
+    }
+
+    @Override
+    public void setHealth(int healt) {
+        var s = slot;
+        if (s != null) {
+            s.store.setHealth(s.index, healt);
+        } else {
+            super.setHealth(healt);
+        }
+    }
+
+    @Override
+    public Direction getDirection() {
+        var s = slot;
+        return s != null ? s.store.getDirection(s.index) : super.getDirection();
+    }
+
+    @Override
+    public void setDirection(Direction direction) {
+        var s = slot;
+        if (s != null) {
+            s.store.setDirection(s.index, direction);
+        } else {
+            super.setDirection(direction);
+        }
+    }
+
+    AttackHelper getAttackHelper() {
+        return attachHelper;
+    }
+
+    /**
+     * take back the state kept by the store, when the enemy is removed from it
+     */
+    void restore(double previousX, double previousY, int health, Direction direction, long sinceLastAttack,
+            long sinceLastCheck) {
+        setPreviousPos(previousX, previousY);
+        super.setHealth(health);
+        super.setDirection(direction);
+        attachHelper.setTimers(sinceLastAttack, sinceLastCheck);
+    }
 }
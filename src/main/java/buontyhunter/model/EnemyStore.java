@@ -0,0 +1,296 @@
+package buontyhunter.model;
+
+import java.util.Arrays;
+
+import buontyhunter.common.Direction;
+import buontyhunter.common.Point2d;
+import buontyhunter.model.AI.AttackHelper;
+
+/**
+ * the state of the enemies that is read or written every tick, stored by
+ * columns: the position, the previous position, the health, the direction,
+ * the cooldown timers and the simulation level of the enemy in slot i are at
+ * index i of parallel arrays of primitives, so the loops over all the enemies
+ * (the simulation levels, the previous positions) read contiguous memory
+ * instead of following the objects of each enemy.
+ *
+ * An EnemyEntity added to the store is a handle to its slot: its getters and
+ * setters read and write the arrays. The position is also kept by the entity
+ * as the last point that was set, so getPos doesn't allocate; the velocity and
+ * the type aren't read by those loops and stay only in the entity. The slots are dense, removing an enemy moves the last
+ * one into its slot; the state of the removed enemy is written back into the
+ * entity, so it can still be used.
+ *
+ * Only the game thread writes the store. The planning tasks of EnemyAIPhase
+ * read it through the handles while the game thread waits for them, and the
+ * painter never reads it: it draws the RenderSnapshot captured at the end of
+ * the tick.
+ */
+public final class EnemyStore {
+
+    private static final int INITIAL_CAPACITY = 64;
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final SimulationLevel[] LEVELS = SimulationLevel.values();
+
+    /**
+     * the position of a handle in a store; it is immutable, moving an enemy
+     * to another slot gives it a new one
+     */
+    static final class Slot {
+        final EnemyStore store;
+        final int index;
+
+        Slot(EnemyStore store, int index) {
+            this.store = store;
+            this.index = index;
+        }
+    }
+
+    private int size;
+    private EnemyEntity[] handles = new EnemyEntity[INITIAL_CAPACITY];
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] previousX = new double[INITIAL_CAPACITY];
+    private double[] previousY = new double[INITIAL_CAPACITY];
+    private int[] health = new int[INITIAL_CAPACITY];
+    private byte[] direction = new byte[INITIAL_CAPACITY];
+    private long[] sinceLastAttack = new long[INITIAL_CAPACITY];
+    private long[] sinceLastCheck = new long[INITIAL_CAPACITY];
+    private byte[] level = new byte[INITIAL_CAPACITY];
+
+    /**
+     * add an enemy: its state is copied into a new slot and the enemy becomes
+     * a handle to it
+     *
+     * @param enemy the enemy, not already in a store
+     */
+    public void add(EnemyEntity enemy) {
+        if (enemy.slot != null) {
+            throw new IllegalArgumentException("the enemy is already in a store");
+        }
+        if (size == handles.length) {
+            grow();
+        }
+        int slot = size++;
+        var pos = enemy.getPos();
+        var previous = enemy.getInterpolatedPos(0);
+        var attack = enemy.getAttackHelper();
+        handles[slot] = enemy;
+        x[slot] = pos.x;
+        y[slot] = pos.y;
+        previousX[slot] = previous.x;
+        previousY[slot] = previous.y;
+        health[slot] = enemy.getHealth();
+        direction[slot] = (byte) enemy.getDirection().ordinal();
+        sinceLastAttack[slot] = attack.getMillisecondSinceLastAttach();
+        sinceLastCheck[slot] = attack.getMillisecondSinceLastCheck();
+        level[slot] = (byte) SimulationLevel.ACTIVE.ordinal();
+        enemy.slot = new Slot(this, slot);
+    }
+
+    /**
+     * remove an enemy: its state is written back into the entity, that stops
+     * being a handle
+     *
+     * @param enemy the enemy
+     * @return true if the enemy was in the store
+     */
+    public boolean remove(EnemyEntity enemy) {
+        var handle = enemy.slot;
+        if (handle == null || handle.store != this) {
+            return false;
+        }
+        int slot = handle.index;
+        detach(slot);
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+        }
+        handles[last] = null;
+        return true;
+    }
+
+    /**
+     * remove all the enemies
+     */
+    public void clear() {
+        for (int slot = 0; slot < size; slot++) {
+            detach(slot);
+        }
+        Arrays.fill(handles, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * @return the number of enemies in the store
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @param slot the slot
+     * @return the enemy of a slot
+     */
+    public EnemyEntity getEnemy(int slot) {
+        checkSlot(slot);
+        return handles[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the column of the enemy of a slot
+     */
+    public double getX(int slot) {
+        checkSlot(slot);
+        return x[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the row of the enemy of a slot
+     */
+    public double getY(int slot) {
+        checkSlot(slot);
+        return y[slot];
+    }
+
+    /**
+     * @param slot the slot
+     * @return the simulation level of the enemy of a slot
+     */
+    public SimulationLevel getLevel(int slot) {
+        checkSlot(slot);
+        return LEVELS[level[slot]];
+    }
+
+    /**
+     * set the simulation level of all the enemies from their distance from a
+     * point, the biggest of the distances on the two axes (the camera is a
+     * square); the enemies added later are active until the next call
+     *
+     * @param centerX      the column of the point
+     * @param centerY      the row of the point
+     * @param activeRange  the enemies up to this distance are active
+     * @param reducedRange the enemies farther than activeRange and up to this
+     *                     distance are reduced, the others are dormant
+     */
+    public void updateLevels(double centerX, double centerY, double activeRange, double reducedRange) {
+        byte active = (byte) SimulationLevel.ACTIVE.ordinal();
+        byte reduced = (byte) SimulationLevel.REDUCED.ordinal();
+        byte dormant = (byte) SimulationLevel.DORMANT.ordinal();
+        for (int slot = 0; slot < size; slot++) {
+            double distance = Math.max(Math.abs(x[slot] - centerX), Math.abs(y[slot] - centerY));
+            level[slot] = distance <= activeRange ? active : distance <= reducedRange ? reduced : dormant;
+        }
+    }
+
+    /**
+     * store the current position of all the enemies as their position in the
+     * previous simulation tick
+     */
+    public void savePreviousPositions() {
+        System.arraycopy(x, 0, previousX, 0, size);
+        System.arraycopy(y, 0, previousY, 0, size);
+    }
+
+    SimulationLevel getLevelOf(int slot) {
+        return LEVELS[level[slot]];
+    }
+
+    void setPos(int slot, Point2d pos) {
+        x[slot] = pos.x;
+        y[slot] = pos.y;
+    }
+
+    void savePreviousPos(int slot) {
+        previousX[slot] = x[slot];
+        previousY[slot] = y[slot];
+    }
+
+    Point2d getInterpolatedPos(int slot, double alpha) {
+        return new Point2d(previousX[slot] + (x[slot] - previousX[slot]) * alpha,
+                previousY[slot] + (y[slot] - previousY[slot]) * alpha);
+    }
+
+    int getHealth(int slot) {
+        return health[slot];
+    }
+
+    void setHealth(int slot, int value) {
+        health[slot] = value;
+    }
+
+    Direction getDirection(int slot) {
+        return DIRECTIONS[direction[slot]];
+    }
+
+    void setDirection(int slot, Direction value) {
+        direction[slot] = (byte) value.ordinal();
+    }
+
+    /**
+     * advance the cooldown timers of a slot, like AttackHelper.canAttack does
+     * with its own timers
+     *
+     * @return true if the enemy attacks now
+     */
+    boolean canAttack(int slot, long elapsed, AttackHelper helper) {
+        sinceLastAttack[slot] += elapsed;
+        sinceLastCheck[slot] += elapsed;
+        if (sinceLastCheck[slot] <= helper.getCheckInterval()) {
+            return false;
+        }
+        sinceLastCheck[slot] = 0;
+        boolean attack = helper.isAttackTime(sinceLastAttack[slot]);
+        if (attack) {
+            sinceLastAttack[slot] = 0;
+        }
+        return attack;
+    }
+
+    long getSinceLastAttack(int slot) {
+        return sinceLastAttack[slot];
+    }
+
+    private void detach(int slot) {
+        var enemy = handles[slot];
+        enemy.slot = null;
+        enemy.restore(previousX[slot], previousY[slot], health[slot], DIRECTIONS[direction[slot]],
+                sinceLastAttack[slot], sinceLastCheck[slot]);
+    }
+
+    private void move(int from, int to) {
+        handles[to] = handles[from];
+        x[to] = x[from];
+        y[to] = y[from];
+        previousX[to] = previousX[from];
+        previousY[to] = previousY[from];
+        health[to] = health[from];
+        direction[to] = direction[from];
+        sinceLastAttack[to] = sinceLastAttack[from];
+        sinceLastCheck[to] = sinceLastCheck[from];
+        level[to] = level[from];
+        handles[to].slot = new Slot(this, to);
+    }
+
+    private void grow() {
+        int capacity = handles.length * 2;
+        handles = Arrays.copyOf(handles, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        previousX = Arrays.copyOf(previousX, capacity);
+        previousY = Arrays.copyOf(previousY, capacity);
+        health = Arrays.copyOf(health, capacity);
+        direction = Arrays.copyOf(direction, capacity);
+        sinceLastAttack = Arrays.copyOf(sinceLastAttack, capacity);
+        sinceLastCheck = Arrays.copyOf(sinceLastCheck, capacity);
+        level = Arrays.copyOf(level, capacity);
+    }
+
+    private void checkSlot(int slot) {
+        if (slot < 0 || slot >= size) {
+            throw new IndexOutOfBoundsException("slot " + slot + " of " + size);
+        }
+    }
+}
@@ -105,7 +105,7 @@ public class FighterEntity extends GameObject {
      * @param damage the amount of damage that the entity will take
      */
     public void takeDamage(int damage) {
-        setHealth(health - damage);
+        setHealth(getHealth() - damage);
     }
 
     /**
@@ -0,0 +1,190 @@
+package buontyhunter.model;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * uniform spatial hash grid of the fighters of a world (player, enemies,
+ * boss): each fighter is stored in the bucket of the square cell of its
+ * position, so the fighters near a box are found by looking at the few cells
+ * around it instead of all the fighters.
+ *
+ * The cells are hashed into a fixed number of buckets, so the grid doesn't
+ * depend on the size of the map; a bucket may hold the fighters of more than
+ * one cell and the queries only keep the ones of the cells they look at. The
+ * fighters are moved to their new cell by update, World calls it where each
+ * fighter moves and remove when a fighter leaves the world; the queries don't
+ * allocate. Only the game thread uses it.
+ */
+public final class FighterGrid {
+
+    /**
+     * the default size of the cells, in tiles
+     */
+    public static final double DEFAULT_CELL_SIZE = 4;
+    private static final int BUCKETS = 1024;
+
+    private final double cellSize;
+    private final List<List<Entry>> buckets = new ArrayList<>(BUCKETS);
+    private final List<Entry> entries = new ArrayList<>();
+    private final Map<FighterEntity, Entry> byFighter = new IdentityHashMap<>();
+    /**
+     * the biggest width or height of the boxes of the fighters, the queries
+     * are enlarged by it because a fighter is stored by its position only
+     */
+    private double maxExtent;
+
+    /**
+     * @param cellSize the size of the cells, in tiles
+     */
+    public FighterGrid(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("the size of the cells must be positive");
+        }
+        this.cellSize = cellSize;
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * add a fighter or move it to the cell of its current position
+     *
+     * @param fighter the fighter
+     */
+    public void update(FighterEntity fighter) {
+        int cellX = toCell(fighter.getPos().x);
+        int cellY = toCell(fighter.getPos().y);
+        var entry = byFighter.get(fighter);
+        if (entry == null) {
+            entry = new Entry(fighter);
+            entry.index = entries.size();
+            entries.add(entry);
+            byFighter.put(fighter, entry);
+            addToBucket(entry, cellX, cellY);
+            var box = fighter.getBBox();
+            if (box instanceof RectBoundingBox) {
+                var rect = (RectBoundingBox) box;
+                maxExtent = Math.max(maxExtent, Math.max(rect.getWidth(), rect.getHeight()));
+            }
+        } else if (entry.cellX != cellX || entry.cellY != cellY) {
+            removeFromBucket(entry);
+            addToBucket(entry, cellX, cellY);
+        }
+    }
+
+    /**
+     * remove a fighter
+     *
+     * @param fighter the fighter
+     */
+    public void remove(FighterEntity fighter) {
+        var entry = byFighter.get(fighter);
+        if (entry != null) {
+            remove(entry);
+        }
+    }
+
+    /**
+     * find the fighters whose box may intersect an area: the fighters with the
+     * position within the area enlarged by the biggest box of a fighter
+     *
+     * @param minX   the smallest column of the area
+     * @param minY   the smallest row of the area
+     * @param maxX   the biggest column of the area
+     * @param maxY   the biggest row of the area
+     * @param result the list that is cleared and filled with the fighters
+     * @return the number of fighters found
+     */
+    public int query(double minX, double minY, double maxX, double maxY, List<FighterEntity> result) {
+        result.clear();
+        double fromX = minX - maxExtent;
+        double fromY = minY - maxExtent;
+        double toX = maxX + maxExtent;
+        double toY = maxY + maxExtent;
+        int firstX = toCell(fromX);
+        int firstY = toCell(fromY);
+        int lastX = toCell(toX);
+        int lastY = toCell(toY);
+        if ((long) (lastX - firstX + 1) * (lastY - firstY + 1) > entries.size()) {
+            // a big area, all the fighters are checked once
+            for (int i = 0; i < entries.size(); i++) {
+                addIfInside(entries.get(i).fighter, fromX, fromY, toX, toY, result);
+            }
+            return result.size();
+        }
+        for (int cellY = firstY; cellY <= lastY; cellY++) {
+            for (int cellX = firstX; cellX <= lastX; cellX++) {
+                var bucket = buckets.get(hash(cellX, cellY));
+                for (int i = 0; i < bucket.size(); i++) {
+                    var entry = bucket.get(i);
+                    if (entry.cellX == cellX && entry.cellY == cellY) {
+                        addIfInside(entry.fighter, fromX, fromY, toX, toY, result);
+                    }
+                }
+            }
+        }
+        return result.size();
+    }
+
+    /**
+     * @return the number of fighters in the grid
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static void addIfInside(FighterEntity fighter, double fromX, double fromY, double toX, double toY,
+            List<FighterEntity> result) {
+        var pos = fighter.getPos();
+        if (pos.x >= fromX && pos.x <= toX && pos.y >= fromY && pos.y <= toY) {
+            result.add(fighter);
+        }
+    }
+
+    private void remove(Entry entry) {
+        removeFromBucket(entry);
+        byFighter.remove(entry.fighter);
+        var last = entries.remove(entries.size() - 1);
+        if (last != entry) {
+            entries.set(entry.index, last);
+            last.index = entry.index;
+        }
+    }
+
+    private void addToBucket(Entry entry, int cellX, int cellY) {
+        entry.cellX = cellX;
+        entry.cellY = cellY;
+        buckets.get(hash(cellX, cellY)).add(entry);
+    }
+
+    private void removeFromBucket(Entry entry) {
+        var bucket = buckets.get(hash(entry.cellX, entry.cellY));
+        int i = bucket.indexOf(entry);
+        var last = bucket.remove(bucket.size() - 1);
+        if (last != entry) {
+            bucket.set(i, last);
+        }
+    }
+
+    private int toCell(double coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static int hash(int cellX, int cellY) {
+        return (cellX * 73856093 ^ cellY * 19349663) & (BUCKETS - 1);
+    }
+
+    private static final class Entry {
+        private final FighterEntity fighter;
+        private int cellX;
+        private int cellY;
+        private int index;
+
+        Entry(FighterEntity fighter) {
+            this.fighter = fighter;
+        }
+    }
+}
@@ -11,6 +11,7 @@ public class GameObject {
 
     private GameObjectType type;
     private Point2d pos;
+    private final Point2d previousPos;
     private Vector2d vel;
     private BoundingBox bbox;
 
@@ -39,6 +40,7 @@ public class GameObject {
             PhysicsComponent phys) {
         this.type = type;
         this.pos = pos;
+        this.previousPos = pos != null ? pos.duplicate() : new Point2d(0, 0);
         this.vel = vel;
         this.bbox = box;
         this.input = input;
@@ -77,14 +79,14 @@ public class GameObject {
      * Flip the velocity of the game object on the Y axis
      */
     public void flipVelOnY() {
-        this.vel = new Vector2d(vel.x, -vel.y);
+        setVel(new Vector2d(getVel().x, -getVel().y));
     }
 
     /**
      * Flip the velocity of the game object on the X axis
      */
     public void flipVelOnX() {
-        this.vel = new Vector2d(-vel.x, vel.y);
+        setVel(new Vector2d(-getVel().x, getVel().y));
     }
 
     /**
@@ -104,6 +106,43 @@ public class GameObject {
         return pos;
     }
 
+    /**
+     * store the current position as the position of the previous simulation
+     * tick, used to interpolate the rendering between two ticks
+     */
+    public void savePreviousPos() {
+        if (pos != null) {
+            previousPos.x = pos.x;
+            previousPos.y = pos.y;
+        }
+    }
+
+    /**
+     * set the position of the previous simulation tick
+     * 
+     * @param x the column of the previous position
+     * @param y the row of the previous position
+     */
+    protected void setPreviousPos(double x, double y) {
+        previousPos.x = x;
+        previousPos.y = y;
+    }
+
+    /**
+     * Get the position of the game object interpolated between the previous and
+     * the current simulation tick
+     * 
+     * @param alpha the fraction of tick elapsed since the last update
+     * @return the interpolated position, the current one if alpha is 1
+     */
+    public Point2d getInterpolatedPos(double alpha) {
+        if (pos == null || alpha >= 1) {
+            return pos;
+        }
+        return new Point2d(previousPos.x + (pos.x - previousPos.x) * alpha,
+                previousPos.y + (pos.y - previousPos.y) * alpha);
+    }
+
     /**
      * Get the current velocity of the game object
      * 
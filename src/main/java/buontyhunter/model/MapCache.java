@@ -0,0 +1,107 @@
+package buontyhunter.model;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import buontyhunter.common.FileProvider;
+import buontyhunter.model.AI.pathFinding.HierarchicalPathFinder;
+
+/**
+ * process-wide cache of the parsed maps: each map is read the first time it's
+ * requested and the same immutable TileGrid is shared by all the TileManagers,
+ * so switching between the hub and the open world doesn't read or parse the
+ * map files again. The connected areas of each map are kept with it, so they
+ * are labelled only the first time the map is loaded, and the abstract graph
+ * of the hierarchical path finder is built when the map is read, so it isn't
+ * built by the first search on the game thread.
+ */
+public final class MapCache {
+
+    private static final MapCache instance = new MapCache();
+
+    private final Map<Integer, TileGrid> maps = new ConcurrentHashMap<>();
+    private final Map<Integer, TileComponents> components = new ConcurrentHashMap<>();
+    private final FileProvider fileProvider = new FileProvider();
+
+    private MapCache() {
+    }
+
+    /**
+     * Get the instance of the MapCache
+     * 
+     * @return the instance of the MapCache
+     */
+    public static MapCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * get a map, it's loaded on the first request
+     * 
+     * @param mapId the id of the map (TileManager.OPEN_WORLD_MAP_ID or
+     *              TileManager.HUB_MAP_ID)
+     * @return the grid of the map
+     * @throws IllegalArgumentException if there isn't a map with the given id
+     */
+    public TileGrid getMap(int mapId) {
+        return maps.computeIfAbsent(mapId, id -> {
+            var grid = readMap(getMapName(id));
+            HierarchicalPathFinder.prepare(grid);
+            return grid;
+        });
+    }
+
+    /**
+     * get the connected areas of a map, they are labelled on the first request
+     * 
+     * @param mapId the id of the map
+     * @return the connected areas of the grid returned by getMap
+     * @throws IllegalArgumentException if there isn't a map with the given id
+     */
+    public TileComponents getComponents(int mapId) {
+        var grid = getMap(mapId);
+        return components.computeIfAbsent(mapId, id -> new TileComponents(grid));
+    }
+
+    /**
+     * @param mapId the id of the map
+     * @return true if the map has already been loaded
+     */
+    public boolean isLoaded(int mapId) {
+        return maps.containsKey(mapId);
+    }
+
+    /**
+     * remove all the loaded maps, they will be read again on the next request
+     */
+    public void clear() {
+        maps.clear();
+        components.clear();
+    }
+
+    private String getMapName(int mapId) {
+        switch (mapId) {
+            case TileManager.OPEN_WORLD_MAP_ID:
+                return "/maps/map";
+            case TileManager.HUB_MAP_ID:
+                return "/maps/hubMap";
+        }
+        throw new IllegalArgumentException("Unknown map id " + mapId);
+    }
+
+    /**
+     * read a map from the binary file (name.bin) if it exists, otherwise from
+     * the text file (name.txt); the binary files are generated from the text
+     * ones with MapConverter
+     * 
+     * @param name the path of the map without the extension
+     * @return the grid of the map
+     */
+    private TileGrid readMap(String name) {
+        var binary = fileProvider.getBuffer(name + ".bin");
+        if (binary.isPresent()) {
+            return BinaryMapFormat.read(binary.get());
+        }
+        return TileMapParser.parse(fileProvider.getBytes(name + ".txt").orElse(new byte[0]));
+    }
+}
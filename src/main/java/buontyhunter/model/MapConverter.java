@@ -0,0 +1,48 @@
+package buontyhunter.model;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * command line tool that converts a text map to the binary format read by
+ * TileManager; usage: MapConverter input.txt output.bin [--raw] [--chunked]
+ * (--raw disables the run-length encoding, --chunked stores the map by chunk
+ * so it's streamed)
+ */
+public final class MapConverter {
+
+    private MapConverter() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        boolean rle = true;
+        boolean chunked = false;
+        boolean valid = args.length >= 2;
+        for (int i = 2; i < args.length; i++) {
+            if (args[i].equals("--raw")) {
+                rle = false;
+            } else if (args[i].equals("--chunked")) {
+                chunked = true;
+            } else {
+                valid = false;
+            }
+        }
+        if (!valid) {
+            System.out.println("Usage: MapConverter input.txt output.bin [--raw] [--chunked]");
+            System.exit(1);
+        }
+        var grid = TileMapParser.parse(Files.readAllBytes(Path.of(args[0])));
+        var data = BinaryMapFormat.write(grid, rle, chunked);
+        try (var channel = FileChannel.open(Path.of(args[1]), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data.hasRemaining()) {
+                channel.write(data);
+            }
+        }
+        System.out.println("Converted " + grid.getWidth() + "x" + grid.getHeight() + " map to " + args[1]
+                + " (" + Files.size(Path.of(args[1])) + " bytes)");
+    }
+}
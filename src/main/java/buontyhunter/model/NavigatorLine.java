@@ -24,12 +24,18 @@ public class NavigatorLine extends GameObject {
         path = new ArrayList<>();
         // pathFinder = new BFSPathFinder(true);
         var aiFactory = new AIFactoryImpl();
-        pathFinder = aiFactory.CreatePathFinder(PathFinderType.AStar, true);
+        pathFinder = aiFactory.CreatePathFinder(PathFinderType.HPA, true);
     }
 
     public void setPath(Point2d initialPoint, Point2d finalPoint) {
-        path = pathFinder.findPath(initialPoint.duplicate().floorCoordinates(),
-                finalPoint.duplicate().floorCoordinates(), world.getTileManager().getTiles(), new HashSet<>());
+        var from = initialPoint.duplicate().floorCoordinates();
+        var to = finalPoint.duplicate().floorCoordinates();
+        if (!world.getTileManager().areConnected(from, to)) {
+            // no search for the points that can't be reached
+            path = new ArrayList<>();
+            return;
+        }
+        path = pathFinder.findPath(from, to, world.getTileManager().getGrid(), new HashSet<>());
     }
 
     public List<Point2d> getPath() {
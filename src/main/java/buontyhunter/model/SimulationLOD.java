@@ -0,0 +1,184 @@
+package buontyhunter.model;
+
+import java.util.Arrays;
+
+import buontyhunter.common.Logger.AppLogger;
+import buontyhunter.common.Logger.LogType;
+import buontyhunter.common.Point2d;
+import buontyhunter.model.AI.enemySpawner.EnemyConfiguration;
+
+/**
+ * the level of detail of the simulation of the enemies, from their distance
+ * from the player (the biggest of the distances on the two axes, like the
+ * square of the camera). The active enemies, in the camera and a small margin
+ * around it, are updated every tick. The reduced enemies, in a band around
+ * them, are updated once every few ticks with a step as long as the ticks
+ * they skipped, spread over the ticks by their identifier. The dormant
+ * enemies, farther than the band, are removed from the world and only their
+ * position, health and configuration are kept; they are created again when
+ * the player gets near them.
+ *
+ * So the cost of a tick depends on the enemies near the player, not on all
+ * the enemies of the world. An enemy farther than the death distance of the
+ * enemies on either axis has a path at least that long, so it's dropped
+ * instead of going to sleep, as the enemies that walk too far from the player
+ * are. The dormant enemies still count for the spawn of new ones (see
+ * EnemySpawnerFromDistance), so walking away and back doesn't bring more
+ * enemies than the spawner allows; they are kept up to a maximum number and
+ * the others are dropped. Only the game thread uses it.
+ */
+public final class SimulationLOD {
+
+    /**
+     * the default distance of the active enemies, half the camera plus a
+     * margin for the enemies walking in
+     */
+    public static final double DEFAULT_ACTIVE_RANGE = 12;
+    /**
+     * the default distance of the reduced enemies
+     */
+    public static final double DEFAULT_REDUCED_RANGE = 32;
+    /**
+     * the default number of ticks between two updates of a reduced enemy
+     */
+    public static final int DEFAULT_REDUCED_INTERVAL = 4;
+    /**
+     * the default maximum number of dormant enemies
+     */
+    public static final int DEFAULT_MAX_DORMANT = 256;
+    /**
+     * a dormant enemy wakes up this much nearer than the reduced range, so an
+     * enemy on the border doesn't go to sleep and wake up every tick
+     */
+    private static final double WAKE_MARGIN = 4;
+
+    private final double activeRange;
+    private final double reducedRange;
+    private final int reducedInterval;
+    private final int maxDormant;
+    private long tick;
+
+    private int dormant;
+    private double[] dormantX = new double[16];
+    private double[] dormantY = new double[16];
+    private int[] dormantHealth = new int[16];
+    private EnemyConfiguration[] dormantConfigurations = new EnemyConfiguration[16];
+
+    /**
+     * @param activeRange     the distance of the active enemies
+     * @param reducedRange    the distance of the reduced enemies
+     * @param reducedInterval the number of ticks between two updates of a
+     *                        reduced enemy
+     * @param maxDormant      the maximum number of dormant enemies
+     */
+    public SimulationLOD(double activeRange, double reducedRange, int reducedInterval, int maxDormant) {
+        if (activeRange < 0 || reducedRange < activeRange || reducedInterval < 1 || maxDormant < 0) {
+            throw new IllegalArgumentException("invalid levels of detail");
+        }
+        this.activeRange = activeRange;
+        this.reducedRange = reducedRange;
+        this.reducedInterval = reducedInterval;
+        this.maxDormant = maxDormant;
+    }
+
+    /**
+     * start a new tick: set the level of the enemies of a world from the
+     * position of the player, put the far enemies to sleep and wake up the
+     * dormant enemies near the player
+     *
+     * @param world the world
+     */
+    public void update(World world) {
+        tick++;
+        var player = world.getPlayer();
+        if (player == null) {
+            return;
+        }
+        var center = player.getPos();
+        var store = world.getEnemyRegistry().getStore();
+        store.updateLevels(center.x, center.y, activeRange, reducedRange);
+        // the removed enemy is replaced by the last one, already visited
+        for (int slot = store.size() - 1; slot >= 0; slot--) {
+            if (store.getLevel(slot) == SimulationLevel.DORMANT) {
+                freeze(store.getEnemy(slot), world, center);
+            }
+        }
+        double wakeRange = Math.max(activeRange, reducedRange - WAKE_MARGIN);
+        for (int i = dormant - 1; i >= 0; i--) {
+            if (Math.max(Math.abs(dormantX[i] - center.x), Math.abs(dormantY[i] - center.y)) <= wakeRange) {
+                wake(i, world);
+            }
+        }
+    }
+
+    /**
+     * get the ticks an enemy simulates in the current tick
+     *
+     * @param enemy the enemy
+     * @return 1 for the active enemies, the reduced interval for the reduced
+     *         enemies in their tick and 0 for the others
+     */
+    public int getSteps(EnemyEntity enemy) {
+        switch (enemy.getSimulationLevel()) {
+            case ACTIVE:
+                return 1;
+            case REDUCED:
+                return (tick + enemy.getEnemyIdentifier()) % reducedInterval == 0 ? reducedInterval : 0;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * @return the number of dormant enemies
+     */
+    public int getDormantEnemies() {
+        return dormant;
+    }
+
+    /**
+     * drop the dormant enemies
+     */
+    public void clear() {
+        Arrays.fill(dormantConfigurations, 0, dormant, null);
+        dormant = 0;
+    }
+
+    private void freeze(EnemyEntity enemy, World world, Point2d center) {
+        var pos = enemy.getPos();
+        if (Math.max(Math.abs(pos.x - center.x), Math.abs(pos.y - center.y)) > EnemyEntity.DEATH_DISTANCE) {
+            // too far to reach the player, it would have died anyway
+            world.removeEnemy(enemy.getEnemyIdentifier(), false);
+            return;
+        }
+        if (dormant < maxDormant) {
+            if (dormant == dormantX.length) {
+                int capacity = dormant * 2;
+                dormantX = Arrays.copyOf(dormantX, capacity);
+                dormantY = Arrays.copyOf(dormantY, capacity);
+                dormantHealth = Arrays.copyOf(dormantHealth, capacity);
+                dormantConfigurations = Arrays.copyOf(dormantConfigurations, capacity);
+            }
+            dormantX[dormant] = enemy.getPos().x;
+            dormantY[dormant] = enemy.getPos().y;
+            dormantHealth[dormant] = enemy.getHealth();
+            dormantConfigurations[dormant] = enemy.getConfiguration();
+            dormant++;
+        } else {
+            AppLogger.getLogger().log("too many dormant enemies, dropping enemy" + enemy.getEnemyIdentifier(),
+                    LogType.MODEL);
+        }
+        world.removeEnemy(enemy.getEnemyIdentifier(), false);
+    }
+
+    private void wake(int i, World world) {
+        var enemy = world.addEnemy(new Point2d(dormantX[i], dormantY[i]), dormantConfigurations[i]);
+        enemy.setHealth(dormantHealth[i]);
+        int last = --dormant;
+        dormantX[i] = dormantX[last];
+        dormantY[i] = dormantY[last];
+        dormantHealth[i] = dormantHealth[last];
+        dormantConfigurations[i] = dormantConfigurations[last];
+        dormantConfigurations[last] = null;
+    }
+}
@@ -0,0 +1,19 @@
+package buontyhunter.model;
+
+/**
+ * how often an enemy is simulated, based on its distance from the player
+ */
+public enum SimulationLevel {
+    /**
+     * near the player (in the camera): updated every tick
+     */
+    ACTIVE,
+    /**
+     * in the band around the camera: updated every few ticks with longer steps
+     */
+    REDUCED,
+    /**
+     * far from the player: not updated, the enemy is frozen
+     */
+    DORMANT
+}
@@ -0,0 +1,74 @@
+package buontyhunter.model;
+
+import java.util.Arrays;
+
+/**
+ * a square block of TileGrid.CHUNK_SIZE x TileGrid.CHUNK_SIZE cells of a map:
+ * the ordinal of the TileType of each cell and the solid, obstacle, water and
+ * traversable bit layers, one long for each row of the chunk. The chunks are
+ * immutable so they can be built on a loader thread and read by any thread.
+ */
+final class TileChunk {
+
+    static final int SIZE = TileGrid.CHUNK_SIZE;
+
+    /**
+     * the chunk used for the cells that aren't loaded: empty tiles that block
+     * the movement
+     */
+    static final TileChunk UNLOADED;
+
+    static {
+        byte[] cells = new byte[SIZE * SIZE];
+        Arrays.fill(cells, (byte) TileType.empty.ordinal());
+        long[] solid = new long[SIZE];
+        Arrays.fill(solid, -1L);
+        UNLOADED = new TileChunk(cells, solid, new long[SIZE], new long[SIZE], new long[SIZE]);
+    }
+
+    final byte[] cells;
+    final long[] solid;
+    final long[] obstacle;
+    final long[] water;
+    final long[] traversable;
+
+    /**
+     * @param cells the ordinal of the TileType of each cell, indexed by
+     *              localY * SIZE + localX
+     */
+    TileChunk(byte[] cells) {
+        if (cells.length != SIZE * SIZE) {
+            throw new IllegalArgumentException("a chunk must have SIZE * SIZE cells");
+        }
+        this.cells = cells;
+        this.solid = new long[SIZE];
+        this.obstacle = new long[SIZE];
+        this.water = new long[SIZE];
+        this.traversable = new long[SIZE];
+        for (int i = 0; i < cells.length; i++) {
+            var properties = TileProperties.of(cells[i]);
+            int row = i / SIZE;
+            long bit = 1L << (i % SIZE);
+            if (properties.isSolid()) {
+                solid[row] |= bit;
+            }
+            if (properties.isObstacle()) {
+                obstacle[row] |= bit;
+            }
+            if (properties.getType() == TileType.water) {
+                water[row] |= bit;
+            }
+            if (properties.isTraversable()) {
+                traversable[row] |= bit;
+            }
+        }
+    }
+
+    private TileChunk(byte[] cells, long[] solid, long[] obstacle, long[] water, long[] traversable) {
+        this.cells = cells;
+        this.solid = solid;
+        this.obstacle = obstacle;
+        this.water = water;
+        this.traversable = traversable;
+    }
+}
@@ -0,0 +1,16 @@
+package buontyhunter.model;
+
+/**
+ * reads the chunks of a map that is too big to be kept in memory; it's called
+ * by the loader thread of TileStreamer, so it must be thread safe
+ */
+@FunctionalInterface
+interface TileChunkSource {
+
+    /**
+     * @param chunkX the x of the chunk (tile x / TileGrid.CHUNK_SIZE)
+     * @param chunkY the y of the chunk (tile y / TileGrid.CHUNK_SIZE)
+     * @return the cells of the chunk
+     */
+    TileChunk load(int chunkX, int chunkY);
+}
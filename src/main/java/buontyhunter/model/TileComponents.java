@@ -0,0 +1,382 @@
+package buontyhunter.model;
+
+import java.util.Optional;
+import java.util.Random;
+
+import buontyhunter.common.Point2d;
+
+/**
+ * labels of the connected areas of a TileGrid: two cells have the same label
+ * if an entity can walk from one to the other with the moves of the path
+ * finders (8 neighbours, the diagonals are allowed next to the solid cells),
+ * so checking if a point can be reached is a comparison instead of a search.
+ * The traversable cells are also counted by rectangles, so a random cell of an
+ * area (e.g. the spawn area around the player) is picked without looking at
+ * all the cells of the area.
+ *
+ * The labels are computed once, when the components are created; MapCache
+ * keeps them with the grid, so loading the same map again doesn't label it
+ * again. The solid cells have no label.
+ *
+ * The grids of the streamed maps aren't labelled: only the chunks around the
+ * fighters are in memory and the others read as solid, so the labels would
+ * split the areas at the unloaded chunks and they would be computed again at
+ * every chunk loaded or evicted. On those grids every position is considered
+ * connected (the path finders find out when it isn't) and the random cells
+ * are only required to be traversable. The labels of a grid that isn't
+ * streamed never change, so they can be shared by the TileManagers of the
+ * game thread.
+ */
+public final class TileComponents {
+
+    /**
+     * the label of the cells that can't be walked on
+     */
+    public static final int NONE = 0;
+    /**
+     * the label of all the traversable cells of a streamed grid
+     */
+    public static final int STREAMED = -1;
+    /**
+     * the random traversable cells tried by getRandomReachableCell before
+     * looking at all the cells of the area for a connected one
+     */
+    private static final int SAMPLE_ATTEMPTS = 32;
+
+    private final TileGrid grid;
+    private final int width;
+    /**
+     * the label of each cell, null for a streamed grid
+     */
+    private final int[] labels;
+    /**
+     * the number of traversable cells above and on the left of each corner of
+     * the cells (a summed area table), so the cells of any rectangle are
+     * counted with 4 reads
+     */
+    private final int[] sums;
+    private int components;
+    private int updates;
+
+    /**
+     * @param grid the grid to label
+     */
+    public TileComponents(TileGrid grid) {
+        this.grid = grid;
+        this.width = grid.getWidth();
+        if (grid.isStreamed()) {
+            this.labels = null;
+            this.sums = null;
+        } else {
+            this.labels = new int[width * grid.getHeight()];
+            this.sums = new int[(width + 1) * (grid.getHeight() + 1)];
+            compute();
+        }
+    }
+
+    /**
+     * @return true if the cells of the grid are labelled, false for a streamed
+     *         grid
+     */
+    public boolean isLabelled() {
+        return labels != null;
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return the label of the area of the cell, NONE if the cell can't be
+     *         walked on or it's outside the map, STREAMED for the traversable
+     *         cells of a streamed grid
+     */
+    public int getLabel(int x, int y) {
+        if (!grid.contains(x, y)) {
+            return NONE;
+        }
+        if (labels == null) {
+            return grid.isTraversable(x, y) ? STREAMED : NONE;
+        }
+        return labels[y * width + x];
+    }
+
+    /**
+     * get the label of a position, the cell is chosen among the rounded
+     * coordinates like the path finders do
+     *
+     * @param point the position
+     * @return the label of the area of the position, NONE if none of its cells
+     *         can be walked on
+     */
+    public int getLabel(Point2d point) {
+        int ceilX = (int) Math.ceil(point.x);
+        int ceilY = (int) Math.ceil(point.y);
+        int floorX = (int) Math.floor(point.x);
+        int floorY = (int) Math.floor(point.y);
+        int label = getLabel(ceilX, ceilY);
+        if (label == NONE) {
+            label = getLabel(ceilX, floorY);
+        }
+        if (label == NONE) {
+            label = getLabel(floorX, ceilY);
+        }
+        if (label == NONE) {
+            label = getLabel(floorX, floorY);
+        }
+        return label;
+    }
+
+    /**
+     * @param a the first position
+     * @param b the second position
+     * @return true if there is a path between the two positions, always true
+     *         on a streamed grid
+     */
+    public boolean areConnected(Point2d a, Point2d b) {
+        if (labels == null) {
+            return true;
+        }
+        int label = getLabel(a);
+        return label != NONE && label == getLabel(b);
+    }
+
+    /**
+     * get a random traversable cell near a point that is connected to a
+     * position; on a streamed grid any traversable cell of the area
+     *
+     * @param from   the position the cell must be connected to
+     * @param center the center of the area
+     * @param radius the cells are less than radius columns and rows far from
+     *               the center, a negative radius for the whole map
+     * @param random the random generator
+     * @return the cell, Optional.empty() if there are no cells connected to the
+     *         position in the area
+     */
+    public Optional<Point2d> getRandomReachableCell(Point2d from, Point2d center, int radius, Random random) {
+        return getRandomReachableCell(from, center, -1, radius < 0 ? Double.POSITIVE_INFINITY : radius, random);
+    }
+
+    /**
+     * get a random traversable cell around a point that is connected to a
+     * position, any traversable cell on a streamed grid; all the cells of the
+     * area have the same probability
+     *
+     * @param from        the position the cell must be connected to
+     * @param center      the center of the area
+     * @param minDistance the cells are more than minDistance columns and more
+     *                    than minDistance rows far from the center
+     * @param maxDistance the cells are less than maxDistance columns and rows
+     *                    far from the center
+     * @param random      the random generator
+     * @return the cell, Optional.empty() if there are no cells connected to the
+     *         position in the area
+     */
+    public Optional<Point2d> getRandomReachableCell(Point2d from, Point2d center, double minDistance,
+            double maxDistance, Random random) {
+        int label = labels == null ? STREAMED : getLabel(from);
+        if (label == NONE) {
+            return Optional.empty();
+        }
+        // the area is made of up to 2 ranges of columns and 2 ranges of rows
+        int[] columns = new int[4];
+        int[] rows = new int[4];
+        int columnRanges = getRanges(center.x, minDistance, maxDistance, width, columns);
+        int rowRanges = getRanges(center.y, minDistance, maxDistance, grid.getHeight(), rows);
+        int[] rectangles = new int[16];
+        int[] counts = new int[4];
+        int size = 0;
+        int total = 0;
+        for (int i = 0; i < columnRanges; i++) {
+            for (int j = 0; j < rowRanges; j++) {
+                int x0 = columns[2 * i];
+                int x1 = columns[2 * i + 1];
+                int y0 = rows[2 * j];
+                int y1 = rows[2 * j + 1];
+                // a streamed grid has no sums, all the cells are candidates
+                int count = labels == null ? (x1 - x0 + 1) * (y1 - y0 + 1) : countTraversable(x0, y0, x1, y1);
+                if (count > 0) {
+                    rectangles[4 * size] = x0;
+                    rectangles[4 * size + 1] = y0;
+                    rectangles[4 * size + 2] = x1;
+                    rectangles[4 * size + 3] = y1;
+                    counts[size++] = count;
+                    total += count;
+                }
+            }
+        }
+        if (total == 0) {
+            return Optional.empty();
+        }
+
+        for (int attempt = 0; attempt < SAMPLE_ATTEMPTS; attempt++) {
+            int k = random.nextInt(total);
+            int r = 0;
+            while (k >= counts[r]) {
+                k -= counts[r++];
+            }
+            int x0 = rectangles[4 * r];
+            int y0 = rectangles[4 * r + 1];
+            int x1 = rectangles[4 * r + 2];
+            int y1 = rectangles[4 * r + 3];
+            int cell;
+            if (labels == null) {
+                int rowLength = x1 - x0 + 1;
+                cell = (y0 + k / rowLength) * width + x0 + k % rowLength;
+            } else {
+                cell = findTraversable(x0, y0, x1, y1, k);
+            }
+            if (hasLabel(cell % width, cell / width, label)) {
+                return Optional.of(new Point2d(cell % width, cell / width));
+            }
+        }
+
+        // few cells of the area are connected, one of them is picked with the
+        // same probability without storing them
+        int found = 0;
+        int cell = -1;
+        for (int r = 0; r < size; r++) {
+            for (int y = rectangles[4 * r + 1]; y <= rectangles[4 * r + 3]; y++) {
+                for (int x = rectangles[4 * r]; x <= rectangles[4 * r + 2]; x++) {
+                    if (hasLabel(x, y, label) && random.nextInt(++found) == 0) {
+                        cell = y * width + x;
+                    }
+                }
+            }
+        }
+        return cell < 0 ? Optional.empty() : Optional.of(new Point2d(cell % width, cell / width));
+    }
+
+    /**
+     * @return the number of connected areas of the map, 0 for a streamed grid
+     */
+    public int getComponents() {
+        return components;
+    }
+
+    /**
+     * @return the number of times the labels were computed, 1 for a grid
+     *         that isn't streamed and 0 for a streamed one
+     */
+    public int getUpdates() {
+        return updates;
+    }
+
+    /**
+     * write the ranges of the coordinates more than min and less than max far
+     * from the center, clipped to the map
+     *
+     * @return the number of ranges
+     */
+    private static int getRanges(double center, double min, double max, int size, int[] ranges) {
+        int count = 0;
+        if (min < 0) {
+            count = addRange(Math.floor(center - max) + 1, Math.ceil(center + max) - 1, size, ranges, count);
+        } else {
+            count = addRange(Math.floor(center - max) + 1, Math.ceil(center - min) - 1, size, ranges, count);
+            count = addRange(Math.floor(center + min) + 1, Math.ceil(center + max) - 1, size, ranges, count);
+        }
+        return count;
+    }
+
+    private static int addRange(double first, double last, int size, int[] ranges, int count) {
+        int from = (int) Math.max(0, first);
+        int to = (int) Math.min(size - 1, last);
+        if (from > to) {
+            return count;
+        }
+        ranges[2 * count] = from;
+        ranges[2 * count + 1] = to;
+        return count + 1;
+    }
+
+    /**
+     * @return the number of traversable cells in a rectangle, the last column
+     *         and row are included
+     */
+    private int countTraversable(int x0, int y0, int x1, int y1) {
+        int stride = width + 1;
+        return sums[(y1 + 1) * stride + x1 + 1] - sums[(y1 + 1) * stride + x0] - sums[y0 * stride + x1 + 1]
+                + sums[y0 * stride + x0];
+    }
+
+    /**
+     * @return the index of the k-th traversable cell of a rectangle, row by row
+     */
+    private int findTraversable(int x0, int y0, int x1, int y1, int k) {
+        int low = y0;
+        int high = y1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (countTraversable(x0, y0, x1, middle) > k) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        int y = low;
+        k -= countTraversable(x0, y0, x1, y - 1);
+        low = x0;
+        high = x1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (countTraversable(x0, y, middle, y) > k) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return y * width + low;
+    }
+
+    /**
+     * @return true if a cell is traversable and it has a label
+     */
+    private boolean hasLabel(int x, int y, int label) {
+        return grid.isTraversable(x, y) && (labels == null || labels[y * width + x] == label);
+    }
+
+    private void compute() {
+        updates++;
+        int[] queue = new int[labels.length];
+        components = 0;
+        int height = grid.getHeight();
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                labels[y * width + x] = grid.isSolid(x, y) ? NONE : -1;
+            }
+        }
+        int stride = width + 1;
+        for (int y = 0; y < height; y++) {
+            int row = 0;
+            for (int x = 0; x < width; x++) {
+                if (grid.isTraversable(x, y)) {
+                    row++;
+                }
+                sums[(y + 1) * stride + x + 1] = sums[y * stride + x + 1] + row;
+            }
+        }
+        for (int start = 0; start < labels.length; start++) {
+            if (labels[start] >= 0) {
+                continue;
+            }
+            int label = ++components;
+            int head = 0;
+            int tail = 0;
+            labels[start] = label;
+            queue[tail++] = start;
+            while (head < tail) {
+                int current = queue[head++];
+                int x = current % width;
+                int y = current / width;
+                for (int ny = Math.max(0, y - 1); ny <= Math.min(height - 1, y + 1); ny++) {
+                    for (int nx = Math.max(0, x - 1); nx <= Math.min(width - 1, x + 1); nx++) {
+                        int next = ny * width + nx;
+                        if (labels[next] < 0) {
+                            labels[next] = label;
+                            queue[tail++] = next;
+                        }
+                    }
+                }
+            }
+        }
+    }
+}
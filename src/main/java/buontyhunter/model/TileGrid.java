@@ -0,0 +1,328 @@
+package buontyhunter.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+
+import buontyhunter.common.ImageType;
+import buontyhunter.common.Point2d;
+
+/**
+ * grid of the tiles of a map, stored in square chunks of CHUNK_SIZE x
+ * CHUNK_SIZE cells with the ordinal of the TileType of each cell; the
+ * properties of the tiles are shared for each type (see TileProperties). The
+ * solid, obstacle, water and traversable cells are also precomputed in bit
+ * layers so the collision and path finding queries are a couple of array
+ * accesses.
+ * 
+ * The grids of the normal maps keep all the chunks in memory and never change.
+ * The grids of the streamed maps (see TileStreamer) only keep the chunks
+ * around the player and the enemies: the cells of the other chunks read as
+ * empty tiles that block the movement.
+ */
+public final class TileGrid {
+
+    /**
+     * the number of columns and rows of cells of a chunk
+     */
+    public static final int CHUNK_SIZE = 64;
+    private static final int CHUNK_SHIFT = 6;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private final int width;
+    private final int height;
+    private final int chunksX;
+    private final int chunksY;
+    private final TileChunk[] chunks;
+    private final TileChunkSource source;
+    private volatile int version;
+
+    /**
+     * @param width  the number of columns of the map
+     * @param height the number of rows of the map
+     * @param cells  the ordinal of the TileType of each cell, indexed by
+     *               y * width + x
+     */
+    TileGrid(int width, int height, byte[] cells) {
+        this(width, height, (TileChunkSource) null);
+        if (cells.length != width * height) {
+            throw new IllegalArgumentException("the map must have width * height cells");
+        }
+        for (int chunkY = 0; chunkY < chunksY; chunkY++) {
+            for (int chunkX = 0; chunkX < chunksX; chunkX++) {
+                byte[] chunkCells = new byte[CHUNK_SIZE * CHUNK_SIZE];
+                for (int j = 0; j < CHUNK_SIZE && chunkY * CHUNK_SIZE + j < height; j++) {
+                    int first = (chunkY * CHUNK_SIZE + j) * width + chunkX * CHUNK_SIZE;
+                    int length = Math.min(CHUNK_SIZE, width - chunkX * CHUNK_SIZE);
+                    System.arraycopy(cells, first, chunkCells, j * CHUNK_SIZE, length);
+                }
+                chunks[chunkY * chunksX + chunkX] = new TileChunk(chunkCells);
+            }
+        }
+    }
+
+    /**
+     * create a streamed grid, all the chunks are unloaded
+     * 
+     * @param width  the number of columns of the map
+     * @param height the number of rows of the map
+     * @param source the reader of the chunks
+     */
+    TileGrid(int width, int height, TileChunkSource source) {
+        this.width = width;
+        this.height = height;
+        this.chunksX = (width + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunksY = (height + CHUNK_MASK) >> CHUNK_SHIFT;
+        this.chunks = new TileChunk[chunksX * chunksY];
+        this.source = source;
+        Arrays.fill(chunks, TileChunk.UNLOADED);
+    }
+
+    private TileChunk chunkAt(int x, int y) {
+        return chunks[(y >> CHUNK_SHIFT) * chunksX + (x >> CHUNK_SHIFT)];
+    }
+
+    private static boolean get(long[] layer, int x, int y) {
+        return (layer[y & CHUNK_MASK] & (1L << (x & CHUNK_MASK))) != 0;
+    }
+
+    /**
+     * @return the number of columns of the map
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the number of rows of the map
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the cell is inside the map
+     */
+    public boolean contains(int x, int y) {
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return the index of the cell in the grid
+     */
+    public int index(int x, int y) {
+        return y * width + x;
+    }
+
+    /**
+     * get the properties of a cell, the cell must be inside the map
+     * 
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return the shared properties of the tile
+     */
+    public TileProperties getProperties(int x, int y) {
+        return TileProperties.of(chunkAt(x, y).cells[((y & CHUNK_MASK) << CHUNK_SHIFT) + (x & CHUNK_MASK)]);
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return the type of the tile
+     */
+    public TileType getType(int x, int y) {
+        return getProperties(x, y).getType();
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return the image of the tile
+     */
+    public ImageType getImage(int x, int y) {
+        return getProperties(x, y).getImage();
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the tile is solid
+     */
+    public boolean isSolid(int x, int y) {
+        return get(chunkAt(x, y).solid, x, y);
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the tile is an obstacle
+     */
+    public boolean isObstacle(int x, int y) {
+        return get(chunkAt(x, y).obstacle, x, y);
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the tile can be walked on
+     */
+    public boolean isTraversable(int x, int y) {
+        return get(chunkAt(x, y).traversable, x, y);
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the tile is water
+     */
+    public boolean isWater(int x, int y) {
+        return get(chunkAt(x, y).water, x, y);
+    }
+
+    /**
+     * @param index the index of the cell (y * width + x)
+     * @return true if the tile is solid
+     */
+    public boolean isSolid(int index) {
+        return isSolid(index % width, index / width);
+    }
+
+    /**
+     * @param index the index of the cell (y * width + x)
+     * @return true if the tile can be walked on
+     */
+    public boolean isTraversable(int index) {
+        return isTraversable(index % width, index / width);
+    }
+
+    /**
+     * @return true if the map is streamed, so only the chunks around the player
+     *         and the enemies are in memory
+     */
+    public boolean isStreamed() {
+        return source != null;
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the chunk of the cell is in memory, always true for the
+     *         maps that aren't streamed
+     */
+    public boolean isResident(int x, int y) {
+        return chunkAt(x, y) != TileChunk.UNLOADED;
+    }
+
+    /**
+     * @return the number of chunks in memory
+     */
+    public int getResidentChunks() {
+        int count = 0;
+        for (var chunk : chunks) {
+            if (chunk != TileChunk.UNLOADED) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * get a counter that changes every time a chunk is loaded or evicted, it
+     * can be used to refresh what was drawn from the grid
+     * 
+     * @return the version of the grid
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    int getChunksX() {
+        return chunksX;
+    }
+
+    int getChunksY() {
+        return chunksY;
+    }
+
+    boolean isChunkResident(int chunkX, int chunkY) {
+        return chunks[chunkY * chunksX + chunkX] != TileChunk.UNLOADED;
+    }
+
+    /**
+     * read a chunk from the source without installing it, it can be called by
+     * any thread
+     */
+    TileChunk readChunk(int chunkX, int chunkY) {
+        return source.load(chunkX, chunkY);
+    }
+
+    /**
+     * install a chunk read with readChunk, only the game thread changes the
+     * chunks
+     */
+    void setChunk(int chunkX, int chunkY, TileChunk chunk) {
+        chunks[chunkY * chunksX + chunkX] = chunk;
+        version++;
+    }
+
+    /**
+     * drop a chunk, only the game thread changes the chunks
+     */
+    void evictChunk(int chunkX, int chunkY) {
+        chunks[chunkY * chunksX + chunkX] = TileChunk.UNLOADED;
+        version++;
+    }
+
+    /**
+     * create a Tile object for a cell, the cell must be inside the map
+     * 
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return a new tile with the properties of the cell
+     */
+    public Tile getTile(int x, int y) {
+        var properties = getProperties(x, y);
+        return new Tile(properties.getImage(), properties.isObstacle(), properties.isSolid(), new Point2d(x, y),
+                properties.getType());
+    }
+
+    /**
+     * get a read-only view of the grid as rows of tiles, each access creates a
+     * new Tile: the hot paths should use the methods of the grid
+     * 
+     * @return the rows of the map
+     */
+    public List<List<Tile>> asRows() {
+        return new AbstractList<List<Tile>>() {
+            @Override
+            public List<Tile> get(int y) {
+                if (y < 0 || y >= height) {
+                    throw new IndexOutOfBoundsException(y);
+                }
+                return new AbstractList<Tile>() {
+                    @Override
+                    public Tile get(int x) {
+                        if (x < 0 || x >= width) {
+                            throw new IndexOutOfBoundsException(x);
+                        }
+                        return getTile(x, y);
+                    }
+
+                    @Override
+                    public int size() {
+                        return width;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return height;
+            }
+        };
+    }
+}
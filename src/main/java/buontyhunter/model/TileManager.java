@@ -1,12 +1,6 @@
 package buontyhunter.model;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.Map;
-
 import java.util.List;
-import buontyhunter.common.FileProvider;
-import buontyhunter.common.ImageType;
 import buontyhunter.common.Point2d;
 import buontyhunter.common.Vector2d;
 import buontyhunter.core.GameEngine;
@@ -17,200 +11,66 @@ import java.util.*;
 
 public class TileManager extends GameObject {
 
-    private List<List<Tile>> tiles;
-    private final Map<Integer, String> maps;
-    private FileProvider fileProvider;
+    private TileGrid grid = new TileGrid(0, 0, new byte[0]);
+    private TileComponents components = new TileComponents(grid);
+    private TileStreamer streamer;
+    private final Random random = new Random();
+    private final List<Point2d> streamingPoints = new ArrayList<>();
     public static final int HUB_MAP_ID = 1;
     public static final int OPEN_WORLD_MAP_ID = 0;
 
     public TileManager(GameObjectType type, Point2d pos, Vector2d vel, BoundingBox box, InputComponent input,
             GraphicsComponent graph, PhysicsComponent phys) {
         super(type, pos, vel, box, input, graph, phys);
-
-        this.tiles = new ArrayList<>();
-        fileProvider = new FileProvider();
-
-        this.maps = new HashMap<>();
-        setDefaultValueForMaps();
-    }
-
-    private void setDefaultValueForMaps() {
-
-        this.maps.put(OPEN_WORLD_MAP_ID, fileProvider.getText("/maps/map.txt").orElse(""));
-
-        this.maps.put(HUB_MAP_ID, fileProvider.getText("/maps/hubMap.txt").orElse(""));
     }
 
     public RectBoundingBox loadMap(int mapId) {
-        double height = 0, width = 0;
-        String map = maps.get(mapId);
-        String[] lines = map.split("\n");
-        height = lines.length;
-        for (int i = 0; i < lines.length; i++) {
-            String[] tiles = lines[i].split(" ");
-            List<Tile> row = new ArrayList<>();
-            width = tiles.length;
-            for (int j = 0; j < tiles.length; j++) {
-                var tileId = getTileType(Integer.parseInt(tiles[j]));
-
-                if (tileId == TileType.tree || tileId == TileType.wall || tileId == TileType.HubMiddleTopRoof
-                        || tileId == TileType.HubLeftSideTopRoof || tileId == TileType.HubRightSideTopRoof
-                        || tileId == TileType.LeftSideRoof || tileId == TileType.MidleRoof
-                        || tileId == TileType.RightSideRoof
-                        || tileId == TileType.houseFace1
-                        || tileId == TileType.houseFace2 || tileId == TileType.houseFace3
-                        || tileId == TileType.houseFace4
-                        || tileId == TileType.houseFace5 || tileId == TileType.middleQuestTable
-                        || tileId == TileType.middleQuestTable2 || tileId == TileType.middleQuestTable3
-                        || tileId == TileType.middleQuestTable4
-                        || tileId == TileType.staccionata || tileId == TileType.topQuestTable1
-                        || tileId == TileType.topQuestTable2
-                        || tileId == TileType.topQuestTable3 || tileId == TileType.topQuestTable4
-                        || tileId == TileType.houseFace6
-                        || tileId == TileType.houseFace7 || tileId == TileType.houseFace8
-                        || tileId == TileType.houseFace9
-                        || tileId == TileType.houseFace10 || tileId == TileType.houseFace11) {
-                    row.add(new Tile(resolveTyleToImageType(tileId), true, true, new Point2d(j, i), tileId));
-                } else if (tileId == TileType.water) {
-                    row.add(new Tile(resolveTyleToImageType(tileId), false, true, new Point2d(j, i), tileId));
-                } else {
-                    row.add(new Tile(resolveTyleToImageType(tileId), false, false, new Point2d(j, i), tileId));
-                }
-            }
-            this.tiles.add(row);
-        }
+        this.grid = MapCache.getInstance().getMap(mapId);
+        this.streamer = grid.isStreamed() ? new TileStreamer(grid, TileStreamer.DEFAULT_RESIDENT_RADIUS) : null;
+        this.components = MapCache.getInstance().getComponents(mapId);
+        int width = grid.getWidth();
+        int height = grid.getHeight();
 
         var bbox = new RectBoundingBox(new Point2d(0, 0), height, width);
-        if (GameEngine.RESIZATOR.getWORLD_WIDTH() > tiles.get(0).size()) {
-            GameEngine.RESIZATOR.setWORLD_WIDTH(tiles.get(0).size());
+        if (GameEngine.RESIZATOR.getWORLD_WIDTH() > width) {
+            GameEngine.RESIZATOR.setWORLD_WIDTH(width);
         }
-        if (GameEngine.RESIZATOR.getWORLD_HEIGHT() > tiles.size()) {
-            GameEngine.RESIZATOR.setWORLD_HEIGHT(tiles.size());
+        if (GameEngine.RESIZATOR.getWORLD_HEIGHT() > height) {
+            GameEngine.RESIZATOR.setWORLD_HEIGHT(height);
         }
         setBBox(bbox);
 
         return bbox;
     }
 
-    private ImageType resolveTyleToImageType(TileType tileType) {
-        switch (tileType) {
-            case GameOver:
-                return ImageType.GameOver;
-            case earth:
-                return ImageType.EARTH;
-            case grass:
-                return ImageType.GRASS;
-            case sand:
-                return ImageType.SAND;
-            case tree:
-                return ImageType.TREE;
-            case wall:
-                return ImageType.WALL;
-            case water:
-                return ImageType.WATER;
-            case HubAllPath:
-                return ImageType.HUBAllPath;
-            case HubEarth:
-                return ImageType.HUBEarth;
-            case HubMiddleTopRoof:
-                return ImageType.HubMiddleTopRoof;
-            case HubLeftSideTopRoof:
-                return ImageType.HubLeftSideTopRoof;
-            case HubRightSideTopRoof:
-                return ImageType.HubRightSideTopRoof;
-            case LeftSideRoof:
-                return ImageType.LeftSideRoof;
-            case MidleRoof:
-                return ImageType.MidleRoof;
-            case RightSideRoof:
-                return ImageType.RightSideRoof;
-            case pathParticles:
-                return ImageType.pathParticles;
-            case pathPattern1:
-                return ImageType.pathPattern1;
-            case houseFace1:
-                return ImageType.houseFace1;
-            case houseFace2:
-                return ImageType.houseFace2;
-            case houseFace3:
-                return ImageType.houseFace3;
-            case houseFace4:
-                return ImageType.houseFace4;
-            case houseFace5:
-                return ImageType.houseFace5;
-            case Cespuglio:
-                return ImageType.Cespuglio;
-            case middleQuestTable:
-                return ImageType.middleQuestTable;
-            case middleQuestTable2:
-                return ImageType.middleQuestTable2;
-            case middleQuestTable3:
-                return ImageType.middleQuestTable3;
-            case middleQuestTable4:
-                return ImageType.middleQuestTable4;
-            case staccionata:
-                return ImageType.staccionata;
-            case topQuestTable1:
-                return ImageType.topQuestTable1;
-            case topQuestTable2:
-                return ImageType.topQuestTable2;
-            case topQuestTable3:
-                return ImageType.topQuestTable3;
-            case topQuestTable4:
-                return ImageType.topQuestTable4;
-            case houseFace6:
-                return ImageType.houseFace6;
-            case houseFace7:
-                return ImageType.houseFace7;
-            case houseFace8:
-                return ImageType.houseFace8;
-            case houseFace9:
-                return ImageType.houseFace9;
-            case houseFace10:
-                return ImageType.houseFace10;
-            case houseFace11:
-                return ImageType.houseFace11;
-            case cespuglio2:
-                return ImageType.cespuglio2;
-            case pathPattern2:
-                return ImageType.pathPattern2;
-            case pathPattern3:
-                return ImageType.pathPattern3;
-            case pathPattern4:
-                return ImageType.pathPattern4;
-            case pathPattern5:
-                return ImageType.pathPattern5;
-            case pathPattern6:
-                return ImageType.pathPattern6;
-            case BottomQuestTable1:
-                return ImageType.BottomQuestTable1;
-            case BottomQuestTable2:
-                return ImageType.BottomQuestTable2;
-            case BottomQuestTable3:
-                return ImageType.BottomQuestTable3;
-            case BottomQuestTable4:
-                return ImageType.BottomQuestTable4;
-            case BottomStaccionata:
-                return ImageType.BottomStaccionata;
-            case cespuglio3:
-                return ImageType.cespuglio3;
-            case topCespuglio1:
-                return ImageType.topCespuglio1;
-            case pathPattern7:
-                return ImageType.pathPattern7;
-            case pathPattern8:
-                return ImageType.pathPattern8;
-            case pathPattern9:
-                return ImageType.pathPattern9;
-            case pathPattern10:
-                return ImageType.pathPattern10;
-            case empty:
-            default:
-                return ImageType.FALLBACK;
+    /**
+     * keep in memory the chunks of a streamed map around the player, the enemies
+     * and the boss; it does nothing for the maps that aren't streamed
+     * 
+     * @param w the world of the map
+     */
+    public void updateStreaming(World w) {
+        if (streamer == null) {
+            return;
+        }
+        var fighters = w.getFighterEntities();
+        streamingPoints.clear();
+        for (int i = 0; i < fighters.size(); i++) {
+            streamingPoints.add(fighters.get(i).getPos());
         }
+        streamer.update(streamingPoints);
+    }
+
+    /**
+     * get the streamer of the loaded map
+     * 
+     * @return the streamer, Optional.empty() if the map isn't streamed
+     */
+    public Optional<TileStreamer> getStreamer() {
+        return Optional.ofNullable(streamer);
     }
 
-    private TileType getTileType(int num) {
+    static TileType getTileType(int num) {
         switch (num) {
             case 0:
                 return TileType.earth;
@@ -325,19 +185,129 @@ public class TileManager extends GameObject {
         return TileType.empty;
     }
 
+    /**
+     * get the grid of the loaded map, the hot paths should read the tiles from
+     * here instead of getTiles
+     * 
+     * @return the grid of the loaded map
+     */
+    public TileGrid getGrid() {
+        return grid;
+    }
+
+    /**
+     * get the connected areas of the loaded map
+     * 
+     * @return the labels of the connected areas
+     */
+    public TileComponents getComponents() {
+        return components;
+    }
+
+    /**
+     * check if there is a path between two positions without searching it
+     * 
+     * @param a the first position
+     * @param b the second position
+     * @return true if the two positions are in the same connected area
+     */
+    public boolean areConnected(Point2d a, Point2d b) {
+        return components.areConnected(a, b);
+    }
+
+    /**
+     * get a random traversable cell near a point from where a position can be
+     * reached
+     * 
+     * @param from   the position to reach
+     * @param center the center of the area
+     * @param radius the cells are less than radius columns and rows far from
+     *               the center, a negative radius for the whole map
+     * @return the cell, Optional.empty() if there are no cells connected to the
+     *         position in the area
+     */
+    public Optional<Point2d> getRandomReachableCell(Point2d from, Point2d center, int radius) {
+        return components.getRandomReachableCell(from, center, radius, random);
+    }
+
+    /**
+     * get a random traversable cell around a point from where a position can be
+     * reached, without looking at all the cells of the area
+     * 
+     * @param from        the position to reach
+     * @param center      the center of the area
+     * @param minDistance the cells are more than minDistance columns and more
+     *                    than minDistance rows far from the center
+     * @param maxDistance the cells are less than maxDistance columns and rows
+     *                    far from the center
+     * @return the cell, Optional.empty() if there are no cells connected to the
+     *         position in the area
+     */
+    public Optional<Point2d> getRandomReachableCell(Point2d from, Point2d center, double minDistance,
+            double maxDistance) {
+        return components.getRandomReachableCell(from, center, minDistance, maxDistance, random);
+    }
+
+    /**
+     * get the loaded map as rows of tiles; it's a compatibility view of the
+     * grid that creates a Tile at each access
+     * 
+     * @return the rows of the loaded map
+     */
     public List<List<Tile>> getTiles() {
-        return tiles;
+        return grid.asRows();
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the cell is inside the map
+     */
+    public boolean isInside(int x, int y) {
+        return grid.contains(x, y);
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the cell is inside the map and solid
+     */
+    public boolean isSolid(int x, int y) {
+        return grid.contains(x, y) && grid.isSolid(x, y);
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the cell is inside the map and an obstacle
+     */
+    public boolean isObstacle(int x, int y) {
+        return grid.contains(x, y) && grid.isObstacle(x, y);
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the cell is inside the map and water
+     */
+    public boolean isWater(int x, int y) {
+        return grid.contains(x, y) && grid.isWater(x, y);
+    }
+
+    /**
+     * @param x the column of the cell
+     * @param y the row of the cell
+     * @return true if the cell is inside the map and can be walked on
+     */
+    public boolean isTraversable(int x, int y) {
+        return grid.contains(x, y) && grid.isTraversable(x, y);
     }
 
     public Optional<Tile> getTileFromPosition(Point2d point) {
         int xTopLeft = (int) point.x;
         int yTopLeft = (int) point.y;
-        var tiles = getTiles();
-        if (tiles.size() > yTopLeft
-                && tiles.get(0).size() > xTopLeft
-                && yTopLeft >= 0
-                && xTopLeft >= 0) {
-            return Optional.of(tiles.get(yTopLeft).get(xTopLeft));
+        if (grid.contains(xTopLeft, yTopLeft)) {
+            return Optional.of(grid.getTile(xTopLeft, yTopLeft));
         }
         return Optional.empty();
     }
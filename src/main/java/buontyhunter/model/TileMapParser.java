@@ -0,0 +1,146 @@
+package buontyhunter.model;
+
+import java.util.Arrays;
+
+/**
+ * parser of the text maps (one row of tile ids separated by spaces for each
+ * line); it reads the ids directly from the bytes of the file into the cells
+ * of the grid, without creating a String for each line or token
+ */
+public final class TileMapParser {
+
+    /**
+     * the highest tile id used by the maps, the ids above it are empty tiles
+     */
+    private static final int MAX_TILE_ID = 53;
+
+    /**
+     * the ordinal of the TileType of each tile id
+     */
+    private static final byte[] ORDINALS = new byte[MAX_TILE_ID + 1];
+
+    static {
+        for (int id = 0; id <= MAX_TILE_ID; id++) {
+            ORDINALS[id] = (byte) TileManager.getTileType(id).ordinal();
+        }
+    }
+
+    private static final byte EMPTY = (byte) TileType.empty.ordinal();
+
+    private TileMapParser() {
+    }
+
+    /**
+     * parse a text map; the width of the map is the number of ids of the first
+     * row, the missing cells of the shorter rows are empty and the blank lines
+     * are ignored
+     *
+     * @param data the content of the map file
+     * @return the grid of the map
+     * @throws IllegalArgumentException if the map contains something that is not
+     *                                  a tile id
+     */
+    public static TileGrid parse(byte[] data) {
+        int width = 0;
+        int height = 0;
+        int tokens = 0;
+        boolean inToken = false;
+        for (int i = 0; i < data.length; i++) {
+            byte b = data[i];
+            if (b == '\n') {
+                if (inToken) {
+                    tokens++;
+                }
+                if (tokens > 0) {
+                    if (height == 0) {
+                        width = tokens;
+                    }
+                    height++;
+                }
+                tokens = 0;
+                inToken = false;
+            } else if (isBlank(b)) {
+                if (inToken) {
+                    tokens++;
+                }
+                inToken = false;
+            } else {
+                inToken = true;
+            }
+        }
+        if (inToken) {
+            tokens++;
+        }
+        if (tokens > 0) {
+            if (height == 0) {
+                width = tokens;
+            }
+            height++;
+        }
+
+        byte[] cells = new byte[width * height];
+        Arrays.fill(cells, EMPTY);
+        int row = 0;
+        int column = 0;
+        int i = 0;
+        while (i < data.length) {
+            byte b = data[i];
+            if (b == '\n') {
+                if (column > 0) {
+                    row++;
+                }
+                column = 0;
+                i++;
+            } else if (isBlank(b)) {
+                i++;
+            } else {
+                boolean negative = b == '-';
+                if (negative) {
+                    i++;
+                }
+                int id = 0;
+                int start = i;
+                while (i < data.length && data[i] >= '0' && data[i] <= '9') {
+                    if (id <= MAX_TILE_ID) {
+                        id = id * 10 + (data[i] - '0');
+                    }
+                    i++;
+                }
+                if (i == start || (i < data.length && !isBlank(data[i]) && data[i] != '\n')) {
+                    throw new IllegalArgumentException("Invalid tile id at byte " + i);
+                }
+                if (column < width) {
+                    cells[row * width + column] = negative ? EMPTY : ordinalOf(id);
+                }
+                column++;
+            }
+        }
+        return new TileGrid(width, height, cells);
+    }
+
+    /**
+     * @param id the tile id used in the map files
+     * @return the ordinal of the TileType of the id
+     */
+    static byte ordinalOf(int id) {
+        return id < 0 || id > MAX_TILE_ID ? EMPTY : ORDINALS[id];
+    }
+
+    /**
+     * @param type     a TileType
+     * @param fallback the value returned if the type has no tile id
+     * @return the tile id used in the map files for the type
+     */
+    static int idOf(TileType type, int fallback) {
+        for (int id = 0; id <= MAX_TILE_ID; id++) {
+            if (ORDINALS[id] == type.ordinal()) {
+                return id;
+            }
+        }
+        return fallback;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\r' || b == '\t';
+    }
+}
@@ -0,0 +1,226 @@
+package buontyhunter.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import buontyhunter.common.ImageType;
+
+/**
+ * the properties shared by all the tiles of a type (image, solid, obstacle);
+ * there is a single instance for each TileType so the map only needs to store
+ * the type of each cell
+ */
+public final class TileProperties {
+
+    /**
+     * the types that block both the player and the enemies
+     */
+    private static final Set<TileType> SOLID_OBSTACLES = EnumSet.of(TileType.tree, TileType.wall,
+            TileType.HubMiddleTopRoof, TileType.HubLeftSideTopRoof, TileType.HubRightSideTopRoof,
+            TileType.LeftSideRoof, TileType.MidleRoof, TileType.RightSideRoof,
+            TileType.houseFace1, TileType.houseFace2, TileType.houseFace3, TileType.houseFace4,
+            TileType.houseFace5, TileType.middleQuestTable, TileType.middleQuestTable2,
+            TileType.middleQuestTable3, TileType.middleQuestTable4, TileType.staccionata,
+            TileType.topQuestTable1, TileType.topQuestTable2, TileType.topQuestTable3, TileType.topQuestTable4,
+            TileType.houseFace6, TileType.houseFace7, TileType.houseFace8, TileType.houseFace9,
+            TileType.houseFace10, TileType.houseFace11);
+
+    private static final TileProperties[] PROPERTIES = new TileProperties[TileType.values().length];
+
+    static {
+        for (var type : TileType.values()) {
+            if (SOLID_OBSTACLES.contains(type)) {
+                PROPERTIES[type.ordinal()] = new TileProperties(type, resolveTyleToImageType(type), true, true);
+            } else if (type == TileType.water) {
+                PROPERTIES[type.ordinal()] = new TileProperties(type, resolveTyleToImageType(type), false, true);
+            } else {
+                PROPERTIES[type.ordinal()] = new TileProperties(type, resolveTyleToImageType(type), false, false);
+            }
+        }
+    }
+
+    private final TileType type;
+    private final ImageType image;
+    private final boolean isObstacle;
+    private final boolean isSolid;
+
+    private TileProperties(TileType type, ImageType image, boolean isObstacle, boolean isSolid) {
+        this.type = type;
+        this.image = image;
+        this.isObstacle = isObstacle;
+        this.isSolid = isSolid;
+    }
+
+    /**
+     * get the properties of a type of tile
+     * 
+     * @param type the type of the tile
+     * @return the shared properties of the type
+     */
+    public static TileProperties of(TileType type) {
+        return PROPERTIES[type.ordinal()];
+    }
+
+    /**
+     * get the properties of a type of tile from its ordinal
+     * 
+     * @param ordinal the ordinal of the TileType
+     * @return the shared properties of the type
+     */
+    static TileProperties of(int ordinal) {
+        return PROPERTIES[ordinal];
+    }
+
+    /**
+     * @return the type of the tile
+     */
+    public TileType getType() {
+        return type;
+    }
+
+    /**
+     * @return the image of the tile
+     */
+    public ImageType getImage() {
+        return image;
+    }
+
+    /**
+     * @return true if the tile is an obstacle
+     */
+    public boolean isObstacle() {
+        return isObstacle;
+    }
+
+    /**
+     * @return true if the tile is solid
+     */
+    public boolean isSolid() {
+        return isSolid;
+    }
+
+    /**
+     * @return true if the tile can be walked on
+     */
+    public boolean isTraversable() {
+        return !isObstacle && !isSolid;
+    }
+
+    private static ImageType resolveTyleToImageType(TileType tileType) {
+        switch (tileType) {
+            case GameOver:
+                return ImageType.GameOver;
+            case earth:
+                return ImageType.EARTH;
+            case grass:
+                return ImageType.GRASS;
+            case sand:
+                return ImageType.SAND;
+            case tree:
+                return ImageType.TREE;
+            case wall:
+                return ImageType.WALL;
+            case water:
+                return ImageType.WATER;
+            case HubAllPath:
+                return ImageType.HUBAllPath;
+            case HubEarth:
+                return ImageType.HUBEarth;
+            case HubMiddleTopRoof:
+                return ImageType.HubMiddleTopRoof;
+            case HubLeftSideTopRoof:
+                return ImageType.HubLeftSideTopRoof;
+            case HubRightSideTopRoof:
+                return ImageType.HubRightSideTopRoof;
+            case LeftSideRoof:
+                return ImageType.LeftSideRoof;
+            case MidleRoof:
+                return ImageType.MidleRoof;
+            case RightSideRoof:
+                return ImageType.RightSideRoof;
+            case pathParticles:
+                return ImageType.pathParticles;
+            case pathPattern1:
+                return ImageType.pathPattern1;
+            case houseFace1:
+                return ImageType.houseFace1;
+            case houseFace2:
+                return ImageType.houseFace2;
+            case houseFace3:
+                return ImageType.houseFace3;
+            case houseFace4:
+                return ImageType.houseFace4;
+            case houseFace5:
+                return ImageType.houseFace5;
+            case Cespuglio:
+                return ImageType.Cespuglio;
+            case middleQuestTable:
+                return ImageType.middleQuestTable;
+            case middleQuestTable2:
+                return ImageType.middleQuestTable2;
+            case middleQuestTable3:
+                return ImageType.middleQuestTable3;
+            case middleQuestTable4:
+                return ImageType.middleQuestTable4;
+            case staccionata:
+                return ImageType.staccionata;
+            case topQuestTable1:
+                return ImageType.topQuestTable1;
+            case topQuestTable2:
+                return ImageType.topQuestTable2;
+            case topQuestTable3:
+                return ImageType.topQuestTable3;
+            case topQuestTable4:
+                return ImageType.topQuestTable4;
+            case houseFace6:
+                return ImageType.houseFace6;
+            case houseFace7:
+                return ImageType.houseFace7;
+            case houseFace8:
+                return ImageType.houseFace8;
+            case houseFace9:
+                return ImageType.houseFace9;
+            case houseFace10:
+                return ImageType.houseFace10;
+            case houseFace11:
+                return ImageType.houseFace11;
+            case cespuglio2:
+                return ImageType.cespuglio2;
+            case pathPattern2:
+                return ImageType.pathPattern2;
+            case pathPattern3:
+                return ImageType.pathPattern3;
+            case pathPattern4:
+                return ImageType.pathPattern4;
+            case pathPattern5:
+                return ImageType.pathPattern5;
+            case pathPattern6:
+                return ImageType.pathPattern6;
+            case BottomQuestTable1:
+                return ImageType.BottomQuestTable1;
+            case BottomQuestTable2:
+                return ImageType.BottomQuestTable2;
+            case BottomQuestTable3:
+                return ImageType.BottomQuestTable3;
+            case BottomQuestTable4:
+                return ImageType.BottomQuestTable4;
+            case BottomStaccionata:
+                return ImageType.BottomStaccionata;
+            case cespuglio3:
+                return ImageType.cespuglio3;
+            case topCespuglio1:
+                return ImageType.topCespuglio1;
+            case pathPattern7:
+                return ImageType.pathPattern7;
+            case pathPattern8:
+                return ImageType.pathPattern8;
+            case pathPattern9:
+                return ImageType.pathPattern9;
+            case pathPattern10:
+                return ImageType.pathPattern10;
+            case empty:
+            default:
+                return ImageType.FALLBACK;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package buontyhunter.model;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import buontyhunter.common.Logger.AppLogger;
+import buontyhunter.common.Logger.LogType;
+import buontyhunter.common.Point2d;
+
+/**
+ * keeps in memory the chunks of a streamed TileGrid around some points (the
+ * player, the enemies and the boss): the chunks within the resident radius of
+ * a point are loaded immediately, the ones in the ring right outside it are
+ * loaded ahead of the movement by a background thread, and the ones farther
+ * than the eviction radius from all the points are dropped.
+ *
+ * update must be called by the game thread, which is the only one that
+ * changes the chunks of the grid.
+ */
+public class TileStreamer {
+
+    /**
+     * the default radius, in chunks, of the area kept in memory around each
+     * point
+     */
+    public static final int DEFAULT_RESIDENT_RADIUS = 1;
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(r -> {
+        var thread = new Thread(r, "tile-streamer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final TileGrid grid;
+    private final int residentRadius;
+    private final int evictRadius;
+    private final Set<Integer> resident = new HashSet<>();
+    private final Set<Integer> pending = new HashSet<>();
+    private final Queue<LoadedChunk> loaded = new ConcurrentLinkedQueue<>();
+    private final List<Integer> toEvict = new ArrayList<>();
+    private int[] focusChunks = new int[0];
+    private int syncLoads;
+
+    /**
+     * @param grid           the streamed grid
+     * @param residentRadius the radius, in chunks, of the area kept in memory
+     *                       around each point
+     */
+    public TileStreamer(TileGrid grid, int residentRadius) {
+        if (!grid.isStreamed()) {
+            throw new IllegalArgumentException("the grid is not streamed");
+        }
+        this.grid = grid;
+        this.residentRadius = residentRadius;
+        this.evictRadius = residentRadius + 2;
+        // the grids are shared, another streamer may have left some chunks loaded
+        for (int chunkY = 0; chunkY < grid.getChunksY(); chunkY++) {
+            for (int chunkX = 0; chunkX < grid.getChunksX(); chunkX++) {
+                if (grid.isChunkResident(chunkX, chunkY)) {
+                    resident.add(chunkY * grid.getChunksX() + chunkX);
+                }
+            }
+        }
+    }
+
+    /**
+     * load and evict the chunks for the new positions of the points
+     *
+     * @param points the positions, in tiles, that need the map around them
+     */
+    public void update(List<Point2d> points) {
+        installLoadedChunks();
+
+        if (focusChunks.length != points.size() * 2) {
+            focusChunks = new int[points.size() * 2];
+        }
+        for (int i = 0; i < points.size(); i++) {
+            focusChunks[i * 2] = clamp((int) points.get(i).x / TileGrid.CHUNK_SIZE, grid.getChunksX());
+            focusChunks[i * 2 + 1] = clamp((int) points.get(i).y / TileGrid.CHUNK_SIZE, grid.getChunksY());
+        }
+
+        for (int i = 0; i < focusChunks.length; i += 2) {
+            int centerX = focusChunks[i];
+            int centerY = focusChunks[i + 1];
+            int preloadRadius = residentRadius + 1;
+            for (int chunkY = centerY - preloadRadius; chunkY <= centerY + preloadRadius; chunkY++) {
+                for (int chunkX = centerX - preloadRadius; chunkX <= centerX + preloadRadius; chunkX++) {
+                    if (chunkX < 0 || chunkY < 0 || chunkX >= grid.getChunksX() || chunkY >= grid.getChunksY()
+                            || grid.isChunkResident(chunkX, chunkY)) {
+                        continue;
+                    }
+                    int distance = Math.max(Math.abs(chunkX - centerX), Math.abs(chunkY - centerY));
+                    if (distance <= residentRadius) {
+                        // needed now, it can't wait for the loader
+                        install(chunkX, chunkY, grid.readChunk(chunkX, chunkY));
+                        syncLoads++;
+                    } else {
+                        requestChunk(chunkX, chunkY);
+                    }
+                }
+            }
+        }
+
+        toEvict.clear();
+        for (int index : resident) {
+            if (isFarFromAllPoints(index % grid.getChunksX(), index / grid.getChunksX())) {
+                toEvict.add(index);
+            }
+        }
+        for (int index : toEvict) {
+            resident.remove(index);
+            grid.evictChunk(index % grid.getChunksX(), index / grid.getChunksX());
+        }
+    }
+
+    /**
+     * @return the number of chunks that were needed before the loader thread
+     *         could load them, so they were loaded by the game thread
+     */
+    public int getSyncLoads() {
+        return syncLoads;
+    }
+
+    /**
+     * @return the number of chunks in memory
+     */
+    public int getResidentChunks() {
+        return resident.size();
+    }
+
+    /**
+     * @return true if the loader thread has some chunks to load or install
+     */
+    public boolean isLoading() {
+        return !pending.isEmpty();
+    }
+
+    private void requestChunk(int chunkX, int chunkY) {
+        int index = chunkY * grid.getChunksX() + chunkX;
+        if (pending.add(index)) {
+            LOADER.execute(() -> {
+                try {
+                    loaded.add(new LoadedChunk(chunkX, chunkY, grid.readChunk(chunkX, chunkY)));
+                } catch (RuntimeException e) {
+                    AppLogger.getLogger().log("Failed to load chunk " + chunkX + "," + chunkY + ": " + e,
+                            LogType.MODEL);
+                    loaded.add(new LoadedChunk(chunkX, chunkY, null));
+                }
+            });
+        }
+    }
+
+    private void installLoadedChunks() {
+        LoadedChunk chunk;
+        while ((chunk = loaded.poll()) != null) {
+            pending.remove(chunk.chunkY * grid.getChunksX() + chunk.chunkX);
+            // the points may have moved away while the chunk was loading
+            if (chunk.chunk != null && !grid.isChunkResident(chunk.chunkX, chunk.chunkY)
+                    && !isFarFromAllPoints(chunk.chunkX, chunk.chunkY)) {
+                install(chunk.chunkX, chunk.chunkY, chunk.chunk);
+            }
+        }
+    }
+
+    private void install(int chunkX, int chunkY, TileChunk chunk) {
+        grid.setChunk(chunkX, chunkY, chunk);
+        resident.add(chunkY * grid.getChunksX() + chunkX);
+    }
+
+    private boolean isFarFromAllPoints(int chunkX, int chunkY) {
+        for (int i = 0; i < focusChunks.length; i += 2) {
+            if (Math.max(Math.abs(chunkX - focusChunks[i]), Math.abs(chunkY - focusChunks[i + 1])) <= evictRadius) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int clamp(int chunk, int chunks) {
+        return Math.max(0, Math.min(chunks - 1, chunk));
+    }
+
+    private static class LoadedChunk {
+        private final int chunkX;
+        private final int chunkY;
+        private final TileChunk chunk;
+
+        LoadedChunk(int chunkX, int chunkY, TileChunk chunk) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.chunk = chunk;
+        }
+    }
+}
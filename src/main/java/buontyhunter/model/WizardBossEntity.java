@@ -16,7 +16,6 @@ import buontyhunter.model.AI.enemySpawner.EnemyType;
 import buontyhunter.model.AI.pathFinding.AIEnemyFollowPathHelper;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * This class is used to represent a wizard boss entity
@@ -81,7 +80,7 @@ public class WizardBossEntity extends FighterEntity {
         enemySpawner = new EnemySpawnerFixed(3);
 
         var aiFactory = new AIFactoryImpl();
-        followPathHelper = aiFactory.CreateEnemyFollowPathHelper(AIFactoryImpl.PathFinderType.AStar, false);
+        followPathHelper = aiFactory.CreateEnemyFollowPathHelper(AIFactoryImpl.PathFinderType.DStarLite, false);
     }
 
     /**
@@ -89,38 +88,19 @@ public class WizardBossEntity extends FighterEntity {
      * 
      * @param w
      * @param maxDistance -1 if none
-     * @return a random available point
+     * @return a random available point, the position of the boss if the player
+     *         can't be reached from the area
      */
     private Point2d generateAvailablePoint(World w, int maxDistance) {
-        // get a list of tile, getTiles is list<list<tile>> I want list<tile>
-        List<Point2d> path;
-        Point2d startPoint;
-        do {
-            var availablePoints = flattenList(w.getTileManager().getTiles()).stream()
-                    .filter(tile -> tile.isTraversable())
-                    .filter(tile -> maxDistance < 0 || (tile.getPoint().deltaX(getPos()) < maxDistance)
-                            && (tile.getPoint().deltaY(getPos()) < maxDistance))
-                    .collect(Collectors.toList());
-            var random = new Random();
-            startPoint = availablePoints.get(random.nextInt(availablePoints.size())).getPoint();
-            var pathFinder = new AIFactoryImpl().CreatePathFinder(AIFactoryImpl.PathFinderType.AStar, false);
-            path = pathFinder.findPath(startPoint, w.getPlayer().getPos(), w.getTileManager().getTiles(),
-                    new HashSet<>());
-        } while (path.isEmpty());
-
-        return startPoint;
+        // a traversable cell near the boss from where the player can be reached
+        var point = w.getTileManager().getRandomReachableCell(w.getPlayer().getPos(), getPos(), maxDistance);
+        return point.orElseGet(() -> getPos().duplicate());
     }
 
     private Weapon generateWeapon() {
         return WeaponFactory.getInstance().createBossBow(this, getLevel());
     }
 
-    private List<Tile> flattenList(List<List<Tile>> listOfLists) {
-        return listOfLists.stream()
-                .flatMap(List::stream)
-                .collect(Collectors.toList());
-    }
-
     private boolean checkNearPlayer(World world) {
         var playerPos = world.getPlayer().getPos();
         var currentPos = getPos();
@@ -196,7 +176,7 @@ public class WizardBossEntity extends FighterEntity {
             w.setEnemySpawnActive(false);
         } else {
             w.setEnemySpawnActive(true);
-            nextPos = followPathHelper.moveItem(getPos(), currentTarget, speed, w.getTileManager().getTiles());
+            nextPos = followPathHelper.moveItem(getPos(), currentTarget, speed, w.getTileManager().getGrid());
             if (nextPos.equals(currentPos)) {
                 generateTargetPoint(w);
             }
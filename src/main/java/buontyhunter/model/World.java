@@ -10,13 +10,21 @@ import buontyhunter.core.WinnerType;
 import buontyhunter.model.AI.enemySpawner.EnemyConfiguration;
 import buontyhunter.model.AI.enemySpawner.EnemyRegistry;
 import buontyhunter.model.AI.enemySpawner.EnemyRegistryImpl;
+import buontyhunter.model.AI.pathFinding.FlowField;
+import buontyhunter.model.AI.pathFinding.PathfindingService;
 import buontyhunter.model.event.ChangeWorldEvent;
 import buontyhunter.model.event.GameOverEvent;
 import buontyhunter.physics.BoundaryCollision;
 
 import java.util.ArrayList;
+import java.util.Collections;
 
 public class World {
+    /**
+     * the maximum distance, in moves, of the flow field toward the player
+     */
+    public static final int PLAYER_FLOW_FIELD_RADIUS = 64;
+
     private GameObject player;
     private TileManager tileManager;
     private RectBoundingBox mainBBox;
@@ -31,6 +39,19 @@ public class World {
     private LoadingBar loadingBar;
     private WizardBossEntity wizardBoss;
     private InventoryObject inventory;
+    private final FlowField playerFlowField = new FlowField(PLAYER_FLOW_FIELD_RADIUS);
+    private final FighterGrid fighterGrid = new FighterGrid(FighterGrid.DEFAULT_CELL_SIZE);
+    private final EnemyAIPhase enemyAIPhase = new EnemyAIPhase(EnemyAIPhase.DEFAULT_PARALLEL_THRESHOLD);
+    private final SimulationLOD simulationLOD = new SimulationLOD(SimulationLOD.DEFAULT_ACTIVE_RANGE,
+            SimulationLOD.DEFAULT_REDUCED_RANGE, SimulationLOD.DEFAULT_REDUCED_INTERVAL,
+            SimulationLOD.DEFAULT_MAX_DORMANT);
+    /**
+     * the lists of the entities, built again only when the entities change;
+     * entitiesEnemies is the list of the enemies they were built with
+     */
+    private List<FighterEntity> fighters;
+    private List<GameObject> sceneEntities;
+    private List<EnemyEntity> entitiesEnemies;
 
     public World(RectBoundingBox bbox) {
         mainBBox = bbox;
@@ -54,7 +75,14 @@ public class World {
      * @param wizardBoss the new wizard boss
      */
     public void setWizardBoss(WizardBossEntity wizardBoss) {
+        if (this.wizardBoss != null) {
+            fighterGrid.remove(this.wizardBoss);
+        }
         this.wizardBoss = wizardBoss;
+        if (wizardBoss != null) {
+            fighterGrid.update(wizardBoss);
+        }
+        invalidateEntities();
     }
 
     /**
@@ -73,6 +101,7 @@ public class World {
      */
     public void setInventory(InventoryObject inventory) {
         this.inventory = inventory;
+        invalidateEntities();
     }
 
     /**
@@ -109,6 +138,7 @@ public class World {
      */
     public void setHealthBar(HealthBar healthBar) {
         this.healthBar = healthBar;
+        invalidateEntities();
     }
 
     /**
@@ -119,6 +149,7 @@ public class World {
      */
     public void setTileManager(TileManager tileManager, int settedMap) {
         this.tileManager = tileManager;
+        invalidateEntities();
         laodMap(settedMap);
     }
 
@@ -129,6 +160,7 @@ public class World {
      */
     public void setTeleporter(Teleporter tp) {
         this.tp = tp;
+        invalidateEntities();
     }
 
     /**
@@ -137,7 +169,14 @@ public class World {
      * @param player the new player
      */
     public void setPlayer(GameObject player) {
+        if (this.player instanceof FighterEntity) {
+            fighterGrid.remove((FighterEntity) this.player);
+        }
         this.player = player;
+        if (player instanceof FighterEntity) {
+            fighterGrid.update((FighterEntity) player);
+        }
+        invalidateEntities();
     }
 
     /**
@@ -147,6 +186,7 @@ public class World {
      */
     public void setMiniMap(HidableObject miniMap) {
         this.miniMap = miniMap;
+        invalidateEntities();
     }
 
     /**
@@ -156,6 +196,7 @@ public class World {
      */
     public void setNavigatorLine(NavigatorLine navigatorLine) {
         this.navigatorLine = navigatorLine;
+        invalidateEntities();
     }
 
     /**
@@ -165,6 +206,7 @@ public class World {
      */
     public void addInterractableArea(InterractableArea area) {
         interractableAreas.add(area);
+        invalidateEntities();
     }
 
     /**
@@ -195,22 +237,47 @@ public class World {
     }
 
     /**
-     * get a list of all the FigherEntity of the world (player, enemies, boss)
+     * get a list of all the FigherEntity of the world (player, enemies, boss);
+     * the list can't be modified and it's built again only when the entities
+     * change
      * 
      * @return list of all the FigherEntity of the world (player, enemies, boss)
      */
     public List<FighterEntity> getFighterEntities() {
-        List<FighterEntity> entities = new ArrayList<FighterEntity>();
-        if (player != null) {
-            entities.add((FighterEntity) player);
+        var enemies = getEnemies();
+        if (fighters == null || enemies != entitiesEnemies) {
+            List<FighterEntity> entities = new ArrayList<FighterEntity>();
+            if (player != null) {
+                entities.add((FighterEntity) player);
+            }
+            entities.addAll(enemies);
+            if (wizardBoss != null) {
+                entities.add(wizardBoss);
+            }
+            fighters = Collections.unmodifiableList(entities);
+            sceneEntities = null;
+            entitiesEnemies = enemies;
         }
-        for (var enemy : getEnemies()) {
-            entities.add(enemy);
+        return fighters;
+    }
+
+    private void invalidateEntities() {
+        fighters = null;
+        sceneEntities = null;
+    }
+
+    /**
+     * store the current position of the moving entities of the world (player,
+     * enemies, boss) as their position in the previous simulation tick
+     */
+    public void savePreviousPositions() {
+        if (player != null) {
+            player.savePreviousPos();
         }
+        enemyRegistry.getStore().savePreviousPositions();
         if (wizardBoss != null) {
-            entities.add(wizardBoss);
+            wizardBoss.savePreviousPos();
         }
-        return entities;
     }
 
     private boolean isGameInPause() {
@@ -238,6 +305,7 @@ public class World {
             processAiInput();
             if (player != null) {
                 player.updatePhysics(dt, this);
+                fighterGrid.update((FighterEntity) player);
                 if (((FighterEntity) player).getWeapon() != null) {
                     ((FighterEntity) player).getDamagingArea().updatePhysics(dt, this);
                 }
@@ -252,16 +320,29 @@ public class World {
                 tp.updatePhysics(dt, this);
             }
 
-            this.interractableAreas.forEach(area -> area.updatePhysics(dt, this));
-            for (var enemy : getEnemies()) {
-                enemy.updatePhysics(dt, this);
+            for (int i = 0; i < interractableAreas.size(); i++) {
+                interractableAreas.get(i).updatePhysics(dt, this);
+            }
+            // the enemies removed while updating are still in this list
+            var enemies = getEnemies();
+            for (int i = 0; i < enemies.size(); i++) {
+                var enemy = enemies.get(i);
+                int steps = simulationLOD.getSteps(enemy);
+                if (steps == 0) {
+                    continue;
+                }
+                enemy.updatePhysics(dt * steps, this);
+                if (enemyRegistry.getEnemy(enemy.getEnemyIdentifier()) == enemy) {
+                    fighterGrid.update(enemy);
+                }
                 if (enemy.getWeapon() != null) {
-                    enemy.getDamagingArea().updatePhysics(dt, this);
+                    enemy.getDamagingArea().updatePhysics(dt * steps, this);
                 }
             }
 
             if (wizardBoss != null) {
                 wizardBoss.updatePhysics(dt, this);
+                fighterGrid.update(wizardBoss);
                 if (wizardBoss.getWeapon() != null) {
                     wizardBoss.getDamagingArea().updatePhysics(dt, this);
                 }
@@ -270,16 +351,54 @@ public class World {
     }
 
     /**
-     * process the input of all the enemies of the world
+     * get the spatial grid of the fighters of the world; each fighter is moved
+     * in it where it moves (the input of the player, the moves applied by the
+     * EnemyAIPhase, the physics) and added or removed with it
+     * 
+     * @return the grid of the fighters
+     */
+    public FighterGrid getFighterGrid() {
+        return fighterGrid;
+    }
+
+    /**
+     * process the input of all the enemies of the world: the searches waiting
+     * for the budget of the PathfindingService are sent, the far enemies go to
+     * sleep and the near dormant ones wake up, the moves of the enemies
+     * simulated in this tick are planned in parallel and applied in order,
+     * then the new enemies are spawned
      * 
      */
     public void processAiInput() {
-        for (var enemy : getEnemies()) {
-            enemy.updateInput(null, this);
+        PathfindingService.getInstance().beginTick();
+        if (player != null && tileManager != null && tileManager.getGrid() != null) {
+            playerFlowField.update(tileManager.getGrid(), (int) player.getPos().x, (int) player.getPos().y);
         }
+        simulationLOD.update(this);
+        enemyAIPhase.run(this);
         generateEnemy();
     }
 
+    /**
+     * get the level of detail of the simulation of the enemies; it's updated
+     * by processAiInput every tick
+     * 
+     * @return the level of detail of the simulation of the enemies
+     */
+    public SimulationLOD getSimulationLOD() {
+        return simulationLOD;
+    }
+
+    /**
+     * get the flow field toward the player, shared by all the enemies; it's
+     * updated by processAiInput when the player changes tile
+     * 
+     * @return the flow field toward the player
+     */
+    public FlowField getPlayerFlowField() {
+        return playerFlowField;
+    }
+
     /**
      * notify the event listener of the world of a new event, add it to the event
      * queue in the gameEngine
@@ -342,6 +461,7 @@ public class World {
      */
     public void setQuestJournal(HidableObject questJournal) {
         this.questJournal = questJournal;
+        invalidateEntities();
     }
 
     /**
@@ -364,11 +484,18 @@ public class World {
 
     /**
      * get all the scene entities of the world (FigherEntity, TileManager,
-     * Teleporter, HealthBar, MiniMap, QuestJournal, Inventory, InterractableArea)
+     * Teleporter, HealthBar, MiniMap, QuestJournal, Inventory, InterractableArea);
+     * the list can't be modified and it's built again only when the entities
+     * change
      * 
      * @return list of all the entities of the world
      */
     public List<GameObject> getSceneEntities() {
+        // drops the scene entities if the enemies changed
+        getFighterEntities();
+        if (sceneEntities != null) {
+            return sceneEntities;
+        }
         List<GameObject> entities = new ArrayList<GameObject>();
         if (tileManager != null)
             entities.add(tileManager);
@@ -380,9 +507,7 @@ public class World {
             entities.add(navigatorLine);
         if (tp != null)
             entities.add(tp);
-        for (var enemy : getEnemies()) {
-            entities.add(enemy);
-        }
+        entities.addAll(getEnemies());
         if (healthBar != null)
             entities.add(healthBar);
         if (miniMap != null)
@@ -393,8 +518,9 @@ public class World {
         if (inventory != null)
             entities.add(inventory);
 
-        this.interractableAreas.forEach(area -> entities.add(area));
-        return entities;
+        entities.addAll(interractableAreas);
+        sceneEntities = Collections.unmodifiableList(entities);
+        return sceneEntities;
     }
 
     /**
@@ -449,9 +575,12 @@ public class World {
      * 
      * @param pos  the position of the new enemy
      * @param conf the configuration of the new enemy
+     * @return the new enemy
      */
-    public void addEnemy(Point2d pos, EnemyConfiguration conf) {
-        enemyRegistry.addEnemy(pos, conf);
+    public EnemyEntity addEnemy(Point2d pos, EnemyConfiguration conf) {
+        var enemy = enemyRegistry.addEnemy(pos, conf);
+        fighterGrid.update(enemy);
+        return enemy;
     }
 
     /**
@@ -461,8 +590,12 @@ public class World {
      * @param killed          true if the enemy was killed, false otherwise
      */
     public void removeEnemy(int enemyIdentifier, boolean killed) {
+        var enemy = enemyRegistry.getEnemy(enemyIdentifier);
         if (killed) {
-            notifyWorldEvent(new KilledEnemyEvent(enemyRegistry.getEnemy(enemyIdentifier).getEnemyType()));
+            notifyWorldEvent(new KilledEnemyEvent(enemy.getEnemyType()));
+        }
+        if (enemy != null) {
+            fighterGrid.remove(enemy);
         }
         enemyRegistry.removeEnemy(enemyIdentifier);
     }
@@ -478,7 +611,21 @@ public class World {
      * disable all the enemies of the world
      */
     public void disableEnemies() {
+        var enemies = getEnemies();
+        for (int i = 0; i < enemies.size(); i++) {
+            fighterGrid.remove(enemies.get(i));
+        }
         enemyRegistry.disableEnemies();
+        simulationLOD.clear();
+    }
+
+    /**
+     * stop the threads that plan the moves of the enemies of the world; it's
+     * called when the game leaves the world, the world can still be updated
+     * later and starts them again if it needs them
+     */
+    public void shutdown() {
+        enemyAIPhase.shutdown();
     }
 
     /**
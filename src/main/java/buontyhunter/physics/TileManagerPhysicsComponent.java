@@ -0,0 +1,17 @@
+package buontyhunter.physics;
+
+import buontyhunter.model.GameObject;
+import buontyhunter.model.TileManager;
+import buontyhunter.model.World;
+
+public class TileManagerPhysicsComponent extends PhysicsComponent {
+
+    /**
+     * stream the chunks of the map around the entities of the world, the map
+     * itself doesn't move
+     */
+    @Override
+    public void update(long dt, GameObject obj, World w) {
+        ((TileManager) obj).updateStreaming(w);
+    }
+}
@@ -1,5 +1,9 @@
 package buontyhunter.physics;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import buontyhunter.common.Point2d;
 import buontyhunter.model.CollisionDetector;
 import buontyhunter.model.FighterEntity;
 import buontyhunter.model.GameObject;
@@ -9,6 +13,7 @@ import buontyhunter.model.World;
 
 public class WeaponPhysicsComponent extends PhysicsComponent {
     private FighterEntity owner;
+    private final List<FighterEntity> nearFighters = new ArrayList<>();
 
     public WeaponPhysicsComponent(FighterEntity owner) {
         this.owner = owner;
@@ -22,14 +27,20 @@ public class WeaponPhysicsComponent extends PhysicsComponent {
         if (((HidableObject) obj).isShow()) {
             CollisionDetector detector = new CollisionDetector();
 
-            world.getFighterEntities().forEach(fighter -> {
+            RectBoundingBox weaponBox = (RectBoundingBox) obj.getBBox();
+            Point2d corner = weaponBox.getULCorner();
+            // only the fighters near the weapon are checked, the box is taken
+            // on both sides of its corner on the y axis like the detector does
+            world.getFighterGrid().query(corner.x, corner.y - weaponBox.getHeight(), corner.x + weaponBox.getWidth(),
+                    corner.y + weaponBox.getHeight(), nearFighters);
+            for (var fighter : nearFighters) {
                 if (fighter.getType() != owner.getType()) {
                     RectBoundingBox realBoundingBox = ((RectBoundingBox) fighter.getBBox()).withPoint(fighter.getPos());
-                    if (detector.isColliding(((RectBoundingBox) obj.getBBox()), realBoundingBox)) {
+                    if (detector.isColliding(weaponBox, realBoundingBox)) {
                         fighter.takeDamage(owner.getWeapon().getDamage());
                     }
                 }
-            });
+            }
         }
     }
 }
@@ -0,0 +1,82 @@
+package buontyhunter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.model.AI.enemySpawner.EnemyConfigurationFactoryImpl;
+import buontyhunter.model.AI.enemySpawner.EnemyType;
+import buontyhunter.model.AI.pathFinding.PathfindingService;
+import buontyhunter.model.EnemyAIPhase;
+import buontyhunter.model.World;
+
+class EnemyAIPhaseTest {
+
+    @Test
+    void testParallelEnemyAI() {
+        // the same enemies planned on the pool and on this thread move the same
+        // way; they are far from the player, so they follow the flow field
+        var conf = new EnemyConfigurationFactoryImpl().fromType(EnemyType.SWORD);
+        World parallel = TestWorlds.enemyWorld(conf, 30, 90);
+        World sequential = TestWorlds.enemyWorld(conf, 30, 90);
+        Assertions.assertTrue(parallel.getEnemies().size() >= 64);
+        assertSameMoves(parallel, sequential, false);
+        Assertions.assertNotEquals(new Point2d(30, 90), parallel.getEnemies().get(0).getPos());
+    }
+
+    @Test
+    void testParallelEnemyAINearPlayer() {
+        // the enemies within twice the range of their weapon search their own
+        // path on the workers, the path is used at the next move however long
+        // the search takes
+        var conf = new EnemyConfigurationFactoryImpl().fromType(EnemyType.BOW);
+        World parallel = TestWorlds.enemyWorld(conf, 0, 100);
+        World sequential = TestWorlds.enemyWorld(conf, 0, 100);
+        var field = parallel.getPlayerFlowField();
+        int near = 0;
+        for (var enemy : parallel.getEnemies()) {
+            int distance = field.getDistance((int) enemy.getPos().x, (int) enemy.getPos().y);
+            if (distance >= 0 && distance <= 2 * enemy.getWeapon().getRange()) {
+                near++;
+            }
+        }
+        Assertions.assertTrue(near > 0);
+        // the searches sent in a tick are done before the next one, so both the
+        // worlds collect the same paths at the same tick
+        int collected = assertSameMoves(parallel, sequential, true);
+        Assertions.assertTrue(collected > 0);
+        Assertions.assertFalse(parallel.getEnemies().isEmpty());
+    }
+
+    private static int assertSameMoves(World parallel, World sequential, boolean waitPaths) {
+        var parallelPhase = new EnemyAIPhase(1);
+        var sequentialPhase = new EnemyAIPhase(Integer.MAX_VALUE);
+        int collected = 0;
+        for (int tick = 0; tick < 10; tick++) {
+            var service = PathfindingService.getInstance();
+            for (int i = 0; waitPaths && i < 400 && service.getPendingRequests() > 0; i++) {
+                // the requests over the budget of a tick are sent by the next ones
+                service.beginTick();
+                try {
+                    Thread.sleep(5);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            parallelPhase.run(parallel);
+            sequentialPhase.run(sequential);
+            var expected = sequential.getEnemies();
+            var actual = parallel.getEnemies();
+            Assertions.assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                Assertions.assertEquals(expected.get(i).getEnemyIdentifier(), actual.get(i).getEnemyIdentifier());
+                Assertions.assertEquals(expected.get(i).getPos(), actual.get(i).getPos());
+                Assertions.assertEquals(expected.get(i).getDirection(), actual.get(i).getDirection());
+            }
+            Assertions.assertEquals(sequentialPhase.getCollectedPaths(), parallelPhase.getCollectedPaths());
+            collected += parallelPhase.getCollectedPaths();
+        }
+        parallelPhase.shutdown();
+        return collected;
+    }
+}
@@ -0,0 +1,61 @@
+package buontyhunter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import buontyhunter.common.Direction;
+import buontyhunter.common.Point2d;
+import buontyhunter.model.AI.enemySpawner.EnemyConfigurationFactoryImpl;
+import buontyhunter.model.World;
+
+class EnemyStoreTest {
+
+    @Test
+    void testEnemyStore() {
+        World world = TestWorlds.emptyOpenWorld();
+        var enemies = new EnemyConfigurationFactoryImpl();
+        for (int i = 0; i < 100; i++) {
+            world.addEnemy(new Point2d(20 + i % 10, 100 + i / 10), enemies.random());
+        }
+        var store = world.getEnemyRegistry().getStore();
+        Assertions.assertEquals(100, store.size());
+        for (int slot = 0; slot < store.size(); slot++) {
+            var enemy = store.getEnemy(slot);
+            Assertions.assertEquals(enemy.getPos().x, store.getX(slot));
+            Assertions.assertEquals(enemy.getPos().y, store.getY(slot));
+        }
+
+        // the handle reads and writes the arrays
+        var enemy = world.getEnemies().get(0);
+        world.savePreviousPositions();
+        enemy.setPos(new Point2d(40, 110));
+        enemy.takeDamage(1);
+        enemy.setDirection(Direction.MOVE_LEFT);
+        int slot = 0;
+        while (store.getEnemy(slot) != enemy) {
+            slot++;
+        }
+        Assertions.assertEquals(40.0, store.getX(slot));
+        Assertions.assertEquals(110.0, store.getY(slot));
+        Assertions.assertEquals(new Point2d(40, 110), enemy.getInterpolatedPos(1));
+        enemy.setPos(new Point2d(42, 111));
+        Assertions.assertEquals(42.0, store.getX(slot));
+        Assertions.assertEquals(111.0, store.getY(slot));
+
+        // a removed enemy keeps its state and the other slots stay dense
+        int health = enemy.getHealth();
+        var previous = enemy.getInterpolatedPos(0);
+        world.removeEnemy(enemy.getEnemyIdentifier(), false);
+        Assertions.assertEquals(99, store.size());
+        Assertions.assertEquals(health, enemy.getHealth());
+        Assertions.assertEquals(Direction.MOVE_LEFT, enemy.getDirection());
+        Assertions.assertEquals(previous, enemy.getInterpolatedPos(0));
+        Assertions.assertEquals(new Point2d(42, 111), enemy.getPos());
+        for (slot = 0; slot < store.size(); slot++) {
+            Assertions.assertNotEquals(enemy, store.getEnemy(slot));
+            Assertions.assertEquals(store.getEnemy(slot).getPos().x, store.getX(slot));
+        }
+        world.disableEnemies();
+        Assertions.assertEquals(0, store.size());
+    }
+}
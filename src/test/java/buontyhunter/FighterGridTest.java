@@ -0,0 +1,60 @@
+package buontyhunter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.core.GameEngine;
+import buontyhunter.model.AI.enemySpawner.EnemyConfigurationFactoryImpl;
+import buontyhunter.model.FighterEntity;
+import buontyhunter.model.World;
+
+class FighterGridTest {
+
+    @Test
+    void testFighterGrid() {
+        World world = TestWorlds.emptyOpenWorld();
+        var enemies = new EnemyConfigurationFactoryImpl();
+        for (int i = 0; i < 40; i++) {
+            world.addEnemy(new Point2d(20 + (i % 8) * 3.5, 100 + (i / 8) * 2.5), enemies.random());
+        }
+        Assertions.assertEquals(world.getFighterEntities().size(), world.getFighterGrid().size());
+
+        // the query finds all the fighters in the area, maybe some more
+        List<FighterEntity> found = new ArrayList<>();
+        world.getFighterGrid().query(25, 100, 35, 105, found);
+        for (var fighter : world.getFighterEntities()) {
+            var pos = fighter.getPos();
+            if (pos.x >= 25 && pos.x <= 35 && pos.y >= 100 && pos.y <= 105) {
+                Assertions.assertTrue(found.contains(fighter));
+            }
+        }
+        Assertions.assertTrue(found.size() < 40);
+
+        var moved = world.getEnemies().get(0);
+        moved.setPos(new Point2d(300, 300));
+        world.getFighterGrid().update(moved);
+        world.getFighterGrid().query(299, 299, 301, 301, found);
+        Assertions.assertEquals(List.of(moved), found);
+
+        world.removeEnemy(moved.getEnemyIdentifier(), false);
+        world.getFighterGrid().query(299, 299, 301, 301, found);
+        Assertions.assertTrue(found.isEmpty());
+
+        // the ticks move the fighters in the grid where they move, without rebuilding it
+        for (int tick = 0; tick < 10; tick++) {
+            world.updateState(GameEngine.TICK_NANOS / 1_000_000L);
+        }
+        Assertions.assertEquals(world.getFighterEntities().size(), world.getFighterGrid().size());
+        for (var fighter : world.getFighterEntities()) {
+            var pos = fighter.getPos();
+            world.getFighterGrid().query(pos.x, pos.y, pos.x, pos.y, found);
+            Assertions.assertTrue(found.contains(fighter));
+        }
+        world.disableEnemies();
+        Assertions.assertEquals(world.getFighterEntities().size(), world.getFighterGrid().size());
+    }
+}
@@ -1,11 +1,16 @@
 package buontyhunter;
 
+import java.lang.management.ManagementFactory;
+
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import buontyhunter.common.Point2d;
 import buontyhunter.core.GameEngine;
 import buontyhunter.core.GameFactory;
+import buontyhunter.core.GameLoopType;
+import buontyhunter.graphics.SceneType;
+import buontyhunter.model.AI.enemySpawner.EnemyConfigurationFactoryImpl;
 import buontyhunter.model.GameState;
 import buontyhunter.model.World;
 
@@ -17,6 +22,20 @@ class GameEngineTest {
         Assertions.assertNotNull(gameEngine);
         Assertions.assertEquals(GameEngine.HUB_PLAYER_START, new Point2d(8, 8));
         Assertions.assertEquals(GameEngine.OPEN_WORLD_PLAYER_START, new Point2d(5, 106));
+        Assertions.assertEquals(GameLoopType.FIXED_STEP, gameEngine.getLoopType());
+        Assertions.assertEquals(GameLoopType.VARIABLE_STEP,
+                new GameEngine(GameLoopType.VARIABLE_STEP).getLoopType());
+        Assertions.assertEquals(SceneType.SWING, gameEngine.getSceneType());
+    }
+
+    @Test
+    void testSceneTypeParse() {
+        Assertions.assertEquals(SceneType.SWING, SceneType.parse(null));
+        Assertions.assertEquals(SceneType.SWING, SceneType.parse("unknown"));
+        Assertions.assertEquals(SceneType.BUFFER_STRATEGY, SceneType.parse("buffer_strategy"));
+        Assertions.assertEquals(SceneType.PIPELINED_SWING, SceneType.parse(" PIPELINED_SWING "));
+        Assertions.assertEquals(SceneType.BUFFER_STRATEGY,
+                new GameEngine(GameLoopType.FIXED_STEP, SceneType.parse("BUFFER_STRATEGY")).getSceneType());
     }
 
     @Test
@@ -39,6 +58,52 @@ class GameEngineTest {
         testWorld(world);
     }
 
+    @Test
+    void testEntityIterationAllocation() {
+        var threads = ManagementFactory.getThreadMXBean();
+        if (!(threads instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        var allocation = (com.sun.management.ThreadMXBean) threads;
+        World world = TestWorlds.emptyOpenWorld();
+        var enemies = new EnemyConfigurationFactoryImpl();
+        for (int i = 0; i < 20; i++) {
+            world.addEnemy(new Point2d(20 + i, 100), enemies.random());
+        }
+
+        // the steady state of a tick: the entities are iterated and none of them
+        // is added or removed, so no garbage is made
+        long threadId = Thread.currentThread().getId();
+        long bytes = 0;
+        for (int round = 0; round < 2; round++) {
+            long before = allocation.getThreadAllocatedBytes(threadId);
+            for (int tick = 0; tick < 20_000; tick++) {
+                iterateEntities(world);
+            }
+            bytes = allocation.getThreadAllocatedBytes(threadId) - before;
+        }
+        // the first round warms up the JIT, the second one must not allocate
+        // more than the call to getThreadAllocatedBytes itself
+        Assertions.assertTrue(bytes < 1024, "allocated " + bytes + " bytes in steady state");
+    }
+
+    private static int iterateEntities(World world) {
+        int count = 0;
+        world.savePreviousPositions();
+        var fighters = world.getFighterEntities();
+        for (int i = 0; i < fighters.size(); i++) {
+            world.getFighterGrid().update(fighters.get(i));
+            count += fighters.get(i).getHealth() > 0 ? 1 : 0;
+        }
+        var sceneEntities = world.getSceneEntities();
+        for (int i = 0; i < sceneEntities.size(); i++) {
+            count += sceneEntities.get(i).getType() == null ? 0 : 1;
+        }
+        count += world.getEnemies().size();
+        return count;
+    }
+
     void testWorld(World world) {
         Assertions.assertNotNull(world);
         world.disableEnemies();
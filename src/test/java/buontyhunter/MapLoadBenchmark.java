@@ -0,0 +1,73 @@
+package buontyhunter;
+
+import java.lang.management.ManagementFactory;
+
+import buontyhunter.common.FileProvider;
+import buontyhunter.model.BinaryMapFormat;
+import buontyhunter.model.TileMapParser;
+
+/**
+ * compares the load time and the allocated memory of the shipped maps between
+ * the old String based loading (getText + split + parseInt), the
+ * TileMapParser and the binary maps; run it with the test classpath
+ */
+public class MapLoadBenchmark {
+
+    private static final String[] MAPS = { "/maps/map", "/maps/hubMap" };
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    public static void main(String[] args) {
+        var fileProvider = new FileProvider();
+        for (String path : MAPS) {
+            measure(path + ".txt split", () -> {
+                String text = fileProvider.getText(path + ".txt").orElse("");
+                return parseWithSplit(text);
+            });
+            measure(path + ".txt parser", () -> {
+                byte[] data = fileProvider.getBytes(path + ".txt").orElse(new byte[0]);
+                return TileMapParser.parse(data).getWidth();
+            });
+            measure(path + ".bin", () -> {
+                var data = fileProvider.getBuffer(path + ".bin").orElseThrow();
+                return BinaryMapFormat.read(data).getWidth();
+            });
+        }
+    }
+
+    /**
+     * the loading used before TileMapParser, it only sums the ids
+     */
+    private static int parseWithSplit(String map) {
+        int sum = 0;
+        String[] lines = map.split("\n");
+        for (String line : lines) {
+            for (String tile : line.split(" ")) {
+                sum += Integer.parseInt(tile);
+            }
+        }
+        return sum;
+    }
+
+    private static void measure(String name, Load load) {
+        var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        int sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            sink += load.run();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += load.run();
+        }
+        long time = (System.nanoTime() - start) / ITERATIONS;
+        allocated = (threads.getThreadAllocatedBytes(threadId) - allocated) / ITERATIONS;
+        System.out.printf("%-28s %8.3f ms %10d KB allocated (%d)%n", name, time / 1e6, allocated / 1024, sink);
+    }
+
+    @FunctionalInterface
+    private interface Load {
+        int run();
+    }
+}
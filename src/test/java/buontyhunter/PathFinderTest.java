@@ -0,0 +1,393 @@
+package buontyhunter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.common.Vector2d;
+import buontyhunter.model.TileGrid;
+import buontyhunter.model.TileMapParser;
+import buontyhunter.model.AI.AIFactoryImpl;
+import buontyhunter.model.AI.AIFactory.PathFinderType;
+import buontyhunter.model.AI.pathFinding.AIFollowPathHelper;
+import buontyhunter.model.AI.pathFinding.AStarPathFinder;
+import buontyhunter.model.AI.pathFinding.FlowField;
+import buontyhunter.model.AI.pathFinding.HierarchicalPathFinder;
+import buontyhunter.model.AI.pathFinding.PathCache;
+import buontyhunter.model.AI.pathFinding.PathFinder;
+import buontyhunter.model.AI.pathFinding.PathFinderFactory;
+import buontyhunter.model.AI.pathFinding.PathfindingService;
+
+class PathFinderTest {
+
+    // 1 = grass, 3 = tree
+    private static final String MAP = String.join("\n",
+            "1 1 1 1 1 1",
+            "1 3 3 3 3 1",
+            "1 1 1 1 3 1",
+            "3 3 3 1 3 1",
+            "1 1 1 1 3 1",
+            "1 1 1 1 3 1");
+
+    private final TileGrid grid = TileMapParser.parse(MAP.getBytes());
+
+    private void assertValidPath(List<Point2d> path, Point2d from, Point2d to) {
+        Assertions.assertFalse(path.isEmpty());
+        Assertions.assertEquals(from, path.get(0));
+        Assertions.assertEquals(to, path.get(path.size() - 1));
+        for (int i = 1; i < path.size(); i++) {
+            var previous = path.get(i - 1);
+            var next = path.get(i);
+            Assertions.assertTrue(Math.abs(previous.x - next.x) <= 1 && Math.abs(previous.y - next.y) <= 1);
+            Assertions.assertFalse(grid.isSolid((int) next.x, (int) next.y));
+        }
+    }
+
+    @Test
+    void testAStar() {
+        PathFinder pathFinder = PathFinderFactory.createAStarPathFinder(false);
+        var from = new Point2d(0, 5);
+        var to = new Point2d(5, 5);
+        var path = pathFinder.findPath(from, to, grid, Set.of());
+        assertValidPath(path, from, to);
+
+        // the same search again reuses the buffers
+        Assertions.assertEquals(path, pathFinder.findPath(from, to, grid, Set.of()));
+
+        // blocking the only passage between the two areas
+        var blocked = Set.of(new Point2d(0, 0), new Point2d(1, 0));
+        Assertions.assertTrue(pathFinder.findPath(from, to, grid, blocked).isEmpty());
+        Assertions.assertTrue(pathFinder.findPath(from, new Point2d(1, 1), grid, Set.of()).isEmpty());
+    }
+
+    @Test
+    void testSearchOnBigMap() {
+        // more cells than GridAStar keeps in dense arrays, a wall with a gap at
+        // the bottom in the middle
+        int size = 750;
+        var rows = new StringBuilder();
+        for (int y = 0; y < size; y++) {
+            for (int x = 0; x < size; x++) {
+                rows.append(x == size / 2 && y < size - 1 ? "3" : "1").append(x < size - 1 ? " " : "\n");
+            }
+        }
+        var big = TileMapParser.parse(rows.toString().getBytes());
+        var from = new Point2d(10, 10);
+        var to = new Point2d(size - 10, 10);
+        for (var pathFinder : List.of(PathFinderFactory.createAStarPathFinder(false),
+                new AIFactoryImpl().CreatePathFinder(PathFinderType.JPS, false))) {
+            var path = pathFinder.findPath(from, to, big, Set.of());
+            Assertions.assertEquals(from, path.get(0));
+            Assertions.assertEquals(to, path.get(path.size() - 1));
+            for (int i = 1; i < path.size(); i++) {
+                var previous = path.get(i - 1);
+                var next = path.get(i);
+                Assertions.assertTrue(Math.abs(previous.x - next.x) <= 1 && Math.abs(previous.y - next.y) <= 1);
+                Assertions.assertFalse(big.isSolid((int) next.x, (int) next.y));
+            }
+            Assertions.assertTrue(path.contains(new Point2d(size / 2, size - 1)));
+            // the invalid points are kept by the nodes too
+            var gap = Set.of(new Point2d(size / 2, size - 1));
+            Assertions.assertTrue(pathFinder.findPath(from, to, big, gap).isEmpty());
+        }
+    }
+
+    @Test
+    void testJumpPointSearch() {
+        PathFinder jps = new AIFactoryImpl().CreatePathFinder(PathFinderType.JPS, false);
+        PathFinder aStar = PathFinderFactory.createAStarPathFinder(false);
+        var from = new Point2d(0, 5);
+        var to = new Point2d(5, 5);
+        var path = jps.findPath(from, to, grid, Set.of());
+        assertValidPath(path, from, to);
+        Assertions.assertTrue(path.size() <= aStar.findPath(from, to, grid, Set.of()).size());
+
+        var blocked = Set.of(new Point2d(0, 0), new Point2d(1, 0));
+        Assertions.assertTrue(jps.findPath(from, to, grid, blocked).isEmpty());
+
+        // on an open map the path is a straight line
+        var open = TileMapParser.parse("1 1 1 1 1 1 1 1\n1 1 1 1 1 1 1 1\n1 1 1 1 1 1 1 1".getBytes());
+        Assertions.assertEquals(8, jps.findPath(new Point2d(0, 1), new Point2d(7, 1), open, Set.of()).size());
+    }
+
+    @Test
+    void testHierarchicalPathFinder() {
+        // a wall on the column 20 with a single gap at the bottom, the clusters are 16x16
+        var map = new StringBuilder();
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 40; x++) {
+                map.append(x == 20 && y < 39 ? "3 " : "1 ");
+            }
+            map.append('\n');
+        }
+        var wall = TileMapParser.parse(map.toString().getBytes());
+        var hpa = new HierarchicalPathFinder(false);
+        PathFinder jps = PathFinderFactory.createJumpPointPathFinder(false);
+        var from = new Point2d(2, 2);
+        var to = new Point2d(37, 2);
+        var path = hpa.findPath(from, to, wall, Set.of());
+        Assertions.assertEquals(from, path.get(0));
+        Assertions.assertEquals(to, path.get(path.size() - 1));
+        for (int i = 1; i < path.size(); i++) {
+            var previous = path.get(i - 1);
+            var next = path.get(i);
+            Assertions.assertTrue(Math.abs(previous.x - next.x) <= 1 && Math.abs(previous.y - next.y) <= 1);
+            Assertions.assertFalse(wall.isSolid((int) next.x, (int) next.y));
+        }
+        Assertions.assertTrue(path.contains(new Point2d(20, 39)));
+        int optimal = jps.findPath(from, to, wall, Set.of()).size();
+        Assertions.assertTrue(path.size() >= optimal && path.size() <= optimal + 4);
+
+        // the invalid points close the gap
+        Assertions.assertTrue(hpa.findPath(from, to, wall, Set.of(new Point2d(20, 39))).isEmpty());
+
+        // inside a single cluster and on the small map
+        Assertions.assertEquals(jps.findPath(from, new Point2d(5, 5), wall, Set.of()).size(),
+                hpa.findPath(from, new Point2d(5, 5), wall, Set.of()).size());
+        assertValidPath(hpa.findPath(new Point2d(0, 5), new Point2d(5, 5), grid, Set.of()), new Point2d(0, 5),
+                new Point2d(5, 5));
+
+        // repairing a cluster that didn't change keeps paths of the same length
+        hpa.repair(wall, 20, 39);
+        var repaired = hpa.findPath(from, to, wall, Set.of());
+        Assertions.assertEquals(path.size(), repaired.size());
+
+        // the queries of other threads use their own buffers and find the same paths
+        var other = new ArrayList<List<Point2d>>();
+        var threads = new ArrayList<Thread>();
+        for (int i = 0; i < 4; i++) {
+            var finder = new HierarchicalPathFinder(false);
+            threads.add(new Thread(() -> {
+                for (int j = 0; j < 50; j++) {
+                    var found = finder.findPath(from, to, wall, Set.of());
+                    synchronized (other) {
+                        other.add(found);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (var thread : threads) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Assertions.assertEquals(200, other.size());
+        for (var found : other) {
+            Assertions.assertEquals(repaired, found);
+        }
+    }
+
+    @Test
+    void testDStarLite() {
+        PathFinder dStar = new AIFactoryImpl().CreatePathFinder(PathFinderType.DStarLite, false);
+        PathFinder jps = PathFinderFactory.createJumpPointPathFinder(false);
+        var from = new Point2d(0, 5);
+        var to = new Point2d(5, 5);
+        var path = dStar.findPath(from, to, grid, Set.of());
+        assertValidPath(path, from, to);
+        Assertions.assertEquals(jps.findPath(from, to, grid, Set.of()).size(), path.size());
+
+        // the chaser walks along its path while the target moves around, the
+        // paths found by reusing the search are still the shortest ones
+        var targets = List.of(new Point2d(5, 4), new Point2d(5, 3), new Point2d(5, 2), new Point2d(5, 1),
+                new Point2d(5, 0), new Point2d(4, 0), new Point2d(3, 0), new Point2d(2, 0));
+        for (var target : targets) {
+            path = dStar.findPath(from, target, grid, Set.of());
+            assertValidPath(path, from, target);
+            Assertions.assertEquals(jps.findPath(from, target, grid, Set.of()).size(), path.size());
+            from = path.get(1);
+        }
+
+        var blocked = Set.of(new Point2d(0, 0), new Point2d(1, 0));
+        Assertions.assertTrue(dStar.findPath(new Point2d(0, 5), to, grid, blocked).isEmpty());
+        Assertions.assertTrue(dStar.findPath(new Point2d(0, 5), new Point2d(1, 1), grid, Set.of()).isEmpty());
+    }
+
+    @Test
+    void testFlowField() {
+        var field = new FlowField(20);
+        Assertions.assertTrue(field.update(grid, 5, 5));
+        // the same cell doesn't compute it again
+        Assertions.assertFalse(field.update(grid, 5, 5));
+        Assertions.assertEquals(1, field.getUpdates());
+
+        PathFinder jps = PathFinderFactory.createJumpPointPathFinder(false);
+        var from = new Point2d(0, 5);
+        Assertions.assertEquals(jps.findPath(from, new Point2d(5, 5), grid, Set.of()).size() - 1,
+                field.getDistance(0, 5));
+        Assertions.assertEquals(0, field.getDistance(5, 5));
+        Assertions.assertEquals(-1, field.getDistance(1, 1));
+        Assertions.assertEquals(-1, field.getDistance(-1, 0));
+
+        // following the next steps reaches the target with adjacent free cells
+        int width = grid.getWidth();
+        int cell = 5 * width;
+        for (int steps = field.getDistance(0, 5); steps > 0; steps--) {
+            int next = field.getNextStep(cell % width, cell / width);
+            Assertions.assertEquals(field.getDistance(cell % width, cell / width) - 1,
+                    field.getDistance(next % width, next / width));
+            Assertions.assertTrue(Math.abs(next % width - cell % width) <= 1
+                    && Math.abs(next / width - cell / width) <= 1);
+            Assertions.assertFalse(grid.isSolid(next % width, next / width));
+            cell = next;
+        }
+        Assertions.assertEquals(5 * width + 5, cell);
+
+        // the cells beyond the radius aren't reached
+        var small = new FlowField(2);
+        small.update(grid, 5, 5);
+        Assertions.assertEquals(2, small.getDistance(5, 3));
+        Assertions.assertEquals(-1, small.getDistance(5, 2));
+
+        // the window follows the target: the next step is a cell of the map
+        small.update(grid, 0, 0);
+        Assertions.assertEquals(2, small.getDistance(2, 0));
+        Assertions.assertEquals(1, small.getNextStep(2, 0));
+        Assertions.assertEquals(-1, small.getDistance(5, 3));
+    }
+
+    @Test
+    void testAsynchronousPath() throws InterruptedException {
+        var helper = new AIFollowPathHelper(PathFinderFactory.createJumpPointPathFinder(false));
+        helper.setAsynchronous(true);
+        var from = new Point2d(0, 5);
+        var to = new Point2d(5, 5);
+        var speed = new Vector2d(1, 1);
+
+        // the first move only sends the request
+        Assertions.assertEquals(from, helper.moveItem(from, to, speed, grid));
+        Assertions.assertTrue(helper.isPathPending());
+
+        // the path is followed from the move after the one that collects it
+        var position = from;
+        for (int i = 0; i < 200 && !helper.collectPath(); i++) {
+            Thread.sleep(5);
+            Assertions.assertEquals(from, helper.moveItem(from, to, speed, grid));
+        }
+        Assertions.assertTrue(helper.isPathPending());
+        position = helper.moveItem(from, to, speed, grid);
+        Assertions.assertFalse(helper.isPathPending());
+        Assertions.assertEquals(new Point2d(1, 4), position);
+        Assertions.assertEquals(PathFinderFactory.createJumpPointPathFinder(false)
+                .findPath(from, to, grid, Set.of()).size(), helper.getLastPathDistance());
+
+        // the path is followed without searching it again
+        for (int i = 0; i < 30 && !position.equals(to); i++) {
+            position = helper.moveItem(position, to, speed, grid);
+            Assertions.assertFalse(helper.isPathPending());
+        }
+        Assertions.assertEquals(to, position);
+    }
+
+    @Test
+    void testSlowSearchUnderBudget() throws InterruptedException {
+        var slow = new Point2d(5, 0);
+        var search = PathFinderFactory.createJumpPointPathFinder(false);
+        PathFinder slowFinder = (from, to, map, invalidPoints) -> {
+            if (to.equals(slow)) {
+                try {
+                    Thread.sleep(300);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return search.findPath(from, to, map, invalidPoints);
+        };
+        var helper = new AIFollowPathHelper(slowFinder);
+        helper.setAsynchronous(true);
+        var from = new Point2d(0, 5);
+        var to = new Point2d(5, 5);
+        var speed = new Vector2d(1, 1);
+        helper.moveItem(from, to, speed, grid);
+        for (int i = 0; i < 200 && !helper.collectPath(); i++) {
+            Thread.sleep(5);
+        }
+        var position = helper.moveItem(from, to, speed, grid);
+
+        // the slow search doesn't delay the tick, the previous path is followed meanwhile
+        var service = PathfindingService.getInstance();
+        long start = System.nanoTime();
+        service.beginTick();
+        var next = helper.moveItem(position, slow, speed, grid);
+        Assertions.assertTrue(System.nanoTime() - start < 100_000_000);
+        Assertions.assertTrue(helper.isPathPending());
+        Assertions.assertNotEquals(position, next);
+
+        // the requests over the budget of a tick wait for the next ticks
+        service.setTickBudget(1);
+        try {
+            service.beginTick();
+            var results = new ArrayList<CompletableFuture<List<Point2d>>>();
+            for (int i = 0; i < 20; i++) {
+                results.add(service.findPath(PathFinderFactory.createJumpPointPathFinder(false), from, to, grid,
+                        Set.of()));
+            }
+            Assertions.assertTrue(service.getWaitingRequests() > 0);
+            for (int i = 0; i < 400 && service.getPendingRequests() > 0; i++) {
+                service.beginTick();
+                Thread.sleep(5);
+            }
+            Assertions.assertEquals(0, service.getWaitingRequests());
+            for (var result : results) {
+                Assertions.assertTrue(result.isDone());
+                assertValidPath(result.join(), from, to);
+            }
+        } finally {
+            service.setTickBudget(PathfindingService.DEFAULT_TICK_BUDGET);
+        }
+        Assertions.assertTrue(helper.collectPath());
+    }
+
+    @Test
+    void testPathCache() throws InterruptedException {
+        var cache = PathCache.getInstance();
+        cache.clear();
+        PathFinder pathFinder = PathFinderFactory.createAStarPathFinder(true);
+        var to = new Point2d(5, 5);
+        var path = pathFinder.findPath(new Point2d(0, 5), to, grid, Set.of());
+        long misses = cache.getMisses();
+        long hits = cache.getHits();
+
+        // the points of the same cell share the path
+        Assertions.assertSame(path, pathFinder.findPath(new Point2d(0, 4.5), to, grid, Set.of()));
+        Assertions.assertSame(path, PathFinderFactory.createAStarPathFinder(true).findPath(new Point2d(0, 5), to,
+                grid, Set.of()));
+        Assertions.assertEquals(hits + 2, cache.getHits());
+        Assertions.assertEquals(misses, cache.getMisses());
+
+        // another kind of path finder doesn't get the paths of A*
+        var bfs = PathFinderFactory.createBFSPathFinder(true);
+        var bfsPath = bfs.findPath(new Point2d(0, 5), to, grid, Set.of());
+        Assertions.assertNotSame(path, bfsPath);
+        Assertions.assertEquals(misses + 1, cache.getMisses());
+        Assertions.assertSame(bfsPath, bfs.findPath(new Point2d(0, 5), to, grid, Set.of()));
+        Assertions.assertSame(path, pathFinder.findPath(new Point2d(0, 5), to, grid, Set.of()));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> path.add(to));
+
+        // the searches with invalid points aren't cached
+        Assertions.assertNotSame(path, pathFinder.findPath(new Point2d(0, 5), to, grid, Set.of(new Point2d(3, 3))));
+
+        cache.invalidate(grid);
+        Assertions.assertEquals(0, cache.size());
+
+        // the least recently used and the old paths are dropped
+        var small = new PathCache(2, 20);
+        small.put(AStarPathFinder.class, grid, 0, 1, path);
+        small.put(AStarPathFinder.class, grid, 0, 2, path);
+        Assertions.assertNotNull(small.get(AStarPathFinder.class, grid, 0, 1));
+        small.put(AStarPathFinder.class, grid, 0, 3, path);
+        Assertions.assertEquals(2, small.size());
+        Assertions.assertNull(small.get(AStarPathFinder.class, grid, 0, 2));
+        Assertions.assertNotNull(small.get(AStarPathFinder.class, grid, 0, 1));
+        Thread.sleep(40);
+        Assertions.assertNull(small.get(AStarPathFinder.class, grid, 0, 3));
+    }
+}
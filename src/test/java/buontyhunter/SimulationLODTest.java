@@ -0,0 +1,105 @@
+package buontyhunter;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.model.AI.enemySpawner.EnemyConfigurationFactoryImpl;
+import buontyhunter.model.AI.enemySpawner.EnemyType;
+import buontyhunter.model.EnemyEntity;
+import buontyhunter.model.SimulationLOD;
+import buontyhunter.model.SimulationLevel;
+import buontyhunter.model.World;
+
+class SimulationLODTest {
+
+    @Test
+    void testSimulationLOD() {
+        World world = TestWorlds.emptyOpenWorld();
+        var conf = new EnemyConfigurationFactoryImpl().fromType(EnemyType.SWORD);
+        var player = world.getPlayer();
+        player.setPos(new Point2d(50, 100));
+        var near = world.addEnemy(new Point2d(55, 100), conf);
+        var middle = world.addEnemy(new Point2d(70, 100), conf);
+        var far = world.addEnemy(new Point2d(86, 100), conf);
+        far.takeDamage(7);
+        var tooFar = world.addEnemy(new Point2d(100, 100), conf);
+        var lod = world.getSimulationLOD();
+
+        lod.update(world);
+        Assertions.assertEquals(SimulationLevel.ACTIVE, near.getSimulationLevel());
+        Assertions.assertEquals(SimulationLevel.REDUCED, middle.getSimulationLevel());
+        // the far enemy is removed from the world and kept as dormant, the one
+        // beyond the death distance is dropped
+        Assertions.assertEquals(2, world.getEnemies().size());
+        Assertions.assertFalse(world.getEnemies().contains(far));
+        Assertions.assertFalse(world.getEnemies().contains(tooFar));
+        Assertions.assertEquals(1, lod.getDormantEnemies());
+
+        // the reduced enemy is simulated once every few ticks, for all of them
+        int steps = 0;
+        int updates = 0;
+        for (int tick = 0; tick < SimulationLOD.DEFAULT_REDUCED_INTERVAL; tick++) {
+            Assertions.assertEquals(1, lod.getSteps(near));
+            if (lod.getSteps(middle) > 0) {
+                updates++;
+                steps += lod.getSteps(middle);
+            }
+            lod.update(world);
+        }
+        Assertions.assertEquals(1, updates);
+        Assertions.assertEquals(SimulationLOD.DEFAULT_REDUCED_INTERVAL, steps);
+
+        // the dormant enemy wakes up with its health when the player is near
+        player.setPos(new Point2d(75, 100));
+        lod.update(world);
+        Assertions.assertEquals(0, lod.getDormantEnemies());
+        EnemyEntity woken = null;
+        for (var enemy : world.getEnemies()) {
+            if (enemy.getPos().equals(new Point2d(86, 100))) {
+                woken = enemy;
+            }
+        }
+        Assertions.assertNotNull(woken);
+        Assertions.assertEquals(far.getHealth(), woken.getHealth());
+        Assertions.assertEquals(conf, woken.getConfiguration());
+        world.disableEnemies();
+        Assertions.assertEquals(0, lod.getDormantEnemies());
+    }
+
+    @Test
+    void testSimulationLODSpawnLimit() {
+        // walking away and back doesn't wake more enemies than the spawner
+        // allows, the dormant ones count for the spawn
+        World world = TestWorlds.openWorld();
+        var player = world.getPlayer();
+        var start = player.getPos().duplicate();
+        var away = new Point2d(start.x + 35, start.y);
+        var lod = world.getSimulationLOD();
+        // as many enemies as the spawner allows around the player
+        var conf = new EnemyConfigurationFactoryImpl().fromType(EnemyType.SWORD);
+        var tiles = world.getTileManager();
+        for (int x = (int) start.x; x < start.x + 10 && world.getEnemies().size() < 6; x++) {
+            for (int y = (int) start.y - 3; y < start.y + 3 && world.getEnemies().size() < 6; y += 2) {
+                if (tiles.isTraversable(x, y)) {
+                    world.addEnemy(new Point2d(x, y), conf);
+                }
+            }
+        }
+        Assertions.assertEquals(6, world.getEnemies().size());
+        int dormant = 0;
+        for (int round = 0; round < 3; round++) {
+            for (var pos : List.of(away, start)) {
+                player.setPos(pos);
+                for (int tick = 0; tick < 100; tick++) {
+                    world.processAiInput();
+                    dormant = Math.max(dormant, lod.getDormantEnemies());
+                    Assertions.assertTrue(world.getEnemies().size() + lod.getDormantEnemies() <= 6);
+                }
+            }
+        }
+        Assertions.assertTrue(dormant > 0);
+    }
+}
@@ -0,0 +1,53 @@
+package buontyhunter;
+
+import buontyhunter.common.Point2d;
+import buontyhunter.core.GameEngine;
+import buontyhunter.core.GameFactory;
+import buontyhunter.model.World;
+import buontyhunter.model.AI.enemySpawner.EnemyConfiguration;
+
+/**
+ * the worlds shared by the tests of the simulation
+ */
+final class TestWorlds {
+
+    private TestWorlds() {
+    }
+
+    /**
+     * create the open world as the game does, from the loading screen
+     */
+    static World openWorld() {
+        GameEngine engine = new GameEngine();
+        World world = GameFactory.getInstance().createLoadingScreenWorld(engine);
+        return GameFactory.getInstance().createOpenWorld(world);
+    }
+
+    /**
+     * create the open world without enemies and without spawning them
+     */
+    static World emptyOpenWorld() {
+        World world = openWorld();
+        world.disableEnemies();
+        return world;
+    }
+
+    /**
+     * create the open world with the enemies on the traversable cells of a
+     * 30x30 area and the flow field toward the player
+     */
+    static World enemyWorld(EnemyConfiguration conf, int firstX, int firstY) {
+        World world = emptyOpenWorld();
+        var tiles = world.getTileManager();
+        for (int y = firstY; y < firstY + 30; y += 2) {
+            for (int x = firstX; x < firstX + 30; x += 3) {
+                if (tiles.isTraversable(x, y)) {
+                    world.addEnemy(new Point2d(x, y), conf);
+                }
+            }
+        }
+        var player = world.getPlayer().getPos();
+        world.getPlayerFlowField().update(tiles.getGrid(), (int) player.x, (int) player.y);
+        return world;
+    }
+}
@@ -0,0 +1,236 @@
+package buontyhunter;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import buontyhunter.common.FileProvider;
+import buontyhunter.common.Point2d;
+import buontyhunter.model.BinaryMapFormat;
+import buontyhunter.model.MapCache;
+import buontyhunter.core.GameFactory;
+import buontyhunter.model.TileComponents;
+import buontyhunter.model.TileGrid;
+import buontyhunter.model.TileManager;
+import buontyhunter.model.TileMapParser;
+import buontyhunter.model.TileProperties;
+import buontyhunter.model.TileStreamer;
+import buontyhunter.model.TileType;
+
+class TileManagerTest {
+
+    @Test
+    void testGrid() {
+        TileManager tileManager = GameFactory.getInstance().createTileManager();
+        tileManager.loadMap(TileManager.OPEN_WORLD_MAP_ID);
+        var grid = tileManager.getGrid();
+        Assertions.assertEquals(500, grid.getWidth());
+        Assertions.assertEquals(500, grid.getHeight());
+
+        // loading again replaces the map
+        tileManager.loadMap(TileManager.OPEN_WORLD_MAP_ID);
+        Assertions.assertEquals(500, tileManager.getTiles().size());
+
+        var tiles = tileManager.getTiles();
+        for (int y = 0; y < grid.getHeight(); y += 7) {
+            for (int x = 0; x < grid.getWidth(); x += 11) {
+                var tile = tiles.get(y).get(x);
+                Assertions.assertEquals(grid.getType(x, y), tile.getType());
+                Assertions.assertEquals(grid.isSolid(x, y), tile.isSolid());
+                Assertions.assertEquals(grid.isObstacle(x, y), tile.isObstacle());
+                Assertions.assertEquals(new Point2d(x, y), tile.getPoint());
+            }
+        }
+        Assertions.assertTrue(tileManager.getTileFromPosition(new Point2d(-1, 0)).isEmpty());
+        Assertions.assertTrue(tileManager.getTileFromPosition(new Point2d(0, 500)).isEmpty());
+        Assertions.assertTrue(tileManager.getTileFromPosition(new Point2d(499.5, 499.5)).isPresent());
+    }
+
+    @Test
+    void testTraversabilityLayers() {
+        TileManager tileManager = GameFactory.getInstance().createTileManager();
+        tileManager.loadMap(TileManager.OPEN_WORLD_MAP_ID);
+        var grid = tileManager.getGrid();
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                var properties = grid.getProperties(x, y);
+                Assertions.assertEquals(properties.isSolid(), tileManager.isSolid(x, y));
+                Assertions.assertEquals(properties.isObstacle(), tileManager.isObstacle(x, y));
+                Assertions.assertEquals(properties.isTraversable(), tileManager.isTraversable(x, y));
+                Assertions.assertEquals(properties.getType() == TileType.water, tileManager.isWater(x, y));
+                Assertions.assertEquals(properties.isSolid(), grid.isSolid(grid.index(x, y)));
+            }
+        }
+        Assertions.assertFalse(tileManager.isInside(-1, 0));
+        Assertions.assertFalse(tileManager.isSolid(500, 0));
+        Assertions.assertFalse(tileManager.isTraversable(0, -1));
+    }
+
+    @Test
+    void testMapParser() {
+        var grid = TileMapParser.parse("1 5 3\r\n0 2\n\n4 4 4 4\n".getBytes());
+        Assertions.assertEquals(3, grid.getWidth());
+        Assertions.assertEquals(3, grid.getHeight());
+        Assertions.assertEquals(TileType.grass, grid.getType(0, 0));
+        Assertions.assertEquals(TileType.water, grid.getType(1, 0));
+        Assertions.assertEquals(TileType.tree, grid.getType(2, 0));
+        Assertions.assertEquals(TileType.sand, grid.getType(1, 1));
+        Assertions.assertEquals(TileType.empty, grid.getType(2, 1));
+        Assertions.assertEquals(TileType.wall, grid.getType(2, 2));
+
+        Assertions.assertEquals(TileType.empty, TileMapParser.parse("99 -1".getBytes()).getType(0, 0));
+        Assertions.assertEquals(0, TileMapParser.parse(new byte[0]).getWidth());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> TileMapParser.parse("1 a".getBytes()));
+    }
+
+    @Test
+    void testBinaryMaps() {
+        var fileProvider = new FileProvider();
+        for (String name : new String[] { "/maps/map", "/maps/hubMap" }) {
+            var text = TileMapParser.parse(fileProvider.getBytes(name + ".txt").orElseThrow());
+            // the shipped binary maps must be regenerated when the text maps change
+            var shipped = BinaryMapFormat.read(fileProvider.getBuffer(name + ".bin").orElseThrow());
+            var raw = BinaryMapFormat.read(BinaryMapFormat.write(text, false));
+            for (var grid : new TileGrid[] { shipped, raw }) {
+                Assertions.assertEquals(text.getWidth(), grid.getWidth());
+                Assertions.assertEquals(text.getHeight(), grid.getHeight());
+                for (int y = 0; y < text.getHeight(); y++) {
+                    for (int x = 0; x < text.getWidth(); x++) {
+                        Assertions.assertEquals(text.getType(x, y), grid.getType(x, y));
+                    }
+                }
+            }
+        }
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> BinaryMapFormat.read(ByteBuffer.wrap("1 2 3 4 5 6 7 8 9 10".getBytes())));
+    }
+
+    @Test
+    void testMapCache() {
+        TileManager first = GameFactory.getInstance().createTileManager();
+        TileManager second = GameFactory.getInstance().createTileManager();
+        first.loadMap(TileManager.OPEN_WORLD_MAP_ID);
+        second.loadMap(TileManager.OPEN_WORLD_MAP_ID);
+        Assertions.assertTrue(MapCache.getInstance().isLoaded(TileManager.OPEN_WORLD_MAP_ID));
+        Assertions.assertSame(first.getGrid(), second.getGrid());
+
+        second.loadMap(TileManager.HUB_MAP_ID);
+        Assertions.assertNotSame(first.getGrid(), second.getGrid());
+        Assertions.assertEquals(18, second.getGrid().getWidth());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MapCache.getInstance().getMap(-1));
+    }
+
+    @Test
+    void testStreamedMap() throws InterruptedException {
+        var dense = MapCache.getInstance().getMap(TileManager.OPEN_WORLD_MAP_ID);
+        var grid = BinaryMapFormat.read(BinaryMapFormat.write(dense, true, true));
+        Assertions.assertTrue(grid.isStreamed());
+        Assertions.assertFalse(dense.isStreamed());
+        Assertions.assertEquals(0, grid.getResidentChunks());
+        Assertions.assertTrue(grid.isSolid(250, 250));
+
+        var streamer = new TileStreamer(grid, 1);
+        streamer.update(List.of(new Point2d(250, 250)));
+        // the chunks around the point are loaded immediately
+        Assertions.assertEquals(9, streamer.getSyncLoads());
+        for (int y = 250 - TileGrid.CHUNK_SIZE; y < 250 + TileGrid.CHUNK_SIZE; y++) {
+            for (int x = 250 - TileGrid.CHUNK_SIZE; x < 250 + TileGrid.CHUNK_SIZE; x++) {
+                Assertions.assertTrue(grid.isResident(x, y));
+                Assertions.assertEquals(dense.getType(x, y), grid.getType(x, y));
+                Assertions.assertEquals(dense.isSolid(x, y), grid.isSolid(x, y));
+            }
+        }
+        // the ring around them is loaded in background
+        for (int i = 0; i < 200 && streamer.isLoading(); i++) {
+            Thread.sleep(10);
+            streamer.update(List.of(new Point2d(250, 250)));
+        }
+        Assertions.assertEquals(25, grid.getResidentChunks());
+        Assertions.assertEquals(9, streamer.getSyncLoads());
+
+        // the far chunks are evicted
+        streamer.update(List.of(new Point2d(10, 10)));
+        Assertions.assertTrue(grid.isResident(10, 10));
+        Assertions.assertFalse(grid.isResident(250 + TileGrid.CHUNK_SIZE, 250 + TileGrid.CHUNK_SIZE));
+        Assertions.assertEquals(grid.getResidentChunks(), streamer.getResidentChunks());
+    }
+
+    @Test
+    void testConnectedComponents() {
+        // 1 = grass, 3 = tree, 5 = water: the right column is closed by the trees
+        var grid = TileMapParser.parse(String.join("\n",
+                "1 1 3 1",
+                "1 5 3 1",
+                "1 1 3 1").getBytes());
+        var components = new TileComponents(grid);
+        Assertions.assertEquals(2, components.getComponents());
+        Assertions.assertTrue(components.areConnected(new Point2d(0, 0), new Point2d(1, 2)));
+        Assertions.assertTrue(components.areConnected(new Point2d(3, 0), new Point2d(3, 2)));
+        Assertions.assertFalse(components.areConnected(new Point2d(0, 0), new Point2d(3, 0)));
+        Assertions.assertFalse(components.areConnected(new Point2d(1, 1), new Point2d(1, 1)));
+        Assertions.assertEquals(TileComponents.NONE, components.getLabel(2, 1));
+        Assertions.assertEquals(TileComponents.NONE, components.getLabel(-1, 0));
+
+        var random = new Random(1);
+        for (int i = 0; i < 20; i++) {
+            var cell = components.getRandomReachableCell(new Point2d(3, 1), new Point2d(0, 0), -1, random);
+            Assertions.assertEquals(3.0, cell.orElseThrow().x);
+            cell = components.getRandomReachableCell(new Point2d(0, 0), new Point2d(0, 0), 2, random);
+            Assertions.assertTrue(grid.isTraversable((int) cell.orElseThrow().x, (int) cell.orElseThrow().y));
+            Assertions.assertTrue(cell.get().x < 2 && cell.get().y < 2);
+        }
+        Assertions.assertTrue(components
+                .getRandomReachableCell(new Point2d(3, 1), new Point2d(0, 0), 2, random).isEmpty());
+
+        // the labels are computed once and kept with the map
+        var cache = MapCache.getInstance();
+        var openWorld = cache.getComponents(TileManager.OPEN_WORLD_MAP_ID);
+        Assertions.assertSame(openWorld, cache.getComponents(TileManager.OPEN_WORLD_MAP_ID));
+        Assertions.assertEquals(1, openWorld.getUpdates());
+
+        // a streamed map isn't labelled, the unloaded chunks don't split it
+        var dense = cache.getMap(TileManager.OPEN_WORLD_MAP_ID);
+        var streamed = BinaryMapFormat.read(BinaryMapFormat.write(dense, true, true));
+        var streamedComponents = new TileComponents(streamed);
+        Assertions.assertFalse(streamedComponents.isLabelled());
+        new TileStreamer(streamed, 1).update(List.of(new Point2d(250, 250)));
+        Assertions.assertEquals(0, streamedComponents.getUpdates());
+        Assertions.assertTrue(streamedComponents.areConnected(new Point2d(250, 250), new Point2d(5, 106)));
+        for (int i = 0; i < 20; i++) {
+            var cell = streamedComponents
+                    .getRandomReachableCell(new Point2d(5, 106), new Point2d(250, 250), 20, random).orElseThrow();
+            Assertions.assertTrue(streamed.isTraversable((int) cell.x, (int) cell.y));
+            Assertions.assertTrue(Math.abs(cell.x - 250) < 20 && Math.abs(cell.y - 250) < 20);
+        }
+    }
+
+    @Test
+    void testSpawnArea() {
+        var grid = MapCache.getInstance().getMap(TileManager.OPEN_WORLD_MAP_ID);
+        var components = new TileComponents(grid);
+        var random = new Random(2);
+        var center = new Point2d(250.5, 250.5);
+        for (int i = 0; i < 200; i++) {
+            var cell = components.getRandomReachableCell(center, center, 10, 30, random).orElseThrow();
+            double deltaX = Math.abs(cell.x - center.x);
+            double deltaY = Math.abs(cell.y - center.y);
+            Assertions.assertTrue(deltaX > 10 && deltaX < 30 && deltaY > 10 && deltaY < 30);
+            Assertions.assertTrue(grid.isTraversable((int) cell.x, (int) cell.y));
+            Assertions.assertTrue(components.areConnected(cell, center));
+        }
+        Assertions.assertTrue(components.getRandomReachableCell(center, center, 30, 10, random).isEmpty());
+        Assertions.assertTrue(components.getRandomReachableCell(center, center, 600, 700, random).isEmpty());
+    }
+
+    @Test
+    void testTileProperties() {
+        Assertions.assertTrue(TileProperties.of(TileType.tree).isSolid());
+        Assertions.assertTrue(TileProperties.of(TileType.tree).isObstacle());
+        Assertions.assertTrue(TileProperties.of(TileType.water).isSolid());
+        Assertions.assertFalse(TileProperties.of(TileType.water).isObstacle());
+        Assertions.assertTrue(TileProperties.of(TileType.grass).isTraversable());
+    }
+}
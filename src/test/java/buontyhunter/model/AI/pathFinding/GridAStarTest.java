@@ -0,0 +1,33 @@
+package buontyhunter.model.AI.pathFinding;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import buontyhunter.model.MapCache;
+import buontyhunter.model.TileManager;
+
+class GridAStarTest {
+
+    @Test
+    void testOpenWorldMapIsDense() {
+        var map = MapCache.getInstance().getMap(TileManager.OPEN_WORLD_MAP_ID);
+        Assertions.assertTrue(map.getWidth() * map.getHeight() > 1 << 16);
+        int first = -1;
+        int last = -1;
+        for (int i = 0; i < map.getWidth() * map.getHeight(); i++) {
+            if (!map.isSolid(i)) {
+                first = first < 0 ? i : first;
+                last = i;
+            }
+        }
+        Assertions.assertTrue(first >= 0);
+
+        // the search on the open world keeps its state in the arrays indexed by cell
+        var engine = new GridAStar();
+        int width = map.getWidth();
+        engine.search(map, first % width, first / width, last % width, last / width, Set.of());
+        Assertions.assertTrue(engine.isDense());
+    }
+}